@@ -0,0 +1,36 @@
+package com.ltphat.task_management.benchmark;
+
+import com.ltphat.task_management.application.dtos.category.CategoryResponseDto;
+import com.ltphat.task_management.application.dtos.task.TaskResponseDto;
+import com.ltphat.task_management.domain.model.Category;
+import com.ltphat.task_management.domain.model.Task;
+import com.ltphat.task_management.domain.model.TaskStatus;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+// Fixed fixtures so runs on different commits measure the same data
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static Category category(long id) {
+        return new Category(id, "Category " + id, "Description of category " + id, "blue", Instant.parse("2025-01-01T00:00:00Z"));
+    }
+
+    static Task task(long id, Category category) {
+        return new Task(id, "Task " + id, "Description of task " + id, id % 2 == 0 ? TaskStatus.COMPLETED : TaskStatus.PENDING, category);
+    }
+
+    static List<TaskResponseDto> taskResponses(int size) {
+        CategoryResponseDto category = new CategoryResponseDto(1L, "Category 1", "Description of category 1", "blue",
+                Instant.parse("2025-01-01T00:00:00Z"));
+        List<TaskResponseDto> items = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            items.add(new TaskResponseDto(id, "Task " + id, "Description of task " + id, TaskStatus.PENDING, category));
+        }
+        return items;
+    }
+}
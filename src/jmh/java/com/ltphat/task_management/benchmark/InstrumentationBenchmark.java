@@ -0,0 +1,77 @@
+package com.ltphat.task_management.benchmark;
+
+import com.ltphat.task_management.application.cache.CategoryCache;
+import com.ltphat.task_management.application.dtos.shared.CacheStatsDto;
+import com.ltphat.task_management.application.services.CategoryService;
+import com.ltphat.task_management.config.ServiceMetricsAspect;
+import com.ltphat.task_management.config.SqlStatementCounter;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost added by the metrics instrumentation: a service call with and without ServiceMetricsAspect
+ * (the difference is proxy + timer), and the per-statement work of SqlStatementCounter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InstrumentationBenchmark {
+
+    private CategoryService plainService;
+    private CategoryService instrumentedService;
+    private SqlStatementCounter sqlStatementCounter;
+    private SqlStatementCounter.Scope scope;
+
+    @Setup
+    public void setUp() {
+        plainService = new CategoryService();
+        ReflectionTestUtils.setField(plainService, "categoryCache", new CategoryCache(null, false, 0, Duration.ZERO));
+
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(plainService);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new ServiceMetricsAspect(new PrometheusMeterRegistry(PrometheusConfig.DEFAULT)));
+        instrumentedService = proxyFactory.getProxy();
+
+        sqlStatementCounter = new SqlStatementCounter();
+        scope = sqlStatementCounter.open();
+    }
+
+    @TearDown
+    public void tearDown() {
+        scope.close();
+    }
+
+    @Benchmark
+    public CacheStatsDto serviceCall() {
+        return plainService.getCacheStats();
+    }
+
+    @Benchmark
+    public CacheStatsDto timedServiceCall() {
+        return instrumentedService.getCacheStats();
+    }
+
+    @Benchmark
+    public String countStatement() {
+        return sqlStatementCounter.inspect("select 1");
+    }
+}
@@ -0,0 +1,64 @@
+package com.ltphat.task_management.benchmark;
+
+import com.ltphat.task_management.application.dtos.category.CategoryResponseDto;
+import com.ltphat.task_management.application.dtos.shared.PagedResponseDto;
+import com.ltphat.task_management.application.dtos.task.TaskResponseDto;
+import com.ltphat.task_management.application.mappers.CategoryMapper;
+import com.ltphat.task_management.application.mappers.TaskMapper;
+import com.ltphat.task_management.domain.model.Category;
+import com.ltphat.task_management.domain.model.Task;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-row costs on the listing path: entity to DTO mapping and wrapping a page into PagedResponseDto.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+    private final TaskMapper taskMapper = TaskMapper.INSTANCE;
+    private final CategoryMapper categoryMapper = Mappers.getMapper(CategoryMapper.class);
+
+    private Task task;
+    private Category category;
+    private List<TaskResponseDto> items;
+
+    @Setup
+    public void setUp() {
+        category = BenchmarkData.category(1);
+        task = BenchmarkData.task(1, category);
+        items = BenchmarkData.taskResponses(100);
+    }
+
+    @Benchmark
+    public TaskResponseDto taskToTaskResponseDto() {
+        return taskMapper.taskToTaskResponseDto(task);
+    }
+
+    @Benchmark
+    public CategoryResponseDto toCategoryResponseDTO() {
+        return categoryMapper.toCategoryResponseDTO(category);
+    }
+
+    @Benchmark
+    public PagedResponseDto<TaskResponseDto> pagedResponse() {
+        return new PagedResponseDto<>(items, 0, 10, 1000L, "exact");
+    }
+}
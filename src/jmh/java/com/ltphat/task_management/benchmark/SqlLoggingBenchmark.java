@@ -0,0 +1,114 @@
+package com.ltphat.task_management.benchmark;
+
+import com.ltphat.task_management.TaskManagementApplication;
+import com.ltphat.task_management.application.dtos.shared.PagedResponseDto;
+import com.ltphat.task_management.application.dtos.task.TaskQueryDto;
+import com.ltphat.task_management.application.dtos.task.TaskResponseDto;
+import com.ltphat.task_management.application.services.TaskService;
+import com.ltphat.task_management.domain.model.Category;
+import com.ltphat.task_management.domain.model.Task;
+import com.ltphat.task_management.domain.repository.CategoryRepository;
+import com.ltphat.task_management.domain.repository.TaskRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of a task listing under each logging setup. "before" is the configuration application.yaml used to
+ * ship (show-sql, org.hibernate.SQL DEBUG, bind TRACE), "prod" the prod profile with slow query logging and
+ * "prod-no-slow-log" the same without the DataSource proxy, which isolates the cost of the proxy.
+ * Log output goes to the fork's console, as it would in a container.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class SqlLoggingBenchmark {
+
+    private static final int TASKS = 1_000;
+    private static final int CATEGORIES = 10;
+
+    @Param({"before", "prod", "prod-no-slow-log"})
+    private String logging;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private TaskQueryDto query;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // devtools would restart the context in a new class loader and call main() again
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.main.web-application-type=none",
+                "--spring.datasource.url=jdbc:h2:mem:logging;DB_CLOSE_ON_EXIT=FALSE",
+                "--spring.autoconfigure.exclude=org.springframework.boot.devtools.autoconfigure.DevToolsDataSourceAutoConfiguration"));
+        switch (logging) {
+            case "before" -> args.addAll(List.of(
+                    "--spring.jpa.show-sql=true",
+                    "--logging.level.org.hibernate.SQL=DEBUG",
+                    "--logging.level.org.hibernate.orm.jdbc.bind=TRACE",
+                    "--app.sql.slow-query.enabled=false"));
+            case "prod" -> args.addAll(List.of(
+                    "--spring.profiles.active=prod",
+                    "--logging.level.org.hibernate.SQL=WARN"));
+            default -> args.addAll(List.of(
+                    "--spring.profiles.active=prod",
+                    "--logging.level.org.hibernate.SQL=WARN",
+                    "--app.sql.slow-query.enabled=false"));
+        }
+        // the test application.yaml on the benchmark classpath enables org.hibernate.SQL DEBUG, so prod resets it
+        // command line arguments win over the test application.yaml picked up from the classpath
+        context = new SpringApplicationBuilder(TaskManagementApplication.class).run(args.toArray(String[]::new));
+        seed(context.getBean(CategoryRepository.class), context.getBean(TaskRepository.class));
+        taskService = context.getBean(TaskService.class);
+        query = new TaskQueryDto();
+        query.setSearch("Task 1");
+        query.setCount("none");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public PagedResponseDto<TaskResponseDto> listTasks() {
+        return taskService.getAllTasks(query);
+    }
+
+    private static void seed(CategoryRepository categoryRepository, TaskRepository taskRepository) {
+        List<Category> categories = new ArrayList<>();
+        for (long i = 1; i <= CATEGORIES; i++) {
+            Category category = BenchmarkData.category(i);
+            category.setId(null);
+            categories.add(category);
+        }
+        categories = categoryRepository.saveAll(categories);
+        List<Task> tasks = new ArrayList<>(TASKS);
+        for (long i = 1; i <= TASKS; i++) {
+            Task task = BenchmarkData.task(i, categories.get((int) (i % CATEGORIES)));
+            task.setId(null);
+            tasks.add(task);
+        }
+        taskRepository.saveAll(tasks);
+    }
+}
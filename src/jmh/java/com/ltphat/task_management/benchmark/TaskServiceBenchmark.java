@@ -0,0 +1,115 @@
+package com.ltphat.task_management.benchmark;
+
+import com.ltphat.task_management.TaskManagementApplication;
+import com.ltphat.task_management.application.dtos.shared.PagedResponseDto;
+import com.ltphat.task_management.application.dtos.task.TaskQueryDto;
+import com.ltphat.task_management.application.dtos.task.TaskResponseDto;
+import com.ltphat.task_management.application.services.TaskService;
+import com.ltphat.task_management.domain.model.Category;
+import com.ltphat.task_management.domain.model.Task;
+import com.ltphat.task_management.domain.repository.CategoryRepository;
+import com.ltphat.task_management.domain.repository.TaskRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TaskService.getAllTasks end to end (repository, Hibernate, mapping) against an in-memory H2 database
+ * seeded with TASKS tasks over CATEGORIES categories. No HTTP layer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskServiceBenchmark {
+
+    private static final int TASKS = 10_000;
+    private static final int CATEGORIES = 50;
+
+    @Param({"10", "100"})
+    private int size;
+
+    @Param({"exact", "none"})
+    private String count;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private TaskQueryDto firstPage;
+    private TaskQueryDto deepPage;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // devtools would restart the context in a new class loader and call main() again
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        // command line arguments win over the test application.yaml picked up from the classpath
+        context = new SpringApplicationBuilder(TaskManagementApplication.class).run(
+                "--spring.main.web-application-type=none",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_ON_EXIT=FALSE",
+                "--spring.autoconfigure.exclude=org.springframework.boot.devtools.autoconfigure.DevToolsDataSourceAutoConfiguration",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.hibernate.SQL=WARN");
+        seed(context.getBean(CategoryRepository.class), context.getBean(TaskRepository.class));
+        taskService = context.getBean(TaskService.class);
+        firstPage = query(0);
+        deepPage = query(TASKS / size / 2);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public PagedResponseDto<TaskResponseDto> firstPage() {
+        return taskService.getAllTasks(firstPage);
+    }
+
+    @Benchmark
+    public PagedResponseDto<TaskResponseDto> middlePage() {
+        return taskService.getAllTasks(deepPage);
+    }
+
+    private TaskQueryDto query(int page) {
+        TaskQueryDto taskQueryDto = new TaskQueryDto();
+        taskQueryDto.setPage(page);
+        taskQueryDto.setSize(size);
+        taskQueryDto.setCount(count);
+        return taskQueryDto;
+    }
+
+    private static void seed(CategoryRepository categoryRepository, TaskRepository taskRepository) {
+        List<Category> categories = new ArrayList<>();
+        for (long i = 1; i <= CATEGORIES; i++) {
+            Category category = BenchmarkData.category(i);
+            category.setId(null);
+            categories.add(category);
+        }
+        categories = categoryRepository.saveAll(categories);
+        List<Task> tasks = new ArrayList<>(TASKS);
+        for (long i = 1; i <= TASKS; i++) {
+            Task task = BenchmarkData.task(i, categories.get((int) (i % CATEGORIES)));
+            task.setId(null);
+            tasks.add(task);
+        }
+        taskRepository.saveAll(tasks);
+    }
+}
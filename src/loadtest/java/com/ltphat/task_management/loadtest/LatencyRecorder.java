@@ -0,0 +1,90 @@
+package com.ltphat.task_management.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Latencies of one operation in nanoseconds, plus error count. Percentiles are nearest-rank over all samples,
+ * which is exact and cheap enough for the few hundred thousand requests of a run.
+ */
+class LatencyRecorder {
+
+    private long[] samples = new long[1024];
+    private int count;
+    private long errors;
+    private String firstError;
+
+    synchronized void error(long latencyNanos, String reason) {
+        record(latencyNanos, false);
+        if (firstError == null) {
+            firstError = reason;
+        }
+    }
+
+    synchronized void record(long latencyNanos, boolean success) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = latencyNanos;
+        if (!success) {
+            errors++;
+        }
+    }
+
+    synchronized void reset() {
+        count = 0;
+        errors = 0;
+        firstError = null;
+    }
+
+    synchronized Summary summarize(double seconds) {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        return new Summary(count, errors, seconds == 0 ? 0 : count / seconds,
+                percentile(sorted, 50), percentile(sorted, 95), percentile(sorted, 99),
+                count == 0 ? 0 : sorted[count - 1] / 1_000_000.0, firstError);
+    }
+
+    static Summary merge(Iterable<LatencyRecorder> recorders, double seconds) {
+        LatencyRecorder all = new LatencyRecorder();
+        for (LatencyRecorder recorder : recorders) {
+            synchronized (recorder) {
+                for (int i = 0; i < recorder.count; i++) {
+                    all.record(recorder.samples[i], true);
+                }
+                all.errors += recorder.errors;
+                if (all.firstError == null) {
+                    all.firstError = recorder.firstError;
+                }
+            }
+        }
+        return all.summarize(seconds);
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+        return sorted[Math.max(0, rank - 1)] / 1_000_000.0;
+    }
+
+    // latencies in milliseconds; firstError helps telling a slow server from a broken one
+    record Summary(long requests, long errors, double throughput, double p50, double p95, double p99, double max,
+                   String firstError) {
+
+        double errorRate() {
+            return requests == 0 ? 0 : (double) errors / requests;
+        }
+
+        double metric(String name) {
+            return switch (name) {
+                case "p50" -> p50;
+                case "p95" -> p95;
+                case "p99" -> p99;
+                case "max" -> max;
+                case "error-rate" -> errorRate();
+                default -> throw new IllegalArgumentException("Unknown SLO metric: " + name);
+            };
+        }
+    }
+}
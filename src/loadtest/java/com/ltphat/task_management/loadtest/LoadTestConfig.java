@@ -0,0 +1,112 @@
+package com.ltphat.task_management.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * loadtest.properties from the classpath, overridden by key=value program arguments.
+ */
+class LoadTestConfig {
+
+    private static final String MIX_PREFIX = "loadtest.mix.";
+    private static final String SLO_PREFIX = "loadtest.slo.";
+
+    private final Properties properties = new Properties();
+
+    LoadTestConfig(String[] args) throws IOException {
+        try (InputStream inputStream = LoadTestConfig.class.getResourceAsStream("/loadtest.properties")) {
+            if (inputStream != null) {
+                properties.load(inputStream);
+            }
+        }
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            }
+            properties.setProperty(arg.substring(0, separator).trim(), arg.substring(separator + 1).trim());
+        }
+    }
+
+    String baseUrl() {
+        return properties.getProperty("loadtest.base-url", "").trim();
+    }
+
+    // extra Spring arguments for the booted application, separated by spaces or commas
+    List<String> appArgs() {
+        String value = properties.getProperty("loadtest.app-args", "").trim();
+        return value.isEmpty() ? List.of() : List.of(value.split("[\\s,]+"));
+    }
+
+    int seedCategories() {
+        return Integer.parseInt(properties.getProperty("loadtest.seed.categories", "50"));
+    }
+
+    int seedTasks() {
+        return Integer.parseInt(properties.getProperty("loadtest.seed.tasks", "5000"));
+    }
+
+    double rate() {
+        return Double.parseDouble(properties.getProperty("loadtest.rate", "100"));
+    }
+
+    Duration warmup() {
+        return DurationStyle.detectAndParse(properties.getProperty("loadtest.warmup", "10s"));
+    }
+
+    Duration duration() {
+        return DurationStyle.detectAndParse(properties.getProperty("loadtest.duration", "30s"));
+    }
+
+    int maxInFlight() {
+        return Integer.parseInt(properties.getProperty("loadtest.max-in-flight", "500"));
+    }
+
+    long randomSeed() {
+        return Long.parseLong(properties.getProperty("loadtest.random-seed", "42"));
+    }
+
+    String report() {
+        return properties.getProperty("loadtest.report", "target/loadtest-report.json");
+    }
+
+    // operation name -> weight, sorted by name so a given random seed always produces the same request sequence
+    Map<String, Integer> mix() {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        properties.stringPropertyNames().stream().sorted().filter(key -> key.startsWith(MIX_PREFIX)).forEach(key ->
+                mix.put(key.substring(MIX_PREFIX.length()), Integer.parseInt(properties.getProperty(key))));
+        return mix;
+    }
+
+    List<Slo> slos() {
+        List<Slo> slos = new ArrayList<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (!key.startsWith(SLO_PREFIX)) {
+                continue;
+            }
+            String target = key.substring(SLO_PREFIX.length());
+            int separator = target.lastIndexOf('.');
+            String operation = target.substring(0, separator);
+            String metric = target.substring(separator + 1);
+            String value = properties.getProperty(key).trim();
+            double threshold = "error-rate".equals(metric)
+                    ? Double.parseDouble(value)
+                    : DurationStyle.detectAndParse(value).toNanos() / 1_000_000.0;
+            slos.add(new Slo(operation, metric, threshold));
+        }
+        slos.sort((a, b) -> (a.operation() + a.metric()).compareTo(b.operation() + b.metric()));
+        return slos;
+    }
+
+    // threshold is in milliseconds for latencies, a fraction for error-rate
+    record Slo(String operation, String metric, double threshold) {
+    }
+}
@@ -0,0 +1,308 @@
+package com.ltphat.task_management.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ltphat.task_management.TaskManagementApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model HTTP load test for /tasks and /categories.
+ * Requests are started on a fixed schedule (loadtest.rate per second) and latency is measured from the scheduled
+ * start, so a slow server shows up as queueing in the percentiles instead of silently lowering the request rate.
+ * Prints p50/p95/p99/max and throughput per operation, writes them to loadtest.report and exits with 1 when an SLO fails.
+ */
+public class LoadTestRunner {
+
+    private static final String[] SEARCH_TERMS = {"task 1", "description", "42", "ask 9"};
+
+    private final LoadTestConfig config;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final Map<String, Integer> mix;
+    private final int totalWeight;
+    private final Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+    private final List<Long> categoryIds = new ArrayList<>();
+    private final List<Long> seededTaskIds = new ArrayList<>();
+    // only tasks created by the run are deleted, so updates on seeded tasks never race with a delete
+    private final ConcurrentLinkedQueue<Long> createdTaskIds = new ConcurrentLinkedQueue<>();
+    private final Random random;
+    private final Semaphore inFlight;
+    private String baseUrl;
+
+    LoadTestRunner(LoadTestConfig config) {
+        this.config = config;
+        this.random = new Random(config.randomSeed());
+        this.inFlight = new Semaphore(config.maxInFlight());
+        this.mix = config.mix();
+        this.totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        mix.keySet().forEach(operation -> recorders.put(operation, new LatencyRecorder()));
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = new LoadTestConfig(args);
+        ConfigurableApplicationContext context = null;
+        String baseUrl = config.baseUrl();
+        if (baseUrl.isEmpty()) {
+            // devtools would restart the context in a new class loader and call main() again
+            System.setProperty("spring.devtools.restart.enabled", "false");
+            // command line arguments win over the test application.yaml picked up from the classpath
+            List<String> appArgs = new ArrayList<>(List.of(
+                    "--server.port=0",
+                    "--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_ON_EXIT=FALSE",
+                    "--spring.autoconfigure.exclude=org.springframework.boot.devtools.autoconfigure.DevToolsDataSourceAutoConfiguration",
+                    "--spring.jpa.show-sql=false",
+                    "--logging.level.root=WARN",
+                    "--logging.level.org.hibernate.SQL=WARN"));
+            // Spring joins repeated options into "a,b", so an app-arg replaces the default for the same key
+            for (String appArg : config.appArgs()) {
+                String key = appArg.split("=", 2)[0];
+                appArgs.removeIf(arg -> arg.split("=", 2)[0].equals(key));
+                appArgs.add(appArg);
+            }
+            context = new SpringApplicationBuilder(TaskManagementApplication.class).run(appArgs.toArray(String[]::new));
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        }
+        int failures;
+        try {
+            failures = new LoadTestRunner(config).run(baseUrl);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    int run(String baseUrl) throws Exception {
+        this.baseUrl = baseUrl;
+        seed();
+        System.out.printf("Warming up for %s at %.0f req/s against %s%n", config.warmup(), config.rate(), baseUrl);
+        drive(config.warmup());
+        recorders.values().forEach(LatencyRecorder::reset);
+
+        System.out.printf("Measuring for %s at %.0f req/s%n", config.duration(), config.rate());
+        long started = System.nanoTime();
+        drive(config.duration());
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        Map<String, LatencyRecorder.Summary> summaries = new LinkedHashMap<>();
+        recorders.forEach((operation, recorder) -> summaries.put(operation, recorder.summarize(seconds)));
+        summaries.put("all", LatencyRecorder.merge(recorders.values(), seconds));
+        List<String> violations = checkSlos(summaries);
+        print(summaries, violations);
+        writeReport(summaries, violations);
+        return violations.size();
+    }
+
+    private void seed() throws Exception {
+        for (int i = 1; i <= config.seedCategories(); i++) {
+            JsonNode category = send("POST", "/categories", Map.of("name", "Category " + i, "description", "Seeded category " + i));
+            categoryIds.add(category.get("id").asLong());
+        }
+        int chunk = 1000;
+        for (int from = 0; from < config.seedTasks(); from += chunk) {
+            List<Map<String, Object>> tasks = new ArrayList<>();
+            for (int i = from; i < Math.min(from + chunk, config.seedTasks()); i++) {
+                tasks.add(taskBody("Task " + i, "Seeded description " + i));
+            }
+            JsonNode response = send("POST", "/tasks/batch", tasks);
+            response.get("results").forEach(result -> seededTaskIds.add(result.get("id").asLong()));
+        }
+        System.out.printf("Seeded %d categories and %d tasks%n", categoryIds.size(), seededTaskIds.size());
+    }
+
+    // Dispatches requests on a fixed schedule for the given time, then waits for the stragglers
+    private void drive(Duration duration) throws InterruptedException {
+        long interval = (long) (1_000_000_000L / config.rate());
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        for (long i = 0; ; i++) {
+            long scheduled = start + i * interval;
+            if (scheduled >= end) {
+                break;
+            }
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            dispatch(pickOperation(), scheduled);
+        }
+        if (!inFlight.tryAcquire(config.maxInFlight(), 30, TimeUnit.SECONDS)) {
+            System.out.println("Some requests were still running 30s after the phase ended");
+        } else {
+            inFlight.release(config.maxInFlight());
+        }
+    }
+
+    private String pickOperation() {
+        int ticket = random.nextInt(totalWeight);
+        for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+            ticket -= entry.getValue();
+            if (ticket < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Empty operation mix");
+    }
+
+    private void dispatch(String operation, long scheduled) {
+        Long deleteId = null;
+        if ("delete-task".equals(operation)) {
+            deleteId = createdTaskIds.poll();
+            if (deleteId == null) {
+                operation = "create-task";
+            }
+        }
+        HttpRequest request = request(operation, deleteId);
+        LatencyRecorder recorder = recorders.get(operation);
+        if (!inFlight.tryAcquire()) {
+            // the client is saturated: count it as a failed request instead of queueing unboundedly
+            recorder.error(System.nanoTime() - scheduled, "more than " + config.maxInFlight() + " requests in flight");
+            return;
+        }
+        boolean create = "create-task".equals(operation);
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, error) -> {
+            long latency = System.nanoTime() - scheduled;
+            if (error != null) {
+                recorder.error(latency, error.toString());
+            } else if (response.statusCode() / 100 != 2) {
+                recorder.error(latency, response.statusCode() + " " + response.body());
+            } else {
+                recorder.record(latency, true);
+                if (create) {
+                    rememberCreated(response.body());
+                }
+            }
+            inFlight.release();
+        });
+    }
+
+    private HttpRequest request(String operation, Long deleteId) {
+        return switch (operation) {
+            case "list-tasks" -> get("/tasks?page=" + nextInt(10) + "&size=10");
+            case "search-tasks" -> get("/tasks?search=" + SEARCH_TERMS[nextInt(SEARCH_TERMS.length)].replace(" ", "%20") + "&size=10");
+            case "list-categories" -> get("/categories?page=0&pageSize=10");
+            case "create-task" -> json("POST", "/tasks", taskBody("Load task", "Created by the load test"));
+            case "update-task" -> json("PUT", "/tasks/" + seededTaskIds.get(nextInt(seededTaskIds.size())),
+                    taskBody("Updated task", "Updated by the load test"));
+            case "delete-task" -> HttpRequest.newBuilder(URI.create(baseUrl + "/tasks/" + deleteId)).DELETE().build();
+            default -> throw new IllegalArgumentException("Unknown operation: " + operation);
+        };
+    }
+
+    private Map<String, Object> taskBody(String name, String description) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("name", name);
+        body.put("description", description);
+        body.put("status", "Pending");
+        body.put("categoryId", categoryIds.get(nextInt(categoryIds.size())));
+        return body;
+    }
+
+    private void rememberCreated(String body) {
+        try {
+            createdTaskIds.add(objectMapper.readTree(body).get("id").asLong());
+        } catch (Exception ignored) {
+            // the response was not a task, nothing to delete later
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+    }
+
+    private HttpRequest json(String method, String path, Object body) {
+        try {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                    .build();
+        } catch (Exception exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private JsonNode send(String method, String path, Object body) throws Exception {
+        HttpResponse<String> response = httpClient.send(json(method, path, body), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException(method + " " + path + " returned " + response.statusCode() + ": " + response.body());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    // the dispatcher is the only caller, so the shared Random stays deterministic
+    private int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+    private List<String> checkSlos(Map<String, LatencyRecorder.Summary> summaries) {
+        List<String> violations = new ArrayList<>();
+        for (LoadTestConfig.Slo slo : config.slos()) {
+            LatencyRecorder.Summary summary = summaries.get(slo.operation());
+            if (summary == null) {
+                violations.add("Unknown operation in SLO: " + slo.operation());
+                continue;
+            }
+            double actual = summary.metric(slo.metric());
+            if (actual > slo.threshold()) {
+                violations.add(String.format("%s %s is %.3f, the SLO is %.3f", slo.operation(), slo.metric(), actual, slo.threshold()));
+            }
+        }
+        return violations;
+    }
+
+    private void print(Map<String, LatencyRecorder.Summary> summaries, List<String> violations) {
+        System.out.printf("%n%-16s %9s %7s %9s %9s %9s %9s %9s%n", "operation", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        summaries.forEach((operation, s) -> System.out.printf("%-16s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                operation, s.requests(), s.errors(), s.throughput(), s.p50(), s.p95(), s.p99(), s.max()));
+        System.out.println();
+        if (violations.isEmpty()) {
+            System.out.println("All SLOs met");
+        } else {
+            violations.forEach(violation -> System.out.println("SLO FAILED: " + violation));
+        }
+        summaries.forEach((operation, s) -> {
+            if (s.firstError() != null && !"all".equals(operation)) {
+                System.out.println("First " + operation + " error: " + s.firstError());
+            }
+        });
+    }
+
+    private void writeReport(Map<String, LatencyRecorder.Summary> summaries, List<String> violations) throws Exception {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("appArgs", config.appArgs());
+        report.put("rate", config.rate());
+        report.put("duration", config.duration().toString());
+        report.put("operations", summaries);
+        report.put("sloViolations", violations);
+        File file = new File(config.report());
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        objectMapper.writer(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+        System.out.println("Report written to " + file.getAbsolutePath());
+    }
+}
@@ -0,0 +1,86 @@
+package com.ltphat.task_management.application.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.ltphat.task_management.application.dtos.shared.CacheStatsDto;
+import com.ltphat.task_management.domain.model.Category;
+import com.ltphat.task_management.domain.repository.CategoryRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded read-through cache in front of CategoryRepository.findById.
+ * Categories are small and read on every task write, so lookups are served from memory until the entry
+ * expires, is pushed out by size, or is invalidated by a category update/delete. Inside a transaction the entry is
+ * dropped again when it ends, since a lookup before the commit still reads the old row and can load it back.
+ * When disabled every lookup goes straight to the repository.
+ */
+@Component
+public class CategoryCache {
+
+    private final CategoryRepository categoryRepository;
+    private final Cache<Long, Category> cache;
+    private final LongAdder invalidations = new LongAdder();
+
+    public CategoryCache(CategoryRepository categoryRepository,
+                         @Value("${app.cache.categories.enabled:true}") boolean enabled,
+                         @Value("${app.cache.categories.max-size:10000}") long maxSize,
+                         @Value("${app.cache.categories.ttl:10m}") Duration ttl) {
+        this.categoryRepository = categoryRepository;
+        this.cache = enabled
+                ? Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).recordStats().build()
+                : null;
+    }
+
+    public Optional<Category> findById(Long id) {
+        if (cache == null) {
+            return categoryRepository.findById(id);
+        }
+        // loading inside get() makes a concurrent invalidate wait for the load, so a stale row cannot be put back after it
+        return Optional.ofNullable(cache.get(id, key -> categoryRepository.findById(key).orElse(null)));
+    }
+
+    public void evict(Long id) {
+        if (cache == null) {
+            return;
+        }
+        cache.invalidate(id);
+        invalidations.increment();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // after a rollback as well: a lookup inside the transaction may have cached the row it never committed
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(id);
+                }
+            });
+        }
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    public CacheStatsDto stats() {
+        if (cache == null) {
+            return new CacheStatsDto(false, 0, 0, 0, 0, 0, 0);
+        }
+        CacheStats stats = cache.stats();
+        return new CacheStatsDto(
+                true,
+                cache.estimatedSize(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount(),
+                invalidations.sum()
+        );
+    }
+}
@@ -0,0 +1,37 @@
+package com.ltphat.task_management.application.cache;
+
+import com.ltphat.task_management.domain.repository.ChangeEventRepository;
+import org.springframework.stereotype.Component;
+
+/**
+ * ETags of the list endpoints, taken from the change feed. Every task and category write appends to change_event
+ * in its own transaction and ChangeSequencer numbers the rows once committed, above every number handed out before,
+ * so the latest sequence is the same on every instance and moves with every write, wherever it was made.
+ * A list ETag is taken before the page is read, so it never outlives the data it was issued with. While a committed
+ * row still waits for its number there is no ETag at all, so a write is never answered with a 304, on any instance,
+ * in the moment between its commit and its sequence. Writes made straight in the database are not seen.
+ */
+@Component
+public class CollectionVersions {
+
+    private final ChangeEventRepository changeEventRepository;
+
+    public CollectionVersions(ChangeEventRepository changeEventRepository) {
+        this.changeEventRepository = changeEventRepository;
+    }
+
+    // Task responses embed their category, so a category change also changes every task page; null while unsettled
+    public String tasksETag() {
+        return eTag("tasks");
+    }
+
+    // With task counts a category page also changes with every task write; one sequence covers both kinds
+    public String categoriesETag() {
+        return eTag("categories");
+    }
+
+    private String eTag(String collection) {
+        Long seq = changeEventRepository.findSettledSeq();
+        return seq == null ? null : "\"" + collection + "-" + seq + "\"";
+    }
+}
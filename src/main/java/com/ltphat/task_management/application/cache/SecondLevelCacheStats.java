@@ -0,0 +1,52 @@
+package com.ltphat.task_management.application.cache;
+
+import com.ltphat.task_management.application.dtos.shared.CacheRegionStatsDto;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Per-region view of the Hibernate second-level and query cache (see hibernate-cache.conf).
+ * Counts come from the Hibernate statistics and are all zero while hibernate.generate_statistics is off.
+ */
+@Component
+public class SecondLevelCacheStats {
+
+    // Query regions are only known to the statistics once used, so the configured ones are always listed
+    private static final List<String> QUERY_REGIONS = List.of("category-pages", "default-query-results-region");
+
+    private final Statistics statistics;
+
+    public SecondLevelCacheStats(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public List<CacheRegionStatsDto> regions() {
+        Set<String> names = new TreeSet<>(List.of(statistics.getSecondLevelCacheRegionNames()));
+        names.addAll(QUERY_REGIONS);
+        List<CacheRegionStatsDto> regions = new ArrayList<>();
+        for (String name : names) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(name);
+            if (region == null) {
+                continue;
+            }
+            long lookups = region.getHitCount() + region.getMissCount();
+            regions.add(new CacheRegionStatsDto(
+                    name,
+                    region.getHitCount(),
+                    region.getMissCount(),
+                    region.getPutCount(),
+                    lookups == 0 ? 0 : (double) region.getHitCount() / lookups,
+                    region.getElementCountInMemory()
+            ));
+        }
+        return regions;
+    }
+}
@@ -0,0 +1,234 @@
+package com.ltphat.task_management.application.cache.invalidation;
+
+import com.ltphat.task_management.application.cache.CategoryCache;
+import com.ltphat.task_management.application.search.TaskSearchIndex;
+import com.ltphat.task_management.application.stats.CategoryTaskCounts;
+import com.ltphat.task_management.application.stream.TaskUpdateBroadcaster;
+import com.ltphat.task_management.application.transaction.AfterCommit;
+import com.ltphat.task_management.domain.model.Category;
+import com.ltphat.task_management.domain.model.Task;
+import com.ltphat.task_management.domain.repository.TaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Keeps the in-process caches of every instance in line with the writes of all of them.
+ * Services report their changes here, inside the transaction, and the change is published on the InvalidationChannel.
+ * Events of other instances evict the category from CategoryCache and the Hibernate second-level cache, drop the
+ * cached category pages, re-read the changed tasks into the search index and move the task counts by the
+ * category and status each task event carries. The list ETags need none of this, see CollectionVersions.
+ * Changed tasks are also pushed to this instance's GET /tasks/stream subscribers as the creates, updates and deletes
+ * they were, with the categories they left and joined.
+ * The time from the commit on the origin to this eviction is recorded as app.cache.invalidation.lag.
+ */
+@Component
+@Slf4j
+public class CacheInvalidationBus {
+
+    private static final String CATEGORY_PAGES_REGION = "category-pages";
+
+    private final InvalidationChannel channel;
+    private final CategoryCache categoryCache;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TaskSearchIndex taskSearchIndex;
+    private final CategoryTaskCounts categoryTaskCounts;
+    private final TaskRepository taskRepository;
+    private final TaskUpdateBroadcaster taskUpdateBroadcaster;
+    private final String nodeId;
+    private final int maxIdsPerEvent;
+
+    private final Timer lag;
+    private final Map<InvalidationEvent.Entity, Counter> published = new EnumMap<>(InvalidationEvent.Entity.class);
+    private final Map<InvalidationEvent.Entity, Counter> received = new EnumMap<>(InvalidationEvent.Entity.class);
+
+    public CacheInvalidationBus(InvalidationChannel channel,
+                                CategoryCache categoryCache,
+                                EntityManagerFactory entityManagerFactory,
+                                TaskSearchIndex taskSearchIndex,
+                                CategoryTaskCounts categoryTaskCounts,
+                                TaskRepository taskRepository,
+                                TaskUpdateBroadcaster taskUpdateBroadcaster,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.cache.invalidation.node-id:}") String nodeId,
+                                @Value("${app.cache.invalidation.max-ids-per-event:1000}") int maxIdsPerEvent) {
+        this.channel = channel;
+        this.categoryCache = categoryCache;
+        this.entityManagerFactory = entityManagerFactory;
+        this.taskSearchIndex = taskSearchIndex;
+        this.categoryTaskCounts = categoryTaskCounts;
+        this.taskRepository = taskRepository;
+        this.taskUpdateBroadcaster = taskUpdateBroadcaster;
+        this.nodeId = nodeId == null || nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+        this.maxIdsPerEvent = maxIdsPerEvent;
+        this.lag = Timer.builder("app.cache.invalidation.lag")
+                .description("Time from a commit on another instance to the eviction on this one")
+                .tag("channel", channel.name())
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        for (InvalidationEvent.Entity entity : InvalidationEvent.Entity.values()) {
+            String tag = entity.name().toLowerCase();
+            published.put(entity, Counter.builder("app.cache.invalidation.published")
+                    .tag("channel", channel.name()).tag("entity", tag).register(meterRegistry));
+            received.put(entity, Counter.builder("app.cache.invalidation.received")
+                    .tag("channel", channel.name()).tag("entity", tag).register(meterRegistry));
+        }
+        channel.subscribe(this.nodeId, this::apply);
+        log.info("Cache invalidation over the {} channel as node {}", channel.name(), this.nodeId);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void categoryChanged(Long id) {
+        publish(List.of(new InvalidationEvent(InvalidationEvent.Entity.CATEGORY, id, nodeId, Instant.now())));
+    }
+
+    public void categoryDeleted(Long id) {
+        publish(List.of(new InvalidationEvent(InvalidationEvent.Entity.CATEGORY, id, nodeId, Instant.now(), null, null, true)));
+    }
+
+    public void taskChanged(TaskChange change) {
+        tasksChanged(List.of(change));
+    }
+
+    // More changes than fit one event each invalidate every task
+    public void tasksChanged(List<TaskChange> changes) {
+        Instant now = Instant.now();
+        List<InvalidationEvent> events = new ArrayList<>();
+        if (changes.size() > maxIdsPerEvent) {
+            events.add(new InvalidationEvent(InvalidationEvent.Entity.TASK, null, nodeId, now));
+        } else {
+            changes.forEach(change -> events.add(new InvalidationEvent(InvalidationEvent.Entity.TASK, change.id(), nodeId, now,
+                    change.previous(), change.current())));
+        }
+        publish(events);
+    }
+
+    // Inside the transaction of the write, so an outbox channel stores the events with it
+    private void publish(List<InvalidationEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        channel.publish(events);
+        AfterCommit.run(() -> events.forEach(event -> published.get(event.entity()).increment()));
+    }
+
+    void apply(List<InvalidationEvent> events) {
+        boolean categoriesChanged = false;
+        boolean allTasksChanged = false;
+        Set<Long> taskIds = new HashSet<>();
+        List<InvalidationEvent> taskEvents = new ArrayList<>();
+        List<Long> deletedCategoryIds = new ArrayList<>();
+        for (InvalidationEvent event : events) {
+            if (event.entity() == InvalidationEvent.Entity.CATEGORY) {
+                categoriesChanged = true;
+                categoryCache.evict(event.id());
+                entityManagerFactory.getCache().evict(Category.class, event.id());
+                if (event.deleted()) {
+                    deletedCategoryIds.add(event.id());
+                }
+            } else if (event.id() == null) {
+                allTasksChanged = true;
+            } else {
+                taskIds.add(event.id());
+                taskEvents.add(event);
+            }
+        }
+        if (categoriesChanged) {
+            entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegion(CATEGORY_PAGES_REGION);
+        }
+        if (allTasksChanged || !taskIds.isEmpty()) {
+            refreshSearchIndex(allTasksChanged, taskIds);
+            pushToSubscribers(taskEvents);
+        }
+        updateCounts(allTasksChanged, taskEvents);
+        // after the task events, which may still move counts out of the category
+        deletedCategoryIds.forEach(categoryTaskCounts::removeCategory);
+        Instant now = Instant.now();
+        for (InvalidationEvent event : events) {
+            received.get(event.entity()).increment();
+            // clocks of two instances can disagree by a little, never record a negative lag
+            Duration delay = Duration.between(event.occurredAt(), now);
+            lag.record(delay.isNegative() ? Duration.ZERO : delay);
+        }
+    }
+
+    // Sent as the origin's subscribers got them: a task's first event tells a create from an update and the category
+    // it left, a task that is gone is deleted from the category of its last event; a whole-collection event is not pushed
+    private void pushToSubscribers(List<InvalidationEvent> taskEvents) {
+        if (taskEvents.isEmpty() || !taskUpdateBroadcaster.hasSubscribers()) {
+            return;
+        }
+        Map<Long, InvalidationEvent> first = new HashMap<>();
+        Map<Long, InvalidationEvent> last = new HashMap<>();
+        for (InvalidationEvent event : taskEvents) {
+            first.putIfAbsent(event.id(), event);
+            last.put(event.id(), event);
+        }
+        Set<Long> deleted = new HashSet<>(first.keySet());
+        for (Task task : taskRepository.findByIdIn(first.keySet())) {
+            deleted.remove(task.getId());
+            InvalidationEvent event = first.get(task.getId());
+            if (event.previous() == null && event.current() != null) {
+                taskUpdateBroadcaster.created(task);
+            } else {
+                taskUpdateBroadcaster.updated(event.previous() == null ? null : event.previous().categoryId(), task);
+            }
+        }
+        for (Long id : deleted) {
+            InvalidationEvent event = last.get(id);
+            TaskChange.Placement placement = event.current() != null ? event.current() : event.previous();
+            taskUpdateBroadcaster.deleted(id, placement == null ? null : placement.categoryId());
+        }
+    }
+
+    // Moves the counts by what each event carries; only a whole-collection event costs a full recount
+    private void updateCounts(boolean allTasksChanged, List<InvalidationEvent> taskEvents) {
+        // until ready the counts are still being built at startup, and that build reads the change anyway
+        if (!categoryTaskCounts.isReady()) {
+            return;
+        }
+        if (allTasksChanged) {
+            categoryTaskCounts.rebuild();
+            return;
+        }
+        for (InvalidationEvent event : taskEvents) {
+            if (event.previous() != null) {
+                categoryTaskCounts.removed(event.previous().categoryId(), event.previous().status());
+            }
+            if (event.current() != null) {
+                categoryTaskCounts.added(event.current().categoryId(), event.current().status());
+            }
+        }
+    }
+
+    // Until ready the index is still being built at startup, and that build reads the change anyway
+    private void refreshSearchIndex(boolean allTasksChanged, Set<Long> taskIds) {
+        if (!taskSearchIndex.isReady()) {
+            return;
+        }
+        if (allTasksChanged) {
+            taskSearchIndex.rebuild();
+        } else {
+            taskSearchIndex.refresh(taskIds);
+        }
+    }
+}
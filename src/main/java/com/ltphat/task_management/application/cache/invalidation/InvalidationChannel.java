@@ -0,0 +1,21 @@
+package com.ltphat.task_management.application.cache.invalidation;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Transport of invalidation events between instances. CacheInvalidationBus publishes the events of a write
+ * inside its transaction and subscribes, under its node id, to the events of every other instance. A channel
+ * that stores the events joins the transaction; one that hands them on at once waits for the commit.
+ * Delivery is at least once, in batches, and may lag behind the commit by up to one poll of the channel.
+ */
+public interface InvalidationChannel {
+
+    void publish(List<InvalidationEvent> events);
+
+    // The subscriber receives the events whose origin is not its own node id
+    void subscribe(String nodeId, Consumer<List<InvalidationEvent>> subscriber);
+
+    // Tag of the app.cache.invalidation.* meters
+    String name();
+}
@@ -0,0 +1,32 @@
+package com.ltphat.task_management.application.cache.invalidation;
+
+import com.ltphat.task_management.application.cache.invalidation.TaskChange.Placement;
+
+import java.time.Instant;
+
+/**
+ * One committed change another instance has to drop from its in-process caches.
+ * A null id stands for the whole collection, sent when a write touched too many rows to name them.
+ *
+ * @param origin     node id of the instance that made the change, it skips its own events
+ * @param occurredAt time of the write on the origin, the start of the propagation lag
+ * @param previous   where a task event's task was counted before the change, null for a create or when unknown
+ * @param current    where it is counted after the change, null for a delete or when unknown
+ * @param deleted    set on a category event when the category was deleted, its task counts go too
+ */
+public record InvalidationEvent(Entity entity, Long id, String origin, Instant occurredAt,
+                                Placement previous, Placement current, boolean deleted) {
+
+    public InvalidationEvent(Entity entity, Long id, String origin, Instant occurredAt) {
+        this(entity, id, origin, occurredAt, null, null, false);
+    }
+
+    public InvalidationEvent(Entity entity, Long id, String origin, Instant occurredAt, Placement previous, Placement current) {
+        this(entity, id, origin, occurredAt, previous, current, false);
+    }
+
+    public enum Entity {
+        CATEGORY,
+        TASK
+    }
+}
@@ -0,0 +1,46 @@
+package com.ltphat.task_management.application.cache.invalidation;
+
+import com.ltphat.task_management.application.transaction.AfterCommit;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-JVM stand-in for a broker: every published batch is handed to the other subscribers on the publishing thread,
+ * once the transaction it was published in has committed.
+ * With one instance nothing is delivered; tests share one channel between several buses to act as several nodes.
+ */
+public class LocalInvalidationChannel implements InvalidationChannel {
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(List<InvalidationEvent> events) {
+        AfterCommit.run(() -> {
+            for (Subscriber subscriber : subscribers) {
+                subscriber.deliver(events);
+            }
+        });
+    }
+
+    @Override
+    public void subscribe(String nodeId, Consumer<List<InvalidationEvent>> subscriber) {
+        subscribers.add(new Subscriber(nodeId, subscriber));
+    }
+
+    @Override
+    public String name() {
+        return "local";
+    }
+
+    record Subscriber(String nodeId, Consumer<List<InvalidationEvent>> consumer) {
+
+        void deliver(List<InvalidationEvent> events) {
+            List<InvalidationEvent> foreign = events.stream().filter(event -> !nodeId.equals(event.origin())).toList();
+            if (!foreign.isEmpty()) {
+                consumer.accept(foreign);
+            }
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.ltphat.task_management.application.cache.invalidation;
+
+import com.ltphat.task_management.application.cache.invalidation.TaskChange.Placement;
+import com.ltphat.task_management.domain.model.TaskStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Invalidation channel over the cache_invalidation table of the shared database, no broker needed.
+ * Published events are inserted in one batch as part of the transaction of the write, so they commit or roll back
+ * with it, then every instance reads the rows past its watermark and hands those of other instances to its subscriber. Identity values can commit out of order, so a row is only
+ * put behind the watermark once it has been seen for the settle time; until then it is read again and
+ * skipped as already delivered. Rows older than the retention are purged by every instance.
+ */
+@Slf4j
+public class OutboxInvalidationChannel implements InvalidationChannel {
+
+    private static final String INSERT = "insert into cache_invalidation (entity, entity_id, origin, created_at,"
+            + " previous_category_id, previous_status, category_id, status, deleted) values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String SELECT = "select id, entity, entity_id, origin, created_at, previous_category_id, previous_status,"
+            + " category_id, status, deleted from cache_invalidation where id > ? order by id limit ?";
+    private static final String PURGE = "delete from cache_invalidation where created_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final long settleNanos;
+    private final Duration retention;
+
+    private final List<LocalInvalidationChannel.Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    // rows past the watermark that were already delivered, by id, with the time they were first read
+    private final Map<Long, Long> delivered = new TreeMap<>();
+    private long watermark = -1;
+
+    public OutboxInvalidationChannel(JdbcTemplate jdbcTemplate, int batchSize, Duration settle, Duration retention) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.settleNanos = settle.toNanos();
+        this.retention = retention;
+    }
+
+    // JdbcTemplate joins the transaction of the caller, a crash after the commit cannot lose the events
+    @Override
+    public void publish(List<InvalidationEvent> events) {
+        jdbcTemplate.batchUpdate(INSERT, events, batchSize, (ps, row) -> {
+            ps.setString(1, row.entity().name());
+            setLong(ps, 2, row.id());
+            ps.setString(3, row.origin());
+            ps.setTimestamp(4, Timestamp.from(row.occurredAt()), utc());
+            setPlacement(ps, 5, row.previous());
+            setPlacement(ps, 7, row.current());
+            ps.setBoolean(9, row.deleted());
+        });
+    }
+
+    @Override
+    public void subscribe(String nodeId, Consumer<List<InvalidationEvent>> subscriber) {
+        subscribers.add(new LocalInvalidationChannel.Subscriber(nodeId, subscriber));
+    }
+
+    @Override
+    public String name() {
+        return "outbox";
+    }
+
+    @Scheduled(fixedDelayString = "${app.cache.invalidation.poll-interval:500ms}")
+    public synchronized void poll() {
+        try {
+            receive();
+        } catch (RuntimeException exception) {
+            // the database may be briefly unavailable, the next poll retries with the same watermark
+            log.warn("Cache invalidation poll failed: {}", exception.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.cache.invalidation.purge-interval:1m}")
+    public void purge() {
+        try {
+            int purged = jdbcTemplate.update(PURGE, ps -> ps.setTimestamp(1, Timestamp.from(Instant.now().minus(retention)), utc()));
+            log.debug("Purged {} cache invalidation rows", purged);
+        } catch (RuntimeException exception) {
+            log.warn("Cache invalidation purge failed: {}", exception.getMessage());
+        }
+    }
+
+    private void receive() {
+        if (watermark < 0) {
+            // start with what is written from now on, older rows were already in the database this instance loaded
+            Long max = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from cache_invalidation", Long.class);
+            watermark = max == null ? 0 : max;
+        }
+        List<Row> rows = jdbcTemplate.query(SELECT, ROW_MAPPER, watermark, batchSize);
+        long now = System.nanoTime();
+        List<InvalidationEvent> received = new ArrayList<>();
+        for (Row row : rows) {
+            if (delivered.putIfAbsent(row.id(), now) == null) {
+                received.add(row.event());
+            }
+        }
+        if (!received.isEmpty()) {
+            subscribers.forEach(subscriber -> subscriber.deliver(received));
+        }
+        advanceWatermark(now);
+    }
+
+    // Moves the watermark over the delivered rows that have settled, stopping at the first one that has not
+    private void advanceWatermark(long now) {
+        Iterator<Map.Entry<Long, Long>> iterator = delivered.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Long, Long> entry = iterator.next();
+            if (now - entry.getValue() < settleNanos) {
+                return;
+            }
+            watermark = entry.getKey();
+            iterator.remove();
+        }
+    }
+
+    // Commit times are stored in UTC, whatever the time zone of the instance that wrote them
+    private static Calendar utc() {
+        return Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+    }
+
+    private static void setLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.BIGINT);
+        } else {
+            ps.setLong(index, value);
+        }
+    }
+
+    private static void setPlacement(PreparedStatement ps, int index, Placement placement) throws SQLException {
+        setLong(ps, index, placement == null ? null : placement.categoryId());
+        ps.setString(index + 1, placement == null || placement.status() == null ? null : placement.status().name());
+    }
+
+    private static Long getLong(ResultSet rs, String column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static Placement getPlacement(ResultSet rs, String categoryColumn, String statusColumn) throws SQLException {
+        Long categoryId = getLong(rs, categoryColumn);
+        String status = rs.getString(statusColumn);
+        if (categoryId == null && status == null) {
+            return null;
+        }
+        return new Placement(categoryId, status == null ? null : TaskStatus.valueOf(status));
+    }
+
+    private static final RowMapper<Row> ROW_MAPPER = (rs, rowNum) -> new Row(rs.getLong("id"), new InvalidationEvent(
+            InvalidationEvent.Entity.valueOf(rs.getString("entity")),
+            getLong(rs, "entity_id"),
+            rs.getString("origin"),
+            rs.getTimestamp("created_at", utc()).toInstant(),
+            getPlacement(rs, "previous_category_id", "previous_status"),
+            getPlacement(rs, "category_id", "status"),
+            rs.getBoolean("deleted")));
+
+    private record Row(long id, InvalidationEvent event) {
+    }
+}
@@ -0,0 +1,37 @@
+package com.ltphat.task_management.application.cache.invalidation;
+
+import com.ltphat.task_management.domain.model.Task;
+import com.ltphat.task_management.domain.model.TaskStatus;
+
+/**
+ * A task write as reported to CacheInvalidationBus: which task, and where it was counted before and after,
+ * so other instances can move their task counts without recounting.
+ */
+public record TaskChange(Long id, Placement previous, Placement current) {
+
+    public static TaskChange created(Task task) {
+        return new TaskChange(task.getId(), null, Placement.of(task));
+    }
+
+    public static TaskChange updated(Long previousCategoryId, TaskStatus previousStatus, Task task) {
+        return new TaskChange(task.getId(), new Placement(previousCategoryId, previousStatus), Placement.of(task));
+    }
+
+    // A task moved to another category by a bulk statement, its status unchanged
+    public static TaskChange moved(Long id, Long previousCategoryId, Long categoryId, TaskStatus status) {
+        return new TaskChange(id, new Placement(previousCategoryId, status), new Placement(categoryId, status));
+    }
+
+    // The category and status are null when the caller did not read them
+    public static TaskChange deleted(Long id, Long categoryId, TaskStatus status) {
+        return new TaskChange(id, categoryId == null ? null : new Placement(categoryId, status), null);
+    }
+
+    // Category and status a task is counted under
+    public record Placement(Long categoryId, TaskStatus status) {
+
+        static Placement of(Task task) {
+            return new Placement(task.getCategory() == null ? null : task.getCategory().getId(), task.getStatus());
+        }
+    }
+}
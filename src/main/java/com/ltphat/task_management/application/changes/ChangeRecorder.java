@@ -0,0 +1,77 @@
+package com.ltphat.task_management.application.changes;
+
+import com.ltphat.task_management.domain.model.ChangeEvent;
+import com.ltphat.task_management.domain.model.ChangeEvent.EntityType;
+import com.ltphat.task_management.domain.model.ChangeEvent.Operation;
+import com.ltphat.task_management.domain.repository.ChangeEventRepository;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Collection;
+
+/**
+ * Write side of the change feed: appends to the change_event outbox inside the caller's transaction, so a change
+ * and its event commit or roll back together. Single writes cost one INSERT, batches one INSERT ... SELECT over
+ * the tasks' ids. Deletes that go by a query are recorded before that query runs, while the rows still exist.
+ */
+@Component
+public class ChangeRecorder {
+
+    private final ChangeEventRepository changeEventRepository;
+
+    public ChangeRecorder(ChangeEventRepository changeEventRepository) {
+        this.changeEventRepository = changeEventRepository;
+    }
+
+    public void taskCreated(Long id) {
+        record(EntityType.TASK, id, Operation.CREATED);
+    }
+
+    public void taskUpdated(Long id) {
+        record(EntityType.TASK, id, Operation.UPDATED);
+    }
+
+    public void taskDeleted(Long id) {
+        record(EntityType.TASK, id, Operation.DELETED);
+    }
+
+    public void tasksCreated(Collection<Long> ids) {
+        recordTasks(ids, Operation.CREATED);
+    }
+
+    public void tasksUpdated(Collection<Long> ids) {
+        recordTasks(ids, Operation.UPDATED);
+    }
+
+    // Before the DELETE: the ids are read back from the rows
+    public void tasksDeleted(Collection<Long> ids) {
+        recordTasks(ids, Operation.DELETED);
+    }
+
+    // Before the bulk statement that deletes or moves every task of the category
+    public void tasksOfCategory(Long categoryId, Operation operation) {
+        changeEventRepository.recordTasksOfCategory(categoryId, operation, Instant.now());
+    }
+
+    public void categoryCreated(Long id) {
+        record(EntityType.CATEGORY, id, Operation.CREATED);
+    }
+
+    public void categoryUpdated(Long id) {
+        record(EntityType.CATEGORY, id, Operation.UPDATED);
+    }
+
+    public void categoryDeleted(Long id) {
+        record(EntityType.CATEGORY, id, Operation.DELETED);
+    }
+
+    private void record(EntityType entity, Long id, Operation operation) {
+        changeEventRepository.save(new ChangeEvent(entity, id, operation, Instant.now()));
+    }
+
+    private void recordTasks(Collection<Long> ids, Operation operation) {
+        if (!ids.isEmpty()) {
+            changeEventRepository.recordTasks(ids, operation, Instant.now());
+        }
+    }
+}
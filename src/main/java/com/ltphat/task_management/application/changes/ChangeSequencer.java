@@ -0,0 +1,61 @@
+package com.ltphat.task_management.application.changes;
+
+import com.ltphat.task_management.domain.repository.ChangeEventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Numbers committed change_event rows with the feed sequence. Only committed rows are visible to the numbering
+ * transaction, and the instances take turns on the change_sequence row, so every number handed out is above every
+ * number already committed: a consumer past a sequence can never miss a row that shows up later, however long its
+ * transaction ran, and a rolled-back insert leaves nothing to wait for.
+ */
+@Component
+public class ChangeSequencer {
+
+    private final ChangeEventRepository changeEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public ChangeSequencer(ChangeEventRepository changeEventRepository, TransactionTemplate transactionTemplate,
+                           @Value("${app.changes.sequence-batch:1000}") int batchSize) {
+        this.changeEventRepository = changeEventRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    // Returns how many rows got a sequence
+    @Scheduled(fixedDelayString = "${app.changes.sequence-interval:100ms}")
+    public int sequence() {
+        // idle instances do not queue up on the lock
+        if (!changeEventRepository.existsBySeqIsNull()) {
+            return 0;
+        }
+        int total = 0;
+        int sequenced;
+        do {
+            sequenced = transactionTemplate.execute(status -> sequenceBatch());
+            total += sequenced;
+        } while (sequenced == batchSize);
+        return total;
+    }
+
+    private int sequenceBatch() {
+        long nextSeq = changeEventRepository.lockNextSeq();
+        // read after the lock, so the rows numbered by the instance before are no longer null
+        List<Long> ids = changeEventRepository.findUnsequencedIds(Limit.of(batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        //Ids keep their order and spacing; the gaps left by rollbacks are just skipped numbers
+        long offset = nextSeq - ids.get(0);
+        changeEventRepository.assignSeq(ids, offset);
+        changeEventRepository.updateNextSeq(ids.get(ids.size() - 1) + offset + 1);
+        return ids.size();
+    }
+}
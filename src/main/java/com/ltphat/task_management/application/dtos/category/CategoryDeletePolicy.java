@@ -0,0 +1,23 @@
+package com.ltphat.task_management.application.dtos.category;
+
+/**
+ * What DELETE /categories/{id} does with the tasks still in the category.
+ * REJECT refuses with the number of tasks, CASCADE deletes them and REASSIGN moves them to "reassignTo",
+ * each with one bulk statement.
+ */
+public enum CategoryDeletePolicy {
+    REJECT,
+    CASCADE,
+    REASSIGN;
+
+    public static CategoryDeletePolicy from(String value) {
+        if (value == null || value.isEmpty()) {
+            return REJECT;
+        }
+        try {
+            return CategoryDeletePolicy.valueOf(value.toUpperCase());
+        } catch (IllegalArgumentException exception) {
+            throw new RuntimeException("The onTasks policy is invalid: " + value);
+        }
+    }
+}
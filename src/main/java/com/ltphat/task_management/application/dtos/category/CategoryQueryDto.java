@@ -13,4 +13,8 @@ public class CategoryQueryDto {
     private String search = "";
     private String sortBy = "name";
     private String sortOrder = "asc";
+    private String paging = "offset"; // offset, keyset
+    private String count = "exact"; // exact, estimate, none (offset paging only)
+    private String after;
+    private Boolean withStats = false; // adds taskStats to every category
 }
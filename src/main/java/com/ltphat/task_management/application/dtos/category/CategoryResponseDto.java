@@ -1,5 +1,6 @@
 package com.ltphat.task_management.application.dtos.category;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -15,4 +16,12 @@ public class CategoryResponseDto {
     private String description;
     private String Color;
     private Instant createdAt;
+    private Long version;
+    // Only filled by GET /categories?withStats=true
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private CategoryStatsDto taskStats;
+
+    public CategoryResponseDto(Long id, String name, String description, String color, Instant createdAt) {
+        this(id, name, description, color, createdAt, null, null);
+    }
 }
@@ -0,0 +1,28 @@
+package com.ltphat.task_management.application.dtos.category;
+
+import com.ltphat.task_management.domain.model.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CategoryStatsDto {
+    private long total;
+    private Map<String, Long> byStatus; // status label -> count, every status present
+
+    public static CategoryStatsDto of(Map<TaskStatus, Long> counts) {
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        long total = 0;
+        for (TaskStatus status : TaskStatus.values()) {
+            long count = counts.getOrDefault(status, 0L);
+            byStatus.put(status.getLabel(), count);
+            total += count;
+        }
+        return new CategoryStatsDto(total, byStatus);
+    }
+}
@@ -0,0 +1,25 @@
+package com.ltphat.task_management.application.dtos.change;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.ltphat.task_management.application.dtos.category.CategoryResponseDto;
+import com.ltphat.task_management.application.dtos.task.TaskResponseDto;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ChangeDto {
+    private long sequence;
+    private String entity;    // TASK or CATEGORY
+    private Long id;
+    private String operation; // CREATED, UPDATED or DELETED
+    private Instant occurredAt;
+    // Current state of the task or category, absent once it is deleted
+    private TaskResponseDto task;
+    private CategoryResponseDto category;
+}
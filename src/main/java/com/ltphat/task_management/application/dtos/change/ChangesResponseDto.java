@@ -0,0 +1,15 @@
+package com.ltphat.task_management.application.dtos.change;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ChangesResponseDto {
+    private List<ChangeDto> changes;
+    private long next;  // pass back as "since" for the following batch
+}
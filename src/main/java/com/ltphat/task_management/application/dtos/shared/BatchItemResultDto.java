@@ -0,0 +1,25 @@
+package com.ltphat.task_management.application.dtos.shared;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResultDto {
+    private int index; // position in the request body
+    private Long id;
+    private String status; // created, updated, deleted, failed
+    private String error;
+
+    public static BatchItemResultDto success(int index, Long id, String status) {
+        return new BatchItemResultDto(index, id, status, null);
+    }
+
+    public static BatchItemResultDto failed(int index, Long id, String error) {
+        return new BatchItemResultDto(index, id, "failed", error);
+    }
+}
@@ -0,0 +1,19 @@
+package com.ltphat.task_management.application.dtos.shared;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchResponseDto {
+
+    private List<BatchItemResultDto> results;
+    private int succeeded;
+    private int failed;
+
+    public BatchResponseDto(List<BatchItemResultDto> results) {
+        this.results = results;
+        this.failed = (int) results.stream().filter(result -> "failed".equals(result.getStatus())).count();
+        this.succeeded = results.size() - this.failed;
+    }
+}
@@ -0,0 +1,18 @@
+package com.ltphat.task_management.application.dtos.shared;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsDto {
+    private boolean enabled;
+    private long size;
+    private long hitCount;
+    private long missCount;
+    private double hitRate;
+    private long evictionCount; // size or TTL based
+    private long invalidationCount; // explicit, on update/delete
+}
@@ -1,15 +1,22 @@
 package com.ltphat.task_management.application.dtos.shared;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 import java.util.List;
 
 @Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class PagedResponseDto<T> {
 
     private List<T> items;
-    private int currentPage;
-    private int totalPages;
-    private long totalItems;
+    private Integer currentPage;
+    private Integer totalPages;
+    private Long totalItems;
+    // exact, estimate or none; with none there is no total, only hasNext
+    private String countMode;
+    private Boolean hasNext;
+    // Only set in keyset mode, absent on the last page
+    private String nextCursor;
 
     public PagedResponseDto(List<T> items, int currentPage, int totalPages, long totalItems) {
         this.items = items;
@@ -18,7 +25,24 @@ public class PagedResponseDto<T> {
         this.totalItems = totalItems;
     }
 
+    public PagedResponseDto(List<T> items, int currentPage, int totalPages, long totalItems, String countMode) {
+        this(items, currentPage, totalPages, totalItems);
+        this.countMode = countMode;
+    }
+
+    public PagedResponseDto(List<T> items, int currentPage, boolean hasNext) {
+        this.items = items;
+        this.currentPage = currentPage;
+        this.hasNext = hasNext;
+        this.countMode = "none";
+    }
+
+    public PagedResponseDto(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
     public List<T> getContent() {
         return items;
     }
-}
\ No newline at end of file
+}
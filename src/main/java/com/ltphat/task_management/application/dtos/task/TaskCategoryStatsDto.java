@@ -0,0 +1,16 @@
+package com.ltphat.task_management.application.dtos.task;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskCategoryStatsDto {
+    private Long categoryId;
+    private long total;
+    private Map<String, Long> byStatus;
+}
@@ -1,13 +1,18 @@
 package com.ltphat.task_management.application.dtos.task;
 
+import com.ltphat.task_management.domain.model.TaskStatus;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class TaskDto {
     private Long id;
     private String name;
     private String description;
-    private String status; // Pending, Completed
+    private TaskStatus status;
     private Long categoryId;
 
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.ltphat.task_management.application.dtos.task;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskImportRejectionDto {
+    private long row; // 1-based data row, the CSV header is not counted
+    private String reason;
+}
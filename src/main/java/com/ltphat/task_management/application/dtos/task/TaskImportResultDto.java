@@ -0,0 +1,25 @@
+package com.ltphat.task_management.application.dtos.task;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskImportResultDto {
+    private String format;
+    private long resumedFrom;
+    private long processed; // rows read after resumedFrom
+    private long imported;
+    private long rejected;
+    private long checkpoint; // rows up to here are final, pass it back as resumeFrom after a failure
+    private boolean completed;
+    private String error;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+    private List<TaskImportRejectionDto> rejectedRows = new ArrayList<>(); // capped, see app.tasks.import.max-reported-rejections
+}
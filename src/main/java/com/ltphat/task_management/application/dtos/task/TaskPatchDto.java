@@ -0,0 +1,25 @@
+package com.ltphat.task_management.application.dtos.task;
+
+import com.ltphat.task_management.domain.model.TaskStatus;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Partial update: fields left out (or null) keep their current value
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskPatchDto {
+    @Pattern(regexp = ".*\\S.*", message = "name must not be blank")
+    @Size(max = 255, message = "name must be at most 255 characters")
+    private String name;
+    @Size(max = 255, message = "description must be at most 255 characters")
+    private String description;
+    private TaskStatus status;
+    private Long categoryId;
+    @NotNull(message = "version is required!")
+    private Long version; // the version of the task the change was made against
+}
@@ -0,0 +1,20 @@
+package com.ltphat.task_management.application.dtos.task;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskQueryDto {
+    private String search;
+    private String status; // Pending, In Progress, Completed
+    private String sortBy = "name";
+    private String sortOrder = "asc";
+    private Integer page = 0;
+    private Integer size = 10;
+    private String paging = "offset"; // offset, keyset
+    private String count = "exact"; // exact, estimate, none (offset paging only)
+    private String after;
+}
@@ -1,5 +1,9 @@
 package com.ltphat.task_management.application.dtos.task;
 
+import com.ltphat.task_management.domain.model.TaskStatus;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -8,8 +12,12 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 public class TaskRequestDto {
+    @NotBlank(message = "name is required!")
+    @Size(max = 255, message = "name must be at most 255 characters")
     private String name;
+    @Size(max = 255, message = "description must be at most 255 characters")
     private String description;
-    private String status; // Pending,
+    private TaskStatus status; // Pending when left out on create
+    @NotNull(message = "categoryId is required!")
     private Long categoryId;
-}
\ No newline at end of file
+}
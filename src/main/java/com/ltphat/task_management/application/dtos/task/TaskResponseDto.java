@@ -1,6 +1,7 @@
 package com.ltphat.task_management.application.dtos.task;
 
 import com.ltphat.task_management.application.dtos.category.CategoryResponseDto;
+import com.ltphat.task_management.domain.model.TaskStatus;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -12,6 +13,12 @@ public class TaskResponseDto {
     private Long id;
     private String name;
     private String description;
-    private String status; // Pending,
+    private TaskStatus status;
     private CategoryResponseDto category;
+    // Sent back with PATCH /tasks/{id}, a write against an older version is rejected
+    private Long version;
+
+    public TaskResponseDto(Long id, String name, String description, TaskStatus status, CategoryResponseDto category) {
+        this(id, name, description, status, category, null);
+    }
 }
@@ -0,0 +1,17 @@
+package com.ltphat.task_management.application.dtos.task;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskStatsDto {
+    private long total;
+    private Map<String, Long> byStatus; // status label -> count, every status present
+    private List<TaskCategoryStatsDto> byCategory;
+}
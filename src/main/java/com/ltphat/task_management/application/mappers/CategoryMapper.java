@@ -5,6 +5,7 @@ import com.ltphat.task_management.application.dtos.category.CategoryResponseDto;
 import com.ltphat.task_management.application.dtos.category.CategoryUpdateDto;
 import com.ltphat.task_management.domain.model.Category;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 import org.mapstruct.NullValuePropertyMappingStrategy;
 
@@ -13,6 +14,7 @@ import org.mapstruct.NullValuePropertyMappingStrategy;
         nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE
 )
 public interface CategoryMapper {
+    @Mapping(target = "taskStats", ignore = true)
     CategoryResponseDto toCategoryResponseDTO(Category category);
 
     Category toCategory(CategoryCreateDto categoryCreateDto);
@@ -1,9 +1,12 @@
 package com.ltphat.task_management.application.mappers;
 
+import com.ltphat.task_management.application.dtos.category.CategoryResponseDto;
 import com.ltphat.task_management.application.dtos.task.TaskRequestDto;
 import com.ltphat.task_management.application.dtos.task.TaskResponseDto;
+import com.ltphat.task_management.domain.model.Category;
 import com.ltphat.task_management.domain.model.Task;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
 @Mapper(componentModel = "spring")
@@ -13,6 +16,11 @@ public interface TaskMapper {
 
     TaskResponseDto taskToTaskResponseDto(Task task);
 
+    // Nested category of a task response, never with stats
+    @Mapping(target = "taskStats", ignore = true)
+    CategoryResponseDto categoryToCategoryResponseDto(Category category);
+
+    @Mapping(target = "status", defaultValue = "PENDING")
     Task taskRequestDtoToTask(TaskRequestDto taskRequestDto);
 
 }
@@ -0,0 +1,31 @@
+package com.ltphat.task_management.application.pagination;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps recently computed totals per listing (entity + search) so "count=estimate" pages skip the COUNT(*).
+ * Totals may lag writes by up to the configured TTL.
+ */
+@Component
+public class CountEstimator {
+
+    private final Cache<String, Long> counts;
+
+    public CountEstimator(@Value("${app.pagination.count-estimate.ttl:30s}") Duration ttl,
+                          @Value("${app.pagination.count-estimate.max-entries:1000}") long maxEntries) {
+        this.counts = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxEntries)
+                .build();
+    }
+
+    public long estimate(String key, LongSupplier exactCount) {
+        return counts.get(key, k -> exactCount.getAsLong());
+    }
+}
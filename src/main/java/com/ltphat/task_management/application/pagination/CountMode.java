@@ -0,0 +1,26 @@
+package com.ltphat.task_management.application.pagination;
+
+/**
+ * How the total of an offset page is produced.
+ * EXACT runs a COUNT(*) per page, ESTIMATE reuses a recently computed count, NONE only reports whether a next page exists.
+ */
+public enum CountMode {
+    EXACT,
+    ESTIMATE,
+    NONE;
+
+    public static CountMode from(String value) {
+        if (value == null || value.isEmpty()) {
+            return EXACT;
+        }
+        try {
+            return CountMode.valueOf(value.toUpperCase());
+        } catch (IllegalArgumentException exception) {
+            throw new RuntimeException("The count mode is invalid: " + value);
+        }
+    }
+
+    public String value() {
+        return name().toLowerCase();
+    }
+}
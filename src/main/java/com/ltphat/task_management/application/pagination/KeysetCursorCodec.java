@@ -0,0 +1,77 @@
+package com.ltphat.task_management.application.pagination;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.beans.BeanUtils;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Component;
+
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Turns the last (sortKey, id) pair of a keyset window into an opaque "after" token and back.
+ * The token carries the sort it was issued for, so it cannot be replayed against another ordering.
+ */
+@Component
+public class KeysetCursorCodec {
+
+    private static final TypeReference<Map<String, Object>> PAYLOAD_TYPE = new TypeReference<>() {};
+
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    public String nextCursor(Window<?> window, Sort sort) {
+        if (window.isEmpty() || !window.hasNext()) {
+            return null;
+        }
+        KeysetScrollPosition position = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("s", sort.toString());
+        payload.put("k", position.getKeys());
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(payload);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (Exception exception) {
+            throw new RuntimeException("Error while encoding cursor!");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public KeysetScrollPosition positionAfter(String cursor, Sort sort, Class<?> entityType) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        Map<String, Object> payload;
+        try {
+            payload = objectMapper.readValue(Base64.getUrlDecoder().decode(cursor), PAYLOAD_TYPE);
+        } catch (Exception exception) {
+            throw new RuntimeException("The cursor is invalid");
+        }
+        if (!sort.toString().equals(payload.get("s")) || !(payload.get("k") instanceof Map<?, ?>)) {
+            throw new RuntimeException("The cursor does not match the requested sort");
+        }
+        Map<String, Object> keys = new LinkedHashMap<>();
+        ((Map<String, Object>) payload.get("k")).forEach((property, value) ->
+                keys.put(property, toPropertyType(entityType, property, value)));
+        return ScrollPosition.forward(keys);
+    }
+
+    // JSON loses the Java type of the key (Long becomes Integer, Instant becomes String), restore it from the entity
+    private Object toPropertyType(Class<?> entityType, String property, Object value) {
+        var descriptor = BeanUtils.getPropertyDescriptor(entityType, property);
+        if (value == null || descriptor == null) {
+            return value;
+        }
+        return objectMapper.convertValue(value, descriptor.getPropertyType());
+    }
+}
@@ -0,0 +1,9 @@
+package com.ltphat.task_management.application.search;
+
+import java.util.List;
+
+/**
+ * One page of ranked task ids plus the exact number of matches.
+ */
+public record SearchHits(List<Long> ids, long total) {
+}
@@ -0,0 +1,423 @@
+package com.ltphat.task_management.application.search;
+
+import com.ltphat.task_management.application.transaction.AfterCommit;
+import com.ltphat.task_management.domain.model.Task;
+import com.ltphat.task_management.domain.repository.TaskRepository;
+import com.ltphat.task_management.domain.repository.TaskSearchDocument;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process n-gram index over task name and description.
+ * Replaces the LIKE '%x%' scan behind search: candidates come from intersecting the posting lists of the query
+ * trigrams (rarest first), are verified with a substring check and ranked by where the term occurs. Terms of one
+ * or two characters have posting lists of their own, so no query reads documents that do not contain it.
+ * Documents get dense numbers and posting lists are sorted int arrays of them, a few bytes per entry instead of a
+ * boxed set entry. An update or delete only marks the old number dead; once dead numbers outnumber live ones the
+ * index is compacted in memory.
+ * It is rebuilt from the database at startup and kept in sync by TaskService on create/update/delete, and by
+ * CacheInvalidationBus for the tasks other instances changed. Writes made inside a transaction reach the index
+ * once it commits, so a rolled-back write leaves no trace in it.
+ */
+@Component
+@Slf4j
+public class TaskSearchIndex {
+
+    private static final int GRAM = 3;
+    private static final int NAME_PREFIX_SCORE = 4;
+    private static final int NAME_SCORE = 3;
+    private static final int DESCRIPTION_SCORE = 1;
+    // dead documents tolerated before a compaction is worth it
+    private static final int MIN_DEAD_TO_COMPACT = 1024;
+
+    private final TaskRepository taskRepository;
+    private final boolean enabled;
+    private final int rebuildBatchSize;
+
+    // by document number; a null name marks a document replaced or deleted since
+    private long[] ids = new long[1024];
+    private String[] names = new String[1024];
+    private String[] descriptions = new String[1024];
+    private int documentCount;
+    private int liveCount;
+    // task id -> document number of its live document
+    private final LongIntMap numbers = new LongIntMap();
+    // n-gram of length 1 to 3 -> ascending document numbers
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+    // ids written while a rebuild scans, read again once it is done
+    private volatile Set<Long> changedDuringRebuild;
+
+    public TaskSearchIndex(TaskRepository taskRepository,
+                           @Value("${app.search.index.enabled:true}") boolean enabled,
+                           @Value("${app.search.index.rebuild-batch-size:5000}") int rebuildBatchSize) {
+        this.taskRepository = taskRepository;
+        this.enabled = enabled;
+        this.rebuildBatchSize = rebuildBatchSize;
+    }
+
+    // Until the rebuild finished, callers fall back to the database search
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        // ids indexed before the scan, in id order like the scan; one the scan does not return is a deletion candidate
+        long[] before;
+        lock.readLock().lock();
+        try {
+            before = new long[liveCount];
+            int next = 0;
+            for (int document = 0; document < documentCount; document++) {
+                if (names[document] != null) {
+                    before[next++] = ids[document];
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        Arrays.sort(before);
+        Set<Long> unseen = new HashSet<>();
+        changedDuringRebuild = ConcurrentHashMap.newKeySet();
+        try {
+            int next = 0;
+            long afterId = 0;
+            List<TaskSearchDocument> batch;
+            do {
+                batch = taskRepository.findSearchDocuments(afterId, Limit.of(rebuildBatchSize));
+                for (TaskSearchDocument document : batch) {
+                    put(document.getId(), document.getName(), document.getDescription());
+                    while (next < before.length && before[next] < document.getId()) {
+                        unseen.add(before[next++]);
+                    }
+                    if (next < before.length && before[next] == document.getId()) {
+                        next++;
+                    }
+                    afterId = document.getId();
+                }
+            } while (batch.size() == rebuildBatchSize);
+            while (next < before.length) {
+                unseen.add(before[next++]);
+            }
+        } finally {
+            // tasks written during the scan may have been read before the write, or put back after their delete
+            unseen.addAll(changedDuringRebuild);
+            changedDuringRebuild = null;
+        }
+        // pooled ids commit out of order, so only the database can tell a deleted task from one it has not shown yet
+        List<Long> recheck = new ArrayList<>(unseen);
+        for (int from = 0; from < recheck.size(); from += rebuildBatchSize) {
+            refresh(recheck.subList(from, Math.min(from + rebuildBatchSize, recheck.size())));
+        }
+        ready = true;
+        log.info("Task search index built with {} tasks in {} ms", size(), System.currentTimeMillis() - started);
+    }
+
+    public void index(Task task) {
+        if (enabled && task.getId() != null) {
+            // read now, the entity may be changed or detached by the time the transaction commits
+            Long id = task.getId();
+            String name = task.getName();
+            String description = task.getDescription();
+            AfterCommit.run(() -> {
+                put(id, name, description);
+                noteChange(id);
+            });
+        }
+    }
+
+    // Re-reads tasks another instance changed: the ones still in the database are indexed again, the others dropped
+    public void refresh(Collection<Long> ids) {
+        if (!enabled || ids.isEmpty()) {
+            return;
+        }
+        Set<Long> missing = new HashSet<>(ids);
+        for (TaskSearchDocument document : taskRepository.findSearchDocuments(ids)) {
+            put(document.getId(), document.getName(), document.getDescription());
+            missing.remove(document.getId());
+        }
+        missing.forEach(this::delete);
+    }
+
+    public void remove(Long id) {
+        if (enabled) {
+            AfterCommit.run(() -> {
+                delete(id);
+                noteChange(id);
+            });
+        }
+    }
+
+    private void noteChange(Long id) {
+        Set<Long> changed = changedDuringRebuild;
+        if (changed != null) {
+            changed.add(id);
+        }
+    }
+
+    private void delete(Long id) {
+        lock.writeLock().lock();
+        try {
+            int previous = numbers.remove(id);
+            if (previous != LongIntMap.MISSING) {
+                kill(previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public SearchHits search(String query, int offset, int limit) {
+        String term = normalize(query);
+        lock.readLock().lock();
+        try {
+            // keep only the best offset + limit hits instead of sorting every match
+            PriorityQueue<Hit> best = new PriorityQueue<>(Hit.RANKING.reversed());
+            long total = 0;
+            int[] candidates = candidates(term);
+            int count = candidates == null ? documentCount : candidates.length;
+            for (int i = 0; i < count; i++) {
+                int document = candidates == null ? i : candidates[i];
+                String name = names[document];
+                if (name == null) {
+                    continue;
+                }
+                int score = score(name, descriptions[document], term);
+                if (score == 0) {
+                    continue;
+                }
+                total++;
+                best.add(new Hit(ids[document], score, name));
+                if (best.size() > offset + limit) {
+                    best.poll();
+                }
+            }
+            List<Hit> ranked = new ArrayList<>(best);
+            ranked.sort(Hit.RANKING);
+            List<Long> hitIds = ranked.stream().skip(offset).map(Hit::id).toList();
+            return new SearchHits(hitIds, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Document numbers that may contain the term, ascending; null for every document (the empty term)
+    private int[] candidates(String term) {
+        if (term.isEmpty()) {
+            return null;
+        }
+        if (term.length() <= GRAM) {
+            // the term is an n-gram itself, its posting list is the exact answer
+            Postings posting = postings.get(term);
+            return posting == null ? new int[0] : Arrays.copyOf(posting.documents, posting.size);
+        }
+        List<Postings> lists = new ArrayList<>();
+        for (String gram : trigrams(term)) {
+            Postings posting = postings.get(gram);
+            if (posting == null) {
+                return new int[0];
+            }
+            lists.add(posting);
+        }
+        lists.sort(Comparator.comparingInt(posting -> posting.size));
+        int[] result = Arrays.copyOf(lists.get(0).documents, lists.get(0).size);
+        int size = result.length;
+        for (int i = 1; i < lists.size() && size > 0; i++) {
+            size = retain(result, size, lists.get(i));
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    // Keeps the first size entries of result that are also in the posting list; both ascending
+    private static int retain(int[] result, int size, Postings posting) {
+        int kept = 0;
+        int from = 0;
+        for (int i = 0; i < size && from < posting.size; i++) {
+            int found = Arrays.binarySearch(posting.documents, from, posting.size, result[i]);
+            if (found >= 0) {
+                result[kept++] = result[i];
+                from = found + 1;
+            } else {
+                from = -found - 1;
+            }
+        }
+        return kept;
+    }
+
+    private void put(Long id, String name, String description) {
+        String normalizedName = normalize(name);
+        String normalizedDescription = normalize(description);
+        Set<String> grams = grams(normalizedName);
+        grams.addAll(grams(normalizedDescription));
+        lock.writeLock().lock();
+        try {
+            int previous = numbers.get(id);
+            if (previous != LongIntMap.MISSING) {
+                // a rebuild puts every task again, most of them unchanged
+                if (normalizedName.equals(names[previous]) && normalizedDescription.equals(descriptions[previous])) {
+                    return;
+                }
+                kill(previous);
+            }
+            if (documentCount == ids.length) {
+                grow();
+            }
+            // the new number is the highest, appending keeps every posting list sorted
+            int document = documentCount++;
+            ids[document] = id;
+            names[document] = normalizedName;
+            descriptions[document] = normalizedDescription;
+            numbers.put(id, document);
+            liveCount++;
+            for (String gram : grams) {
+                postings.computeIfAbsent(gram, g -> new Postings()).add(document);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Marks a document dead; its posting entries are skipped by search and dropped by the next compaction
+    private void kill(int document) {
+        names[document] = null;
+        descriptions[document] = null;
+        liveCount--;
+        int dead = documentCount - liveCount;
+        if (dead >= MIN_DEAD_TO_COMPACT && dead > liveCount) {
+            compact();
+        }
+    }
+
+    // Renumbers the live documents densely, in their current order, and rewrites the posting lists to match
+    private void compact() {
+        int[] renumbered = new int[documentCount];
+        int next = 0;
+        for (int document = 0; document < documentCount; document++) {
+            if (names[document] == null) {
+                renumbered[document] = -1;
+                continue;
+            }
+            renumbered[document] = next;
+            ids[next] = ids[document];
+            names[next] = names[document];
+            descriptions[next] = descriptions[document];
+            numbers.put(ids[next], next);
+            next++;
+        }
+        Arrays.fill(names, next, documentCount, null);
+        Arrays.fill(descriptions, next, documentCount, null);
+        documentCount = next;
+        postings.values().removeIf(posting -> posting.renumber(renumbered) == 0);
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        names = Arrays.copyOf(names, capacity);
+        descriptions = Arrays.copyOf(descriptions, capacity);
+    }
+
+    private static int score(String name, String description, String term) {
+        int score = 0;
+        if (name.startsWith(term)) {
+            score += NAME_PREFIX_SCORE;
+        } else if (name.contains(term)) {
+            score += NAME_SCORE;
+        }
+        if (description.contains(term)) {
+            score += DESCRIPTION_SCORE;
+        }
+        return score;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    // Every distinct substring of one to three characters
+    private static Set<String> grams(String value) {
+        Set<String> grams = new HashSet<>();
+        for (int length = 1; length <= GRAM; length++) {
+            for (int i = 0; i + length <= value.length(); i++) {
+                grams.add(value.substring(i, i + length));
+            }
+        }
+        return grams;
+    }
+
+    private static Set<String> trigrams(String value) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            grams.add(value.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    // Growable sorted array of document numbers
+    private static final class Postings {
+        private int[] documents = new int[4];
+        private int size;
+
+        void add(int document) {
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+            }
+            documents[size++] = document;
+        }
+
+        // Drops dead numbers (-1), maps the others and trims the array; returns the new size
+        int renumber(int[] renumbered) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int document = renumbered[documents[i]];
+                if (document >= 0) {
+                    documents[kept++] = document;
+                }
+            }
+            size = kept;
+            documents = Arrays.copyOf(documents, Math.max(kept, 1));
+            return kept;
+        }
+    }
+
+    private record Hit(Long id, int score, String name) {
+        // higher score first, then name and id so pages are stable
+        static final Comparator<Hit> RANKING = Comparator.comparingInt(Hit::score).reversed()
+                .thenComparing(Hit::name)
+                .thenComparing(Hit::id);
+    }
+}
@@ -1,23 +1,54 @@
 package com.ltphat.task_management.application.services;
 
+import com.ltphat.task_management.application.cache.CategoryCache;
+import com.ltphat.task_management.application.cache.CollectionVersions;
+import com.ltphat.task_management.application.cache.SecondLevelCacheStats;
+import com.ltphat.task_management.application.cache.invalidation.CacheInvalidationBus;
+import com.ltphat.task_management.application.cache.invalidation.TaskChange;
+import com.ltphat.task_management.application.changes.ChangeRecorder;
 import com.ltphat.task_management.application.dtos.category.CategoryCreateDto;
+import com.ltphat.task_management.application.dtos.category.CategoryDeletePolicy;
 import com.ltphat.task_management.application.dtos.category.CategoryQueryDto;
 import com.ltphat.task_management.application.dtos.category.CategoryResponseDto;
+import com.ltphat.task_management.application.dtos.category.CategoryStatsDto;
 import com.ltphat.task_management.application.dtos.category.CategoryUpdateDto;
+import com.ltphat.task_management.application.dtos.shared.CacheRegionStatsDto;
+import com.ltphat.task_management.application.dtos.shared.CacheStatsDto;
 import com.ltphat.task_management.application.dtos.shared.PagedResponseDto;
 import com.ltphat.task_management.application.mappers.CategoryMapper;
+import com.ltphat.task_management.application.pagination.CountEstimator;
+import com.ltphat.task_management.application.pagination.CountMode;
+import com.ltphat.task_management.application.pagination.KeysetCursorCodec;
+import com.ltphat.task_management.application.search.TaskSearchIndex;
+import com.ltphat.task_management.application.stats.CategoryTaskCounts;
+import com.ltphat.task_management.application.stream.TaskUpdateBroadcaster;
 import com.ltphat.task_management.domain.model.Category;
+import com.ltphat.task_management.domain.model.ChangeEvent;
+import com.ltphat.task_management.domain.model.TaskStatus;
 import com.ltphat.task_management.domain.repository.CategoryRepository;
+import com.ltphat.task_management.domain.repository.TaskRepository;
+import com.ltphat.task_management.domain.repository.TaskStatusKey;
+import com.ltphat.task_management.exception.ResourceConflictException;
+import com.ltphat.task_management.exception.ResourceNotFoundException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @Slf4j
@@ -29,8 +60,42 @@ public class CategoryService {
     @Autowired
     private CategoryMapper categoryMapper;
 
+    @Autowired
+    private KeysetCursorCodec keysetCursorCodec;
+
+    @Autowired
+    private CountEstimator countEstimator;
+
+    @Autowired
+    private CategoryCache categoryCache;
+
+    @Autowired
+    private CategoryTaskCounts categoryTaskCounts;
+
+    @Autowired
+    private CollectionVersions collectionVersions;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Autowired
+    private ChangeRecorder changeRecorder;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskSearchIndex taskSearchIndex;
+
+    @Autowired
+    private TaskUpdateBroadcaster taskUpdateBroadcaster;
+
+    @Autowired
+    private SecondLevelCacheStats secondLevelCacheStats;
+
+    @Transactional
     public CategoryResponseDto createCategory(CategoryCreateDto categoryCreateDto){
-        log.info(categoryCreateDto.toString());
+        log.debug("Creating category {}", categoryCreateDto);
         Category category = categoryMapper.toCategory(categoryCreateDto);
         try{
             category = categoryRepository.save(category);
@@ -38,6 +103,8 @@ public class CategoryService {
             log.error("error while saving category " +exception);
             throw new RuntimeException("Error while create category!");
         }
+        changeRecorder.categoryCreated(category.getId());
+        cacheInvalidationBus.categoryChanged(category.getId());
         return categoryMapper.toCategoryResponseDTO(category);
     }
 
@@ -45,11 +112,22 @@ public class CategoryService {
         if(id == null || id <= 0){
             throw new RuntimeException("The id is invalid");
         }
-        Category category = categoryRepository.findById(id)
+        Category category = categoryCache.findById(id)
                 .orElseThrow(() -> new RuntimeException("Category not found with id: " + id));
         return categoryMapper.toCategoryResponseDTO(category);
     }
 
+    //Strong ETag of one category, from its @Version, so it holds across restarts and instances
+    public String getCategoryETag(CategoryResponseDto category){
+        return "\"category-" + category.getId() + "-" + category.getVersion() + "\"";
+    }
+
+    //Strong ETag of every category listing, null while a write is unsettled; see CollectionVersions
+    public String getCategoriesETag(CategoryQueryDto categoryQueryDto){
+        return collectionVersions.categoriesETag();
+    }
+
+    @Transactional
     public CategoryResponseDto updateCategory(Long id, CategoryUpdateDto categoryUpdateDto){
         if(id == null || id <= 0){
             throw new RuntimeException("The id is invalid");
@@ -58,31 +136,115 @@ public class CategoryService {
                 .orElseThrow(() -> new RuntimeException("Category not found with id: " + id));
         categoryMapper.updateFromDto(categoryUpdateDto, category);
         Category updatedCategory = categoryRepository.save(category);
+        changeRecorder.categoryUpdated(id);
+        categoryCache.evict(id);
+        cacheInvalidationBus.categoryChanged(id);
         return categoryMapper.toCategoryResponseDTO(updatedCategory);
     }
 
+    @Transactional
     public void deleteCategory(Long id){
+        deleteCategory(id, CategoryDeletePolicy.REJECT, null);
+    }
+
+    //Every step is one statement whatever the number of tasks: REJECT leaves the check to the task foreign key,
+    //CASCADE and REASSIGN read the tasks' keys, then delete or move them with one bulk statement before the category goes
+    @Transactional
+    public void deleteCategory(Long id, CategoryDeletePolicy policy, Long reassignTo){
         if(id == null || id <= 0){
             throw new RuntimeException("The id is invalid");
         }
-        Category category = categoryRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Category not found with id: " + id));
+        if(policy == CategoryDeletePolicy.CASCADE){
+            // the keys feed the search index, the stream subscribers and the other instances, the rows go with one DELETE
+            List<TaskStatusKey> keys = taskRepository.findStatusKeysByCategoryId(id);
+            changeRecorder.tasksOfCategory(id, ChangeEvent.Operation.DELETED);
+            if(taskRepository.deleteAllByCategoryId(id) > 0){
+                List<TaskChange> changes = new ArrayList<>();
+                for(TaskStatusKey key : keys){
+                    taskSearchIndex.remove(key.getId());
+                    taskUpdateBroadcaster.deleted(key.getId(), id);
+                    changes.add(TaskChange.deleted(key.getId(), id, key.getStatus()));
+                }
+                cacheInvalidationBus.tasksChanged(changes);
+            }
+        }
+        else if(policy == CategoryDeletePolicy.REASSIGN){
+            if(reassignTo == null || reassignTo.equals(id)){
+                throw new RuntimeException("reassignTo must be the id of another category");
+            }
+            categoryCache.findById(reassignTo)
+                    .orElseThrow(() -> new RuntimeException("Category not found with id: " + reassignTo));
+            List<TaskStatusKey> keys = taskRepository.findStatusKeysByCategoryId(id);
+            changeRecorder.tasksOfCategory(id, ChangeEvent.Operation.UPDATED);
+            if(taskRepository.reassignCategory(id, reassignTo, Instant.now()) > 0){
+                categoryTaskCounts.reassigned(id, reassignTo);
+                if(taskUpdateBroadcaster.hasSubscribers()){
+                    taskRepository.findByIdIn(keys.stream().map(TaskStatusKey::getId).toList())
+                            .forEach(task -> taskUpdateBroadcaster.updated(id, task));
+                }
+                cacheInvalidationBus.tasksChanged(keys.stream()
+                        .map(key -> TaskChange.moved(key.getId(), id, reassignTo, key.getStatus())).toList());
+            }
+        }
+
+        int deleted;
+        try{
+            deleted = categoryRepository.deleteCategoryById(id);
+        }catch(DataIntegrityViolationException exception){
+            long tasks = taskRepository.countByCategoryId(id);
+            throw new ResourceConflictException("Category " + id + " still has " + tasks
+                    + " tasks, delete it with onTasks=cascade or onTasks=reassign&reassignTo=<category id>");
+        }
+        if(deleted == 0){
+            throw new ResourceNotFoundException("Category not found with id: " + id);
+        }
+        changeRecorder.categoryDeleted(id);
+        categoryCache.evict(id);
+        categoryTaskCounts.removeCategory(id);
+        cacheInvalidationBus.categoryDeleted(id);
+    }
 
-        categoryRepository.deleteById(id);
+    public CacheStatsDto getCacheStats(){
+        return categoryCache.stats();
+    }
+
+    //Hibernate second-level cache regions: the category entities and the first-page query results
+    public List<CacheRegionStatsDto> getCacheRegionStats(){
+        return secondLevelCacheStats.regions();
     }
 
     //Default pageSize is 20 (pageAble)
     //If search query is empty, this method will take all categories with pagination
+    //withStats adds the task counts of each category on the page, see CategoryTaskCounts
     public PagedResponseDto<CategoryResponseDto> getCategories(CategoryQueryDto categoryQueryDto){
+        PagedResponseDto<CategoryResponseDto> categories = listCategories(categoryQueryDto);
+        if(Boolean.TRUE.equals(categoryQueryDto.getWithStats()) && categories.getItems() != null){
+            Map<Long, Map<TaskStatus, Long>> counts = categoryTaskCounts.countsOf(
+                    categories.getItems().stream().map(CategoryResponseDto::getId).toList());
+            categories.getItems().forEach(category -> category.setTaskStats(CategoryStatsDto.of(counts.get(category.getId()))));
+        }
+        return categories;
+    }
+
+    private PagedResponseDto<CategoryResponseDto> listCategories(CategoryQueryDto categoryQueryDto){
         String search = categoryQueryDto.getSearch();
         String sortOrder = categoryQueryDto.getSortOrder();
         String sortBy = categoryQueryDto.getSortBy();
         Sort sort = Sort.by(new Sort.Order(Sort.Direction.fromString(sortOrder), sortBy));
+        if("keyset".equalsIgnoreCase(categoryQueryDto.getPaging())){
+            return getCategoriesAfter(search, sort, categoryQueryDto.getAfter(), categoryQueryDto.getPageSize());
+        }
 
         Pageable pageable = PageRequest.of(categoryQueryDto.getPage(), categoryQueryDto.getPageSize(), sort);
+        CountMode countMode = CountMode.from(categoryQueryDto.getCount());
+        if(countMode != CountMode.EXACT){
+            return getCategoriesSlice(search, pageable, countMode);
+        }
         Page<Category> categoryPage;
         if(search.isEmpty()){
-            categoryPage = categoryRepository.findAll(pageable);
+            categoryPage = pageable.getPageNumber() == 0
+                    ? categoryRepository.findFirstPage(pageable)
+                    : categoryRepository.findAll(pageable);
         }
         else{
             categoryPage = categoryRepository.findCategoryByName(search, pageable);
@@ -95,7 +257,43 @@ public class CategoryService {
                 result,
                 categoryPage.getNumber(),
                 categoryPage.getTotalPages(),
-                categoryPage.getTotalElements()
+                categoryPage.getTotalElements(),
+                CountMode.EXACT.value()
         );
     };
+
+    private PagedResponseDto<CategoryResponseDto> getCategoriesSlice(String search, Pageable pageable, CountMode countMode){
+        boolean unfiltered = search == null || search.isEmpty();
+        Slice<Category> categorySlice = unfiltered
+                ? categoryRepository.findSliceBy(pageable)
+                : categoryRepository.findSliceByName(search, pageable);
+        List<CategoryResponseDto> result = categorySlice.map(categoryMapper::toCategoryResponseDTO).getContent();
+        if(countMode == CountMode.NONE){
+            return new PagedResponseDto<>(result, categorySlice.getNumber(), categorySlice.hasNext());
+        }
+        long estimate = countEstimator.estimate(unfiltered ? "category" : "category:" + search,
+                () -> unfiltered ? categoryRepository.count() : categoryRepository.countByName(search));
+        long seen = pageable.getOffset() + result.size() + (categorySlice.hasNext() ? 1 : 0);
+        long totalItems = Math.max(estimate, seen);
+        return new PagedResponseDto<>(
+                result,
+                categorySlice.getNumber(),
+                (int) ((totalItems + pageable.getPageSize() - 1) / pageable.getPageSize()),
+                totalItems,
+                CountMode.ESTIMATE.value()
+        );
+    }
+
+    private PagedResponseDto<CategoryResponseDto> getCategoriesAfter(String search, Sort sort, String after, int pageSize){
+        KeysetScrollPosition position = keysetCursorCodec.positionAfter(after, sort, Category.class);
+        Window<Category> categoryWindow;
+        if(search == null || search.isEmpty()){
+            categoryWindow = categoryRepository.findAllBy(position, sort, Limit.of(pageSize));
+        }
+        else{
+            categoryWindow = categoryRepository.findCategoryByName(search, position, sort, Limit.of(pageSize));
+        }
+        List<CategoryResponseDto> result = categoryWindow.map(categoryMapper::toCategoryResponseDTO).getContent();
+        return new PagedResponseDto<>(result, keysetCursorCodec.nextCursor(categoryWindow, sort));
+    }
 }
@@ -0,0 +1,165 @@
+package com.ltphat.task_management.application.services;
+
+import com.ltphat.task_management.application.dtos.change.ChangeDto;
+import com.ltphat.task_management.application.dtos.change.ChangesResponseDto;
+import com.ltphat.task_management.application.mappers.CategoryMapper;
+import com.ltphat.task_management.application.mappers.TaskMapper;
+import com.ltphat.task_management.domain.model.Category;
+import com.ltphat.task_management.domain.model.ChangeEvent;
+import com.ltphat.task_management.domain.model.Task;
+import com.ltphat.task_management.domain.repository.CategoryRepository;
+import com.ltphat.task_management.domain.repository.ChangeEventRepository;
+import com.ltphat.task_management.domain.repository.TaskRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Read side of the change feed: the change_event rows after a consumer's sequence, in the order ChangeSequencer
+ * numbered them at commit, each with the current
+ * state of its task or category. A batch costs three queries (events, tasks with their category, categories)
+ * whatever the size of the data set, so a consumer syncs in O(changes) instead of re-reading /tasks.
+ * A long poll that finds nothing is parked without a thread; one scheduled check of the latest sequence wakes
+ * the parked polls it concerns, whichever instance wrote the change.
+ */
+@Service
+@Slf4j
+public class ChangeFeedService {
+
+    @Autowired
+    private ChangeEventRepository changeEventRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TaskMapper taskMapper;
+
+    @Autowired
+    private CategoryMapper categoryMapper;
+
+    @Autowired
+    @Qualifier("taskQueryScheduler")
+    private Scheduler taskQueryScheduler;
+
+    @Value("${app.changes.max-batch:500}")
+    private int maxBatch = 500;
+
+    @Value("${app.changes.max-wait:30s}")
+    private Duration maxWait = Duration.ofSeconds(30);
+
+    @Value("${app.changes.max-waiters:1000}")
+    private int maxWaiters = 1000;
+
+    @Value("${app.changes.retention:7d}")
+    private Duration retention = Duration.ofDays(7);
+
+    private final Set<Waiter> waiters = ConcurrentHashMap.newKeySet();
+
+    public ChangesResponseDto getChanges(long since, int limit) {
+        int size = Math.min(Math.max(limit, 1), maxBatch);
+        List<ChangeEvent> events = changeEventRepository.findBySeqGreaterThanOrderBySeq(since, Limit.of(size));
+        if (events.isEmpty()) {
+            return new ChangesResponseDto(List.of(), since);
+        }
+
+        Set<Long> taskIds = new HashSet<>();
+        Set<Long> categoryIds = new HashSet<>();
+        for (ChangeEvent event : events) {
+            if (event.getOperation() != ChangeEvent.Operation.DELETED) {
+                (event.getEntity() == ChangeEvent.EntityType.TASK ? taskIds : categoryIds).add(event.getEntityId());
+            }
+        }
+        Map<Long, Task> tasks = taskIds.isEmpty() ? Map.of() : taskRepository.findByIdIn(taskIds).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        Map<Long, Category> categories = categoryIds.isEmpty() ? Map.of() : categoryRepository.findAllById(categoryIds).stream()
+                .collect(Collectors.toMap(Category::getId, Function.identity()));
+
+        List<ChangeDto> changes = new ArrayList<>(events.size());
+        for (ChangeEvent event : events) {
+            // a task updated here and deleted later has no state any more, its DELETED event follows
+            Task task = event.getEntity() == ChangeEvent.EntityType.TASK ? tasks.get(event.getEntityId()) : null;
+            Category category = event.getEntity() == ChangeEvent.EntityType.CATEGORY ? categories.get(event.getEntityId()) : null;
+            changes.add(new ChangeDto(event.getSeq(), event.getEntity().name(), event.getEntityId(),
+                    event.getOperation().name(), event.getOccurredAt(),
+                    task == null ? null : taskMapper.taskToTaskResponseDto(task),
+                    category == null ? null : categoryMapper.toCategoryResponseDTO(category)));
+        }
+        return new ChangesResponseDto(changes, events.get(events.size() - 1).getSeq());
+    }
+
+    // Completes at once when there are changes (or wait is zero), otherwise with the first changes to arrive
+    // within the wait, or empty when it runs out
+    public CompletableFuture<ChangesResponseDto> awaitChanges(long since, int limit, Duration wait) {
+        ChangesResponseDto changes = getChanges(since, limit);
+        Duration timeout = wait.compareTo(maxWait) > 0 ? maxWait : wait;
+        if (!changes.getChanges().isEmpty() || timeout.isNegative() || timeout.isZero() || waiters.size() >= maxWaiters) {
+            return CompletableFuture.completedFuture(changes);
+        }
+        CompletableFuture<ChangesResponseDto> result = new CompletableFuture<ChangesResponseDto>()
+                .completeOnTimeout(changes, timeout.toMillis(), TimeUnit.MILLISECONDS);
+        Waiter waiter = new Waiter(since, limit, result, new AtomicBoolean());
+        waiters.add(waiter);
+        result.whenComplete((value, error) -> waiters.remove(waiter));
+        return result;
+    }
+
+    @Scheduled(fixedDelayString = "${app.changes.poll-interval:250ms}")
+    public void wakeWaiters() {
+        if (waiters.isEmpty()) {
+            return;
+        }
+        long latest = changeEventRepository.findLatestSeq();
+        for (Waiter waiter : waiters) {
+            if (waiter.since() < latest && waiter.reading().compareAndSet(false, true)) {
+                taskQueryScheduler.schedule(() -> read(waiter));
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.changes.purge-interval:1h}")
+    public void purge() {
+        int purged = changeEventRepository.deleteOlderThan(Instant.now().minus(retention));
+        if (purged > 0) {
+            log.info("Purged {} change events older than {}", purged, retention);
+        }
+    }
+
+    private void read(Waiter waiter) {
+        try {
+            ChangesResponseDto changes = getChanges(waiter.since(), waiter.limit());
+            if (!changes.getChanges().isEmpty()) {
+                waiter.result().complete(changes);
+            }
+        } catch (RuntimeException exception) {
+            waiter.result().completeExceptionally(exception);
+        } finally {
+            waiter.reading().set(false);
+        }
+    }
+
+    private record Waiter(long since, int limit, CompletableFuture<ChangesResponseDto> result, AtomicBoolean reading) {
+    }
+}
@@ -0,0 +1,73 @@
+package com.ltphat.task_management.application.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.ltphat.task_management.application.dtos.task.TaskResponseDto;
+import com.ltphat.task_management.application.mappers.TaskMapper;
+import com.ltphat.task_management.application.transfer.CsvCodec;
+import com.ltphat.task_management.application.transfer.TaskFileFormat;
+import com.ltphat.task_management.domain.model.Task;
+import com.ltphat.task_management.domain.repository.TaskRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@Slf4j
+public class TaskExportService {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskMapper taskMapper;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    //Streams every task from a forward-only cursor; each row is written and detached, so heap use does not grow with the table
+    @Transactional(readOnly = true)
+    public long exportTasks(TaskFileFormat format, OutputStream outputStream) throws IOException {
+        long started = System.currentTimeMillis();
+        long rows = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        ObjectWriter json = objectMapper.writerFor(TaskResponseDto.class);
+        try (Stream<Task> tasks = taskRepository.streamAllWithCategory()) {
+            if (format == TaskFileFormat.CSV) {
+                writer.write(CsvCodec.formatRow(CsvCodec.TASK_HEADER));
+            }
+            Iterator<Task> iterator = tasks.iterator();
+            while (iterator.hasNext()) {
+                Task task = iterator.next();
+                if (format == TaskFileFormat.CSV) {
+                    writer.write(CsvCodec.formatRow(Arrays.asList(task.getId(), task.getName(), task.getDescription(),
+                            task.getStatus().getLabel(), task.getCategory().getId(), task.getCategory().getName())));
+                } else {
+                    writer.write(json.writeValueAsString(taskMapper.taskToTaskResponseDto(task)));
+                    writer.write('\n');
+                }
+                entityManager.detach(task);
+                rows++;
+            }
+        }
+        writer.flush();
+        log.info("Exported {} tasks as {} in {} ms", rows, format, System.currentTimeMillis() - started);
+        return rows;
+    }
+}
@@ -0,0 +1,217 @@
+package com.ltphat.task_management.application.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ltphat.task_management.application.cache.invalidation.CacheInvalidationBus;
+import com.ltphat.task_management.application.cache.invalidation.TaskChange;
+import com.ltphat.task_management.application.changes.ChangeRecorder;
+import com.ltphat.task_management.application.dtos.task.TaskImportRejectionDto;
+import com.ltphat.task_management.application.dtos.task.TaskImportResultDto;
+import com.ltphat.task_management.application.dtos.task.TaskRequestDto;
+import com.ltphat.task_management.application.mappers.TaskMapper;
+import com.ltphat.task_management.application.search.TaskSearchIndex;
+import com.ltphat.task_management.application.stream.TaskUpdateBroadcaster;
+import com.ltphat.task_management.application.stats.CategoryTaskCounts;
+import com.ltphat.task_management.application.transfer.TaskFileFormat;
+import com.ltphat.task_management.application.transfer.TaskRecordReader;
+import com.ltphat.task_management.domain.model.Category;
+import com.ltphat.task_management.domain.model.Task;
+import com.ltphat.task_management.domain.repository.CategoryRepository;
+import com.ltphat.task_management.domain.repository.TaskRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class TaskImportService {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TaskMapper taskMapper;
+
+    @Autowired
+    private TaskSearchIndex taskSearchIndex;
+
+    @Autowired
+    private CategoryTaskCounts categoryTaskCounts;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Autowired
+    private ChangeRecorder changeRecorder;
+
+    @Autowired
+    private TaskUpdateBroadcaster taskUpdateBroadcaster;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Rows per transaction; a failure loses at most this many rows of work
+    @Value("${app.tasks.import.commit-size:1000}")
+    private int commitSize = 1000;
+
+    // Longer records are rejected; bounds what a missing line break or an unclosed quote can buffer
+    @Value("${app.tasks.import.max-record-chars:65536}")
+    private int maxRecordChars = 65536;
+
+    @Value("${app.tasks.import.max-reported-rejections:1000}")
+    private int maxReportedRejections = 1000;
+
+    //Reads the upload record by record and commits every commitSize rows, so heap use does not depend on the file size.
+    //On failure it stops and reports the checkpoint; posting the same file again with resumeFrom=checkpoint continues there.
+    public TaskImportResultDto importTasks(TaskFileFormat format, InputStream inputStream, long resumeFrom) {
+        if (resumeFrom < 0) {
+            throw new RuntimeException("resumeFrom must not be negative");
+        }
+        long started = System.nanoTime();
+        TaskImportResultDto result = new TaskImportResultDto();
+        result.setFormat(format.getExtension());
+        result.setResumedFrom(resumeFrom);
+        result.setCheckpoint(resumeFrom);
+
+        // category id -> category, null when it does not exist; only ids seen in the file are looked up
+        Map<Long, Category> categories = new HashMap<>();
+        List<ImportRow> chunk = new ArrayList<>();
+        List<TaskImportRejectionDto> rejections = new ArrayList<>();
+        long row = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            TaskRecordReader records = new TaskRecordReader(format, reader, objectMapper, maxRecordChars);
+            String record;
+            while ((record = records.next()) != null) {
+                row++;
+                if (row <= resumeFrom) {
+                    continue;
+                }
+                result.setProcessed(result.getProcessed() + 1);
+                try {
+                    TaskRequestDto taskRequestDto = records.parse(record);
+                    String violations = validate(taskRequestDto);
+                    if (violations == null) {
+                        chunk.add(new ImportRow(row, taskRequestDto));
+                    } else {
+                        rejections.add(new TaskImportRejectionDto(row, violations));
+                    }
+                } catch (RuntimeException exception) {
+                    rejections.add(new TaskImportRejectionDto(row, exception.getMessage()));
+                }
+                if (row - result.getCheckpoint() >= commitSize) {
+                    commit(chunk, rejections, row, categories, result);
+                }
+            }
+            commit(chunk, rejections, row, categories, result);
+            result.setCompleted(true);
+        } catch (Exception exception) {
+            result.setError(exception.getMessage());
+            log.warn("Task import stopped after row {}, resume from {}: {}", row, result.getCheckpoint(), exception.getMessage());
+        }
+
+        long elapsedNanos = System.nanoTime() - started;
+        result.setElapsedMillis(elapsedNanos / 1_000_000);
+        result.setRowsPerSecond(elapsedNanos == 0 ? 0 : result.getProcessed() * 1_000_000_000.0 / elapsedNanos);
+        log.info("Imported {} tasks ({} rejected) from {} in {} ms, {} rows/s", result.getImported(), result.getRejected(),
+                format, result.getElapsedMillis(), Math.round(result.getRowsPerSecond()));
+        return result;
+    }
+
+    private String validate(TaskRequestDto taskRequestDto) {
+        Set<ConstraintViolation<TaskRequestDto>> violations = validator.validate(taskRequestDto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+    }
+
+    // One transaction per chunk; rejections and the checkpoint only count once the chunk is committed
+    private void commit(List<ImportRow> chunk, List<TaskImportRejectionDto> rejections, long lastRow,
+                        Map<Long, Category> categories, TaskImportResultDto result) {
+        if (lastRow == result.getCheckpoint()) {
+            return;
+        }
+        List<TaskImportRejectionDto> committedRejections = new ArrayList<>(rejections);
+        List<Task> saved = transactionTemplate.execute(status -> {
+            resolveCategories(chunk, categories);
+            List<Task> tasks = new ArrayList<>();
+            for (ImportRow importRow : chunk) {
+                Long categoryId = importRow.taskRequestDto().getCategoryId();
+                Category category = categories.get(categoryId);
+                if (category == null) {
+                    committedRejections.add(new TaskImportRejectionDto(importRow.row(), "Category not found with id: " + categoryId));
+                    continue;
+                }
+                Task task = taskMapper.taskRequestDtoToTask(importRow.taskRequestDto());
+                task.setCategory(category);
+                tasks.add(task);
+            }
+            List<Task> savedTasks = taskRepository.saveAll(tasks);
+            changeRecorder.tasksCreated(savedTasks.stream().map(Task::getId).toList());
+            cacheInvalidationBus.tasksChanged(savedTasks.stream().map(TaskChange::created).toList());
+            return savedTasks;
+        });
+
+        Objects.requireNonNull(saved).forEach(taskSearchIndex::index);
+        saved.forEach(categoryTaskCounts::added);
+        saved.forEach(taskUpdateBroadcaster::created);
+        committedRejections.sort(Comparator.comparingLong(TaskImportRejectionDto::getRow));
+        for (TaskImportRejectionDto rejection : committedRejections) {
+            if (result.getRejectedRows().size() < maxReportedRejections) {
+                result.getRejectedRows().add(rejection);
+            }
+        }
+        result.setImported(result.getImported() + saved.size());
+        result.setRejected(result.getRejected() + committedRejections.size());
+        result.setCheckpoint(lastRow);
+        // with open-in-view every chunk shares the request's persistence context; keep it from holding every imported task
+        entityManager.clear();
+        chunk.clear();
+        rejections.clear();
+    }
+
+    private void resolveCategories(List<ImportRow> chunk, Map<Long, Category> categories) {
+        Set<Long> unknown = chunk.stream()
+                .map(importRow -> importRow.taskRequestDto().getCategoryId())
+                .filter(categoryId -> !categories.containsKey(categoryId))
+                .collect(Collectors.toSet());
+        if (unknown.isEmpty()) {
+            return;
+        }
+        unknown.forEach(categoryId -> categories.put(categoryId, null));
+        categoryRepository.findAllById(unknown).forEach(category -> categories.put(category.getId(), category));
+    }
+
+    private record ImportRow(long row, TaskRequestDto taskRequestDto) {
+    }
+}
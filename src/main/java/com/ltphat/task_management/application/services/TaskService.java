@@ -1,23 +1,61 @@
 package com.ltphat.task_management.application.services;
 
+import com.ltphat.task_management.application.cache.CategoryCache;
+import com.ltphat.task_management.application.cache.CollectionVersions;
+import com.ltphat.task_management.application.cache.invalidation.CacheInvalidationBus;
+import com.ltphat.task_management.application.cache.invalidation.TaskChange;
+import com.ltphat.task_management.application.changes.ChangeRecorder;
+import com.ltphat.task_management.application.dtos.category.CategoryStatsDto;
+import com.ltphat.task_management.application.dtos.shared.BatchItemResultDto;
+import com.ltphat.task_management.application.dtos.shared.BatchResponseDto;
 import com.ltphat.task_management.application.dtos.shared.PagedResponseDto;
+import com.ltphat.task_management.application.dtos.task.TaskCategoryStatsDto;
+import com.ltphat.task_management.application.dtos.task.TaskDto;
+import com.ltphat.task_management.application.dtos.task.TaskPatchDto;
+import com.ltphat.task_management.application.dtos.task.TaskQueryDto;
 import com.ltphat.task_management.application.dtos.task.TaskRequestDto;
 import com.ltphat.task_management.application.dtos.task.TaskResponseDto;
+import com.ltphat.task_management.application.dtos.task.TaskStatsDto;
 import com.ltphat.task_management.application.mappers.TaskMapper;
+import com.ltphat.task_management.application.pagination.CountEstimator;
+import com.ltphat.task_management.application.pagination.CountMode;
+import com.ltphat.task_management.application.pagination.KeysetCursorCodec;
+import com.ltphat.task_management.application.search.SearchHits;
+import com.ltphat.task_management.application.search.TaskSearchIndex;
+import com.ltphat.task_management.application.stream.TaskUpdateBroadcaster;
+import com.ltphat.task_management.application.stats.CategoryTaskCounts;
 import com.ltphat.task_management.domain.model.Category;
 import com.ltphat.task_management.domain.model.Task;
+import com.ltphat.task_management.domain.model.TaskStatus;
 import com.ltphat.task_management.domain.repository.CategoryRepository;
 import com.ltphat.task_management.domain.repository.TaskRepository;
+import com.ltphat.task_management.domain.repository.TaskStatusKey;
+import com.ltphat.task_management.exception.ResourceNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 
-
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class TaskService {
@@ -25,12 +63,71 @@ public class TaskService {
     private TaskRepository taskRepository;
 
     @Autowired
-    private CategoryRepository categoryRepository;
+    private TaskMapper taskMapper;
 
     @Autowired
-    private TaskMapper taskMapper;
+    private KeysetCursorCodec keysetCursorCodec;
+
+    @Autowired
+    private CountEstimator countEstimator;
+
+    @Autowired
+    private TaskSearchIndex taskSearchIndex;
+
+    @Autowired
+    private CategoryTaskCounts categoryTaskCounts;
+
+    @Autowired
+    private CollectionVersions collectionVersions;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Autowired
+    private ChangeRecorder changeRecorder;
+
+    @Autowired
+    private TaskUpdateBroadcaster taskUpdateBroadcaster;
+
+    @Autowired
+    private CategoryCache categoryCache;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    // Rows flushed per JDBC batch round; keep equal to hibernate.jdbc.batch_size and the task_seq allocation size
+    @Value("${app.tasks.batch.chunk-size:50}")
+    private int batchChunkSize = 50;
+
+    @Value("${app.tasks.batch.max-items:5000}")
+    private int batchMaxItems = 5000;
+
+    //Strong ETag of every task listing, null while a write is unsettled; see CollectionVersions
+    public String getTasksETag() {
+        return collectionVersions.tasksETag();
+    }
 
-    public PagedResponseDto<TaskResponseDto> getAllTasks(String search, String sortBy, String sortOrder, int page, int size) {
+    public PagedResponseDto<TaskResponseDto> getAllTasks(TaskQueryDto taskQueryDto) {
+        TaskStatus status = TaskStatus.from(taskQueryDto.getStatus());
+        if ("keyset".equalsIgnoreCase(taskQueryDto.getPaging())) {
+            return getTasksAfter(taskQueryDto.getSearch(), status, taskQueryDto.getSortBy(), taskQueryDto.getSortOrder(),
+                    taskQueryDto.getAfter(), taskQueryDto.getSize());
+        }
+        String search = taskQueryDto.getSearch();
+        // the index knows nothing about status, a filtered search goes to the database, which matches the same tasks
+        if (search != null && !search.isEmpty() && status == null && taskSearchIndex.isReady()) {
+            return searchTasks(search, taskQueryDto.getPage(), taskQueryDto.getSize());
+        }
+        CountMode countMode = CountMode.from(taskQueryDto.getCount());
+        if (countMode != CountMode.EXACT) {
+            return getTasksSlice(taskQueryDto.getSearch(), status, taskQueryDto.getSortBy(), taskQueryDto.getSortOrder(),
+                    taskQueryDto.getPage(), taskQueryDto.getSize(), countMode);
+        }
+        return getAllTasks(taskQueryDto.getSearch(), status, taskQueryDto.getSortBy(), taskQueryDto.getSortOrder(),
+                taskQueryDto.getPage(), taskQueryDto.getSize());
+    }
+
+    public PagedResponseDto<TaskResponseDto> getAllTasks(String search, TaskStatus status, String sortBy, String sortOrder, int page, int size) {
         Sort sort = Sort.by(new Sort.Order(Sort.Direction.fromString(sortOrder), sortBy));
 
         Pageable pageable = PageRequest.of(page, size, sort);
@@ -38,9 +135,13 @@ public class TaskService {
         Page<Task> tasksPage;
 
         if (search == null || search.isEmpty()) {
-            tasksPage = taskRepository.findAll(pageable);
+            tasksPage = status == null
+                    ? taskRepository.findAll(pageable)
+                    : taskRepository.findByStatus(status, pageable);
         } else {
-            tasksPage = taskRepository.findByNameContainingIgnoreCase(search, pageable);
+            tasksPage = status == null
+                    ? taskRepository.findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(search, search, pageable)
+                    : taskRepository.findByNameContainingIgnoreCaseAndStatusOrDescriptionContainingIgnoreCaseAndStatus(search, status, search, status, pageable);
         }
 
         if (tasksPage == null) {
@@ -53,33 +154,356 @@ public class TaskService {
                 taskDtos,
                 tasksPage.getNumber(),
                 tasksPage.getTotalPages(),
-                tasksPage.getTotalElements()
+                tasksPage.getTotalElements(),
+                CountMode.EXACT.value()
+        );
+    }
+
+    //Searches name and description through the in-process index, ranked by relevance; the index knows the exact total
+    public PagedResponseDto<TaskResponseDto> searchTasks(String search, int page, int size) {
+        SearchHits hits = taskSearchIndex.search(search, page * size, size);
+
+        Map<Long, Task> tasksById = taskRepository.findByIdIn(hits.ids()).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        List<TaskResponseDto> taskDtos = hits.ids().stream()
+                .map(tasksById::get)
+                .filter(Objects::nonNull)
+                .map(taskMapper::taskToTaskResponseDto)
+                .toList();
+
+        return new PagedResponseDto<>(
+                taskDtos,
+                page,
+                (int) ((hits.total() + size - 1) / size),
+                hits.total(),
+                CountMode.EXACT.value()
+        );
+    }
+
+    //Offset paging without the per-page COUNT(*): "none" only reports hasNext, "estimate" reuses a cached total
+    public PagedResponseDto<TaskResponseDto> getTasksSlice(String search, TaskStatus status, String sortBy, String sortOrder, int page, int size, CountMode countMode) {
+        Sort sort = Sort.by(new Sort.Order(Sort.Direction.fromString(sortOrder), sortBy));
+
+        Pageable pageable = PageRequest.of(page, size, sort);
+
+        boolean unfiltered = search == null || search.isEmpty();
+        Slice<Task> tasksSlice;
+        if (unfiltered) {
+            tasksSlice = status == null
+                    ? taskRepository.findSliceBy(pageable)
+                    : taskRepository.findSliceByStatus(status, pageable);
+        } else {
+            tasksSlice = status == null
+                    ? taskRepository.findSliceByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(search, search, pageable)
+                    : taskRepository.findSliceByNameContainingIgnoreCaseAndStatusOrDescriptionContainingIgnoreCaseAndStatus(search, status, search, status, pageable);
+        }
+
+        List<TaskResponseDto> taskDtos = tasksSlice.map(taskMapper::taskToTaskResponseDto).getContent();
+
+        if (countMode == CountMode.NONE) {
+            return new PagedResponseDto<>(taskDtos, tasksSlice.getNumber(), tasksSlice.hasNext());
+        }
+
+        String key = (unfiltered ? "task" : "task:" + search.toLowerCase()) + (status == null ? "" : "|" + status.name());
+        long estimate = countEstimator.estimate(key, () -> {
+            if (unfiltered) {
+                return status == null ? taskRepository.count() : taskRepository.countByStatus(status);
+            }
+            return status == null
+                    ? taskRepository.countByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(search, search)
+                    : taskRepository.countByNameContainingIgnoreCaseAndStatusOrDescriptionContainingIgnoreCaseAndStatus(search, status, search, status);
+        });
+        // the page itself proves a lower bound when rows were added after the total was cached
+        long seen = pageable.getOffset() + taskDtos.size() + (tasksSlice.hasNext() ? 1 : 0);
+        long totalItems = Math.max(estimate, seen);
+
+        return new PagedResponseDto<>(
+                taskDtos,
+                tasksSlice.getNumber(),
+                (int) ((totalItems + size - 1) / size),
+                totalItems,
+                CountMode.ESTIMATE.value()
         );
     }
 
+    //Keyset pagination: "after" is the nextCursor of the previous page, empty for the first page
+    public PagedResponseDto<TaskResponseDto> getTasksAfter(String search, TaskStatus status, String sortBy, String sortOrder, String after, int size) {
+        Sort sort = Sort.by(new Sort.Order(Sort.Direction.fromString(sortOrder), sortBy));
+        KeysetScrollPosition position = keysetCursorCodec.positionAfter(after, sort, Task.class);
+
+        Window<Task> tasksWindow;
+
+        if (search == null || search.isEmpty()) {
+            tasksWindow = status == null
+                    ? taskRepository.findAllBy(position, sort, Limit.of(size))
+                    : taskRepository.findByStatus(status, position, sort, Limit.of(size));
+        } else {
+            tasksWindow = status == null
+                    ? taskRepository.findByNameOrDescriptionContainingIgnoreCase(search, position, sort, Limit.of(size))
+                    : taskRepository.findByNameOrDescriptionContainingIgnoreCaseAndStatus(search, status, position, sort, Limit.of(size));
+        }
+
+        List<TaskResponseDto> taskDtos = tasksWindow.map(taskMapper::taskToTaskResponseDto).getContent();
+
+        return new PagedResponseDto<>(taskDtos, keysetCursorCodec.nextCursor(tasksWindow, sort));
+    }
+
+    //Counts per status and per category, zero-filled so every status is present; see CategoryTaskCounts
+    public TaskStatsDto getTaskStats() {
+        Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+        List<TaskCategoryStatsDto> categories = new ArrayList<>();
+        categoryTaskCounts.all().forEach((categoryId, counts) -> {
+            counts.forEach((status, count) -> byStatus.merge(status, count, Long::sum));
+            CategoryStatsDto stats = CategoryStatsDto.of(counts);
+            categories.add(new TaskCategoryStatsDto(categoryId, stats.getTotal(), stats.getByStatus()));
+        });
+        CategoryStatsDto overall = CategoryStatsDto.of(byStatus);
+        return new TaskStatsDto(overall.getTotal(), overall.getByStatus(), categories);
+    }
+
+    //The task and its change_event row commit together
+    @Transactional
     public TaskResponseDto createTask(TaskRequestDto taskRequestDto) {
-        Category category = categoryRepository.findById(taskRequestDto.getCategoryId()).
+        Category category = categoryCache.findById(taskRequestDto.getCategoryId()).
                     orElseThrow(()-> new RuntimeException("Category not found with id: " + taskRequestDto.getCategoryId()));
         Task task = taskMapper.taskRequestDtoToTask(taskRequestDto);
         task.setCategory(category);
         task = taskRepository.save(task);
+        changeRecorder.taskCreated(task.getId());
+        taskUpdateBroadcaster.created(task);
+        taskSearchIndex.index(task);
+        categoryTaskCounts.added(task);
+        cacheInvalidationBus.taskChanged(TaskChange.created(task));
         return taskMapper.taskToTaskResponseDto(task);
     }
 
+    @Transactional
     public TaskResponseDto updateTask(Long id, TaskRequestDto taskRequestDto) {
         Task task = taskRepository.findById(id).orElseThrow(() -> new RuntimeException("Task not found"));
-        Category category = categoryRepository.findById(taskRequestDto.getCategoryId()).
+        Category category = categoryCache.findById(taskRequestDto.getCategoryId()).
                 orElseThrow(()-> new RuntimeException("Category not found with id: " + taskRequestDto.getCategoryId()));
+        Long previousCategoryId = task.getCategory().getId();
+        TaskStatus previousStatus = task.getStatus();
 
         task.setName(taskRequestDto.getName());
         task.setDescription(taskRequestDto.getDescription());
-        task.setStatus(taskRequestDto.getStatus());
+        if (taskRequestDto.getStatus() != null) {
+            task.setStatus(taskRequestDto.getStatus());
+        }
         task.setCategory(category);
         task = taskRepository.save(task);
+        changeRecorder.taskUpdated(task.getId());
+        taskUpdateBroadcaster.updated(previousCategoryId, task);
+        taskSearchIndex.index(task);
+        categoryTaskCounts.moved(previousCategoryId, previousStatus, task);
+        cacheInvalidationBus.taskChanged(TaskChange.updated(previousCategoryId, previousStatus, task));
         return taskMapper.taskToTaskResponseDto(task);
     }
 
+    //Partial update against the version the client read: one read with the category, one UPDATE ... WHERE version = ?
+    //The category is only looked up when it changes; a stale version fails with 409 instead of overwriting
+    @Transactional
+    public TaskResponseDto patchTask(Long id, TaskPatchDto taskPatchDto) {
+        Task task = taskRepository.findWithCategoryById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
+        if (!task.getVersion().equals(taskPatchDto.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Task.class, id);
+        }
+        Long previousCategoryId = task.getCategory().getId();
+        TaskStatus previousStatus = task.getStatus();
+        Category category = null;
+        if (taskPatchDto.getCategoryId() != null && !taskPatchDto.getCategoryId().equals(previousCategoryId)) {
+            category = categoryCache.findById(taskPatchDto.getCategoryId()).
+                    orElseThrow(()-> new ResourceNotFoundException("Category not found with id: " + taskPatchDto.getCategoryId()));
+        }
+
+        int updated = taskRepository.patch(id, taskPatchDto.getVersion(), taskPatchDto.getName(), taskPatchDto.getDescription(),
+                taskPatchDto.getStatus(), category == null ? null : category.getId(), Instant.now());
+        if (updated == 0) {
+            // changed or deleted since it was read above
+            throw new ObjectOptimisticLockingFailureException(Task.class, id);
+        }
+
+        // the update cleared the persistence context, so the loaded task is detached and now mirrors the new row
+        if (taskPatchDto.getName() != null) {
+            task.setName(taskPatchDto.getName());
+        }
+        if (taskPatchDto.getDescription() != null) {
+            task.setDescription(taskPatchDto.getDescription());
+        }
+        if (taskPatchDto.getStatus() != null) {
+            task.setStatus(taskPatchDto.getStatus());
+        }
+        if (category != null) {
+            task.setCategory(category);
+        }
+        task.setVersion(task.getVersion() + 1);
+        changeRecorder.taskUpdated(id);
+        taskUpdateBroadcaster.updated(previousCategoryId, task);
+        taskSearchIndex.index(task);
+        categoryTaskCounts.moved(previousCategoryId, previousStatus, task);
+        cacheInvalidationBus.taskChanged(TaskChange.updated(previousCategoryId, previousStatus, task));
+        return taskMapper.taskToTaskResponseDto(task);
+    }
+
+    //One DELETE, 404 when it matched no row; the task's category and status are read first only to move the counts
+    @Transactional
     public void deleteTask(Long id) {
-        taskRepository.deleteById(id);
+        List<TaskStatusKey> keys = categoryTaskCounts.isEnabled() ? taskRepository.findStatusKeys(List.of(id)) : List.of();
+        if (taskRepository.deleteTaskById(id) == 0) {
+            throw new ResourceNotFoundException("Task not found with id: " + id);
+        }
+        changeRecorder.taskDeleted(id);
+        taskUpdateBroadcaster.deleted(id, keys.isEmpty() ? null : keys.get(0).getCategoryId());
+        keys.forEach(key -> categoryTaskCounts.removed(key.getCategoryId(), key.getStatus()));
+        taskSearchIndex.remove(id);
+        cacheInvalidationBus.taskChanged(keys.isEmpty() ? TaskChange.deleted(id, null, null)
+                : TaskChange.deleted(id, keys.get(0).getCategoryId(), keys.get(0).getStatus()));
+    }
+
+    //Bulk create: one category query for the whole batch, inserts flushed in JDBC batches, one result per item
+    @Transactional
+    public BatchResponseDto createTasks(List<TaskRequestDto> taskRequestDtos) {
+        checkBatchSize(taskRequestDtos);
+        Map<Long, Category> categories = findCategories(taskRequestDtos.stream().map(TaskRequestDto::getCategoryId).toList());
+
+        List<BatchItemResultDto> results = new ArrayList<>(Collections.nCopies(taskRequestDtos.size(), null));
+        List<Task> pending = new ArrayList<>();
+        List<Integer> pendingIndexes = new ArrayList<>();
+        for (int i = 0; i < taskRequestDtos.size(); i++) {
+            TaskRequestDto taskRequestDto = taskRequestDtos.get(i);
+            Category category = categories.get(taskRequestDto.getCategoryId());
+            if (category == null) {
+                results.set(i, BatchItemResultDto.failed(i, null, "Category not found with id: " + taskRequestDto.getCategoryId()));
+                continue;
+            }
+            Task task = taskMapper.taskRequestDtoToTask(taskRequestDto);
+            task.setCategory(category);
+            pending.add(task);
+            pendingIndexes.add(i);
+        }
+
+        saveInChunks(pending);
+        changeRecorder.tasksCreated(pending.stream().map(Task::getId).toList());
+        pending.forEach(taskUpdateBroadcaster::created);
+        for (int i = 0; i < pending.size(); i++) {
+            Task task = pending.get(i);
+            taskSearchIndex.index(task);
+            categoryTaskCounts.added(task);
+            results.set(pendingIndexes.get(i), BatchItemResultDto.success(pendingIndexes.get(i), task.getId(), "created"));
+        }
+        cacheInvalidationBus.tasksChanged(pending.stream().map(TaskChange::created).toList());
+        return new BatchResponseDto(results);
+    }
+
+    //Bulk update: tasks and categories are each loaded with one query, dirty tasks are flushed as batched UPDATEs
+    @Transactional
+    public BatchResponseDto updateTasks(List<TaskDto> taskDtos) {
+        checkBatchSize(taskDtos);
+        Map<Long, Task> tasks = taskRepository.findByIdIn(taskDtos.stream().map(TaskDto::getId).filter(Objects::nonNull).toList())
+                .stream().collect(Collectors.toMap(Task::getId, Function.identity()));
+        Map<Long, Category> categories = findCategories(taskDtos.stream().map(TaskDto::getCategoryId).toList());
+
+        List<BatchItemResultDto> results = new ArrayList<>();
+        List<Task> updated = new ArrayList<>();
+        List<Long> previousCategoryIds = new ArrayList<>();
+        List<TaskStatus> previousStatuses = new ArrayList<>();
+        Set<Long> updatedIds = new HashSet<>();
+        for (int i = 0; i < taskDtos.size(); i++) {
+            TaskDto taskDto = taskDtos.get(i);
+            Task task = tasks.get(taskDto.getId());
+            Category category = categories.get(taskDto.getCategoryId());
+            if (task == null) {
+                results.add(BatchItemResultDto.failed(i, taskDto.getId(), "Task not found with id: " + taskDto.getId()));
+                continue;
+            }
+            if (category == null) {
+                results.add(BatchItemResultDto.failed(i, taskDto.getId(), "Category not found with id: " + taskDto.getCategoryId()));
+                continue;
+            }
+            // a second entry would take the first one's target for the previous category and status
+            if (!updatedIds.add(task.getId())) {
+                results.add(BatchItemResultDto.failed(i, taskDto.getId(), "Duplicate id in batch: " + taskDto.getId()));
+                continue;
+            }
+            previousCategoryIds.add(task.getCategory().getId());
+            previousStatuses.add(task.getStatus());
+            task.setName(taskDto.getName());
+            task.setDescription(taskDto.getDescription());
+            if (taskDto.getStatus() != null) {
+                task.setStatus(taskDto.getStatus());
+            }
+            task.setCategory(category);
+            updated.add(task);
+            results.add(BatchItemResultDto.success(i, task.getId(), "updated"));
+        }
+
+        saveInChunks(updated);
+        changeRecorder.tasksUpdated(updated.stream().map(Task::getId).toList());
+        updated.forEach(taskSearchIndex::index);
+        List<TaskChange> changes = new ArrayList<>();
+        for (int i = 0; i < updated.size(); i++) {
+            taskUpdateBroadcaster.updated(previousCategoryIds.get(i), updated.get(i));
+            categoryTaskCounts.moved(previousCategoryIds.get(i), previousStatuses.get(i), updated.get(i));
+            changes.add(TaskChange.updated(previousCategoryIds.get(i), previousStatuses.get(i), updated.get(i)));
+        }
+        cacheInvalidationBus.tasksChanged(changes);
+        return new BatchResponseDto(results);
+    }
+
+    //Bulk delete: existing ids are resolved with one query, then removed with one DELETE ... WHERE id IN per chunk
+    @Transactional
+    public BatchResponseDto deleteTasks(List<Long> ids) {
+        checkBatchSize(ids);
+        Map<Long, TaskStatusKey> existing = taskRepository.findStatusKeys(ids.stream().filter(Objects::nonNull).toList()).stream()
+                .collect(Collectors.toMap(TaskStatusKey::getId, Function.identity()));
+
+        List<BatchItemResultDto> results = new ArrayList<>();
+        List<Long> toDelete = new ArrayList<>();
+        List<TaskChange> changes = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            TaskStatusKey key = existing.remove(id);
+            if (key != null) {
+                toDelete.add(id);
+                changes.add(TaskChange.deleted(id, key.getCategoryId(), key.getStatus()));
+                categoryTaskCounts.removed(key.getCategoryId(), key.getStatus());
+                taskUpdateBroadcaster.deleted(id, key.getCategoryId());
+                results.add(BatchItemResultDto.success(i, id, "deleted"));
+            } else {
+                results.add(BatchItemResultDto.failed(i, id, "Task not found with id: " + id));
+            }
+        }
+
+        changeRecorder.tasksDeleted(toDelete);
+        int chunkSize = Math.max(1, batchChunkSize);
+        for (int from = 0; from < toDelete.size(); from += chunkSize) {
+            taskRepository.deleteAllByIdInBatch(toDelete.subList(from, Math.min(from + chunkSize, toDelete.size())));
+        }
+        toDelete.forEach(taskSearchIndex::remove);
+        cacheInvalidationBus.tasksChanged(changes);
+        return new BatchResponseDto(results);
+    }
+
+    private void checkBatchSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new RuntimeException("The batch is empty");
+        }
+        if (items.size() > batchMaxItems) {
+            throw new RuntimeException("The batch has " + items.size() + " items, the limit is " + batchMaxItems);
+        }
+    }
+
+    private Map<Long, Category> findCategories(List<Long> categoryIds) {
+        Set<Long> distinctIds = categoryIds.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        return categoryRepository.findAllById(distinctIds).stream()
+                .collect(Collectors.toMap(Category::getId, Function.identity()));
+    }
+
+    private void saveInChunks(List<Task> tasks) {
+        int chunkSize = Math.max(1, batchChunkSize);
+        for (int from = 0; from < tasks.size(); from += chunkSize) {
+            taskRepository.saveAllAndFlush(tasks.subList(from, Math.min(from + chunkSize, tasks.size())));
+        }
     }
 }
@@ -0,0 +1,71 @@
+package com.ltphat.task_management.application.services;
+
+import com.ltphat.task_management.application.dtos.task.TaskResponseDto;
+import com.ltphat.task_management.application.mappers.TaskMapper;
+import com.ltphat.task_management.domain.model.Task;
+import com.ltphat.task_management.domain.model.TaskStatus;
+import com.ltphat.task_management.domain.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.SynchronousSink;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Non-blocking read path for task listings.
+ * The result is a Flux that pulls keyset pages from the repository only when the subscriber asks for more rows,
+ * so a slow client holds neither a request thread nor a connection while it reads. The blocking page queries run
+ * on the bounded taskQueryScheduler.
+ */
+@Service
+public class TaskStreamService {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskMapper taskMapper;
+
+    @Autowired
+    @Qualifier("taskQueryScheduler")
+    private Scheduler taskQueryScheduler;
+
+    @Value("${app.tasks.stream.page-size:500}")
+    private int pageSize = 500;
+
+    public Flux<TaskResponseDto> streamTasks(String search, TaskStatus status, String sortBy, String sortOrder) {
+        Sort sort = Sort.by(new Sort.Order(Sort.Direction.fromString(sortOrder), sortBy));
+        boolean unfiltered = search == null || search.isEmpty();
+
+        // one keyset page per demand signal; the position of its last row seeds the next query
+        Flux<Window<Task>> pages = Flux.generate(ScrollPosition::keyset, (ScrollPosition position, SynchronousSink<Window<Task>> sink) -> {
+            Window<Task> window;
+            if (unfiltered) {
+                window = status == null
+                        ? taskRepository.findAllBy(position, sort, Limit.of(pageSize))
+                        : taskRepository.findByStatus(status, position, sort, Limit.of(pageSize));
+            } else {
+                window = status == null
+                        ? taskRepository.findByNameOrDescriptionContainingIgnoreCase(search, position, sort, Limit.of(pageSize))
+                        : taskRepository.findByNameOrDescriptionContainingIgnoreCaseAndStatus(search, status, position, sort, Limit.of(pageSize));
+            }
+            sink.next(window);
+            if (window.isEmpty() || !window.hasNext()) {
+                sink.complete();
+                return position;
+            }
+            return window.positionAt(window.size() - 1);
+        });
+
+        // prefetch 1: never read a page ahead of the one the subscriber is consuming
+        return pages
+                .flatMapIterable(window -> window.map(taskMapper::taskToTaskResponseDto).getContent(), 1)
+                .subscribeOn(taskQueryScheduler);
+    }
+}
@@ -0,0 +1,214 @@
+package com.ltphat.task_management.application.stats;
+
+import com.ltphat.task_management.application.transaction.AfterCommit;
+import com.ltphat.task_management.domain.model.Task;
+import com.ltphat.task_management.domain.model.TaskStatus;
+import com.ltphat.task_management.domain.repository.TaskRepository;
+import com.ltphat.task_management.domain.repository.TaskStatusCount;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Task counts per category and status, kept in memory so category listings can show them without reading tasks.
+ * Rebuilt at startup from the (category_id, status) index, then moved by every task write in TaskService and
+ * TaskImportService, and by the task events of other instances. A change made inside a transaction is applied after it commits, so a rollback cannot skew
+ * the counts. Until the rebuild finished, or when disabled, counts come from a grouped query instead.
+ * A rebuild fills a new map and swaps it in; the changes applied while it scanned are replayed on the new map first.
+ */
+@Component
+@Slf4j
+public class CategoryTaskCounts {
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private final TaskRepository taskRepository;
+    private final boolean enabled;
+
+    private volatile Map<Long, AtomicLongArray> counts = new ConcurrentHashMap<>();
+    // changes apply under the read lock, the swap of a rebuild takes the write lock
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // changes applied since the running rebuild started its scan; null when none is running
+    private Queue<Consumer<Map<Long, AtomicLongArray>>> changedDuringRebuild;
+    private volatile boolean ready;
+
+    public CategoryTaskCounts(TaskRepository taskRepository,
+                              @Value("${app.tasks.category-stats.enabled:true}") boolean enabled) {
+        this.taskRepository = taskRepository;
+        this.enabled = enabled;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Callers only need to know a deleted task's category and status while the counts are kept
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        Queue<Consumer<Map<Long, AtomicLongArray>>> changed = new ConcurrentLinkedQueue<>();
+        recordChanges(changed);
+        Map<Long, AtomicLongArray> rebuilt = new ConcurrentHashMap<>();
+        try {
+            for (TaskStatusCount count : taskRepository.countByCategoryAndStatus()) {
+                rebuilt.computeIfAbsent(count.getCategoryId(), id -> new AtomicLongArray(STATUSES.length))
+                        .addAndGet(count.getStatus().ordinal(), count.getTotal());
+            }
+        } catch (RuntimeException exception) {
+            recordChanges(null);
+            throw exception;
+        }
+        lock.writeLock().lock();
+        try {
+            // the scan may have missed what committed while it ran; no change can slip in between replay and swap
+            changed.forEach(change -> change.accept(rebuilt));
+            counts = rebuilt;
+            changedDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+        log.info("Category task counts built for {} categories in {} ms", rebuilt.size(), System.currentTimeMillis() - started);
+    }
+
+    public void added(Task task) {
+        added(task.getCategory().getId(), task.getStatus());
+    }
+
+    public void added(Long categoryId, TaskStatus status) {
+        change(categoryId, status, 1);
+    }
+
+    public void removed(Long categoryId, TaskStatus status) {
+        change(categoryId, status, -1);
+    }
+
+    // Called with the category and status the task had before the update
+    public void moved(Long previousCategoryId, TaskStatus previousStatus, Task task) {
+        if (Objects.equals(previousCategoryId, task.getCategory().getId()) && previousStatus == task.getStatus()) {
+            return;
+        }
+        removed(previousCategoryId, previousStatus);
+        added(task);
+    }
+
+    public void removeCategory(Long categoryId) {
+        if (enabled) {
+            AfterCommit.run(() -> apply(map -> map.remove(categoryId)));
+        }
+    }
+
+    // Every task of the category now belongs to the target
+    public void reassigned(Long categoryId, Long targetId) {
+        if (!enabled) {
+            return;
+        }
+        AfterCommit.run(() -> apply(map -> {
+            AtomicLongArray moved = map.remove(categoryId);
+            if (moved == null) {
+                return;
+            }
+            AtomicLongArray target = map.computeIfAbsent(targetId, id -> new AtomicLongArray(STATUSES.length));
+            for (int i = 0; i < STATUSES.length; i++) {
+                target.addAndGet(i, moved.get(i));
+            }
+        }));
+    }
+
+    // Counts of the given categories, every status present; a category without tasks gets zeros
+    public Map<Long, Map<TaskStatus, Long>> countsOf(Collection<Long> categoryIds) {
+        Map<Long, Map<TaskStatus, Long>> result = new HashMap<>();
+        if (categoryIds.isEmpty()) {
+            return result;
+        }
+        if (ready) {
+            for (Long categoryId : categoryIds) {
+                result.put(categoryId, toMap(counts.get(categoryId)));
+            }
+            return result;
+        }
+        categoryIds.forEach(categoryId -> result.put(categoryId, toMap(null)));
+        merge(result, taskRepository.countByCategoryAndStatus(categoryIds));
+        return result;
+    }
+
+    // Counts of every category that has tasks, in category id order
+    public Map<Long, Map<TaskStatus, Long>> all() {
+        Map<Long, Map<TaskStatus, Long>> result = new TreeMap<>();
+        if (ready) {
+            counts.forEach((categoryId, statusCounts) -> result.put(categoryId, toMap(statusCounts)));
+            result.values().removeIf(statusCounts -> statusCounts.values().stream().allMatch(count -> count == 0));
+            return result;
+        }
+        merge(result, taskRepository.countByCategoryAndStatus());
+        return result;
+    }
+
+    private void change(Long categoryId, TaskStatus status, long delta) {
+        if (!enabled || categoryId == null || status == null) {
+            return;
+        }
+        AfterCommit.run(() -> apply(map -> map.computeIfAbsent(categoryId, id -> new AtomicLongArray(STATUSES.length))
+                .addAndGet(status.ordinal(), delta)));
+    }
+
+    private void recordChanges(Queue<Consumer<Map<Long, AtomicLongArray>>> changed) {
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = changed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(Consumer<Map<Long, AtomicLongArray>> change) {
+        lock.readLock().lock();
+        try {
+            change.accept(counts);
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(change);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void merge(Map<Long, Map<TaskStatus, Long>> result, List<TaskStatusCount> statusCounts) {
+        for (TaskStatusCount count : statusCounts) {
+            result.computeIfAbsent(count.getCategoryId(), id -> toMap(null))
+                    .merge(count.getStatus(), count.getTotal(), Long::sum);
+        }
+    }
+
+    private static Map<TaskStatus, Long> toMap(AtomicLongArray statusCounts) {
+        Map<TaskStatus, Long> result = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : STATUSES) {
+            result.put(status, statusCounts == null ? 0L : statusCounts.get(status.ordinal()));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,115 @@
+package com.ltphat.task_management.application.stream;
+
+import com.ltphat.task_management.application.dtos.task.TaskResponseDto;
+import com.ltphat.task_management.application.mappers.TaskMapper;
+import com.ltphat.task_management.application.transaction.AfterCommit;
+import com.ltphat.task_management.domain.model.Task;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import reactor.core.Exceptions;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * One in-process fan-out of committed task changes to every GET /tasks/stream subscriber.
+ * A write is mapped once, emitted once its transaction has committed, and only while somebody listens.
+ * Each subscriber filters by category and has its own bounded buffer. A subscriber whose buffer fills up
+ * is sent a final "overflow" event and disconnected, so one slow client can neither hold memory nor slow
+ * the others. It reconnects and reloads from GET /tasks.
+ */
+@Component
+public class TaskUpdateBroadcaster {
+
+    private enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Sinks.Many<Update> sink = Sinks.many().multicast().directBestEffort();
+    private final TaskMapper taskMapper;
+    private final int bufferSize;
+    private final Duration heartbeat;
+    private final Counter dropped;
+
+    public TaskUpdateBroadcaster(TaskMapper taskMapper,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.tasks.sse.buffer-size:256}") int bufferSize,
+                                 @Value("${app.tasks.sse.heartbeat:15s}") Duration heartbeat) {
+        this.taskMapper = taskMapper;
+        this.bufferSize = bufferSize;
+        this.heartbeat = heartbeat;
+        this.dropped = Counter.builder("app.tasks.sse.dropped")
+                .description("Task stream subscribers disconnected because they fell behind")
+                .register(meterRegistry);
+        Gauge.builder("app.tasks.sse.subscribers", sink, Sinks.Many::currentSubscriberCount)
+                .description("Open GET /tasks/stream connections")
+                .register(meterRegistry);
+    }
+
+    public boolean hasSubscribers() {
+        return sink.currentSubscriberCount() > 0;
+    }
+
+    public void created(Task task) {
+        publish(Type.CREATED, null, task);
+    }
+
+    // Also reaches the subscribers of the category the task left, so they can drop it
+    public void updated(Long previousCategoryId, Task task) {
+        publish(Type.UPDATED, previousCategoryId, task);
+    }
+
+    // A null category reaches every subscriber, filtered or not
+    public void deleted(Long id, Long categoryId) {
+        if (!hasSubscribers()) {
+            return;
+        }
+        TaskResponseDto task = new TaskResponseDto();
+        task.setId(id);
+        AfterCommit.run(() -> emit(new Update(Type.DELETED, null, categoryId, task)));
+    }
+
+    public Flux<ServerSentEvent<TaskResponseDto>> subscribe(Long categoryId) {
+        Flux<ServerSentEvent<TaskResponseDto>> updates = sink.asFlux()
+                .filter(update -> categoryId == null || update.categoryId() == null || categoryId.equals(update.categoryId())
+                        || categoryId.equals(update.previousCategoryId()))
+                .map(update -> ServerSentEvent.builder(update.task()).event(update.type().name().toLowerCase(Locale.ROOT)).build());
+        // comments keep proxies from closing an idle stream and surface a client that went away
+        Flux<ServerSentEvent<TaskResponseDto>> heartbeats = Flux.interval(heartbeat)
+                .map(tick -> ServerSentEvent.<TaskResponseDto>builder().comment("heartbeat").build());
+        return Flux.merge(updates, heartbeats)
+                .onBackpressureBuffer(bufferSize, BufferOverflowStrategy.ERROR)
+                .onErrorResume(Exceptions::isOverflow, overflow -> {
+                    dropped.increment();
+                    return Flux.just(ServerSentEvent.<TaskResponseDto>builder().event("overflow").build());
+                })
+                .startWith(ServerSentEvent.<TaskResponseDto>builder().comment("connected").build());
+    }
+
+    private void publish(Type type, Long previousCategoryId, Task task) {
+        if (!hasSubscribers()) {
+            return;
+        }
+        // mapped now, while the category can still be loaded, and sent once the write is visible
+        TaskResponseDto dto = taskMapper.taskToTaskResponseDto(task);
+        Long categoryId = task.getCategory() == null ? null : task.getCategory().getId();
+        AfterCommit.run(() -> emit(new Update(type, previousCategoryId, categoryId, dto)));
+    }
+
+    // the sink takes one emission at a time; commits on many request threads go through here in turn
+    private synchronized void emit(Update update) {
+        sink.tryEmitNext(update);
+    }
+
+    private record Update(Type type, Long previousCategoryId, Long categoryId, TaskResponseDto task) {
+    }
+}
@@ -0,0 +1,68 @@
+package com.ltphat.task_management.application.transfer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 field quoting for the task CSV format; fields containing a quote, comma or line break are quoted.
+ */
+public final class CsvCodec {
+
+    public static final List<String> TASK_HEADER = List.of("id", "name", "description", "status", "categoryId", "categoryName");
+
+    private CsvCodec() {
+    }
+
+    public static String formatRow(List<?> values) {
+        StringBuilder row = new StringBuilder();
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                row.append(',');
+            }
+            Object value = values.get(i);
+            if (value != null) {
+                row.append(quote(value.toString()));
+            }
+        }
+        return row.append('\n').toString();
+    }
+
+    // Parses one complete record; a quoted field may contain commas, doubled quotes and line breaks
+    public static List<String> parseRow(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new RuntimeException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static String quote(String value) {
+        if (value.indexOf('"') < 0 && value.indexOf(',') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
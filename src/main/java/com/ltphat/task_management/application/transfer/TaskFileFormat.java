@@ -0,0 +1,38 @@
+package com.ltphat.task_management.application.transfer;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Line-oriented formats used to move tasks in and out in bulk: one task per line, so both sides can stream.
+ */
+public enum TaskFileFormat {
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+    CSV(new MediaType("text", "csv"), "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    TaskFileFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public static TaskFileFormat from(String value) {
+        if (value == null || value.isEmpty()) {
+            return NDJSON;
+        }
+        try {
+            return TaskFileFormat.valueOf(value.toUpperCase());
+        } catch (IllegalArgumentException exception) {
+            throw new RuntimeException("The format is invalid: " + value);
+        }
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
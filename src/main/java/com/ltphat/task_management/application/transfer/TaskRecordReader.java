@@ -0,0 +1,163 @@
+package com.ltphat.task_management.application.transfer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ltphat.task_management.application.dtos.task.TaskRequestDto;
+import com.ltphat.task_management.domain.model.TaskStatus;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads TaskRequestDto records one at a time from an NDJSON or CSV upload; nothing beyond the current record is buffered.
+ * Reading and parsing are separate so rows before a resume checkpoint can be skipped without being parsed,
+ * and a malformed row only rejects that row. At most maxRecordChars + 1 characters of a record are kept, so a
+ * missing line break or an unclosed quote costs one rejected row instead of the heap.
+ */
+public class TaskRecordReader {
+
+    private final TaskFileFormat format;
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private final int maxRecordChars;
+    private Map<String, Integer> columns;
+
+    public TaskRecordReader(TaskFileFormat format, BufferedReader reader, ObjectMapper objectMapper, int maxRecordChars) {
+        this.format = format;
+        this.reader = reader;
+        this.objectMapper = objectMapper;
+        this.maxRecordChars = maxRecordChars;
+    }
+
+    // Next non-blank record, or null at end of input; the CSV header is consumed on the first call
+    public String next() throws IOException {
+        if (format == TaskFileFormat.CSV && columns == null) {
+            String header = nextNonBlank();
+            if (header == null) {
+                return null;
+            }
+            columns = readHeader(header);
+        }
+        return nextNonBlank();
+    }
+
+    public TaskRequestDto parse(String record) {
+        if (record.length() > maxRecordChars) {
+            throw new RuntimeException("Record is longer than " + maxRecordChars + " characters");
+        }
+        if (format == TaskFileFormat.CSV) {
+            return parseCsv(record);
+        }
+        try {
+            return objectMapper.readValue(record, TaskRequestDto.class);
+        } catch (JsonProcessingException exception) {
+            throw new RuntimeException("Malformed JSON: " + exception.getOriginalMessage());
+        }
+    }
+
+    private String nextNonBlank() throws IOException {
+        String record;
+        do {
+            record = format == TaskFileFormat.CSV ? readCsvRecord() : readLine();
+        } while (record != null && record.isBlank());
+        return record;
+    }
+
+    private String readLine() throws IOException {
+        StringBuilder record = new StringBuilder();
+        return appendLine(record) < 0 ? null : record.toString();
+    }
+
+    // Joins physical lines while a quoted field is still open; the rest of an overlong record is read but not kept
+    private String readCsvRecord() throws IOException {
+        StringBuilder record = new StringBuilder();
+        int quotes = appendLine(record);
+        if (quotes < 0) {
+            return null;
+        }
+        boolean open = (quotes & 1) == 1;
+        while (open) {
+            append(record, '\n');
+            quotes = appendLine(record);
+            if (quotes < 0) {
+                break;
+            }
+            open ^= (quotes & 1) == 1;
+        }
+        return record.toString();
+    }
+
+    // Appends the next physical line without its line break; -1 at end of input, else the number of quotes on it
+    private int appendLine(StringBuilder record) throws IOException {
+        int c = reader.read();
+        if (c < 0) {
+            return -1;
+        }
+        int quotes = 0;
+        boolean carriageReturn = false;
+        while (c >= 0 && c != '\n') {
+            if (carriageReturn) {
+                append(record, '\r');
+            }
+            carriageReturn = c == '\r';
+            if (!carriageReturn) {
+                append(record, (char) c);
+            }
+            if (c == '"') {
+                quotes++;
+            }
+            c = reader.read();
+        }
+        return quotes;
+    }
+
+    // One character past the limit is kept, so parse can tell an overlong record from one of exactly the limit
+    private void append(StringBuilder record, char c) {
+        if (record.length() <= maxRecordChars) {
+            record.append(c);
+        }
+    }
+
+    private Map<String, Integer> readHeader(String header) {
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = CsvCodec.parseRow(header);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("name") || !columns.containsKey("categoryid")) {
+            throw new RuntimeException("The CSV header must contain the name and categoryId columns");
+        }
+        return columns;
+    }
+
+    private TaskRequestDto parseCsv(String record) {
+        List<String> fields = CsvCodec.parseRow(record);
+        if (fields.size() != columns.size()) {
+            throw new RuntimeException("Expected " + columns.size() + " fields, found " + fields.size());
+        }
+        String categoryId = field(fields, "categoryid");
+        TaskRequestDto taskRequestDto = new TaskRequestDto();
+        taskRequestDto.setName(field(fields, "name"));
+        taskRequestDto.setDescription(field(fields, "description"));
+        taskRequestDto.setStatus(TaskStatus.from(field(fields, "status")));
+        try {
+            taskRequestDto.setCategoryId(categoryId == null ? null : Long.valueOf(categoryId.trim()));
+        } catch (NumberFormatException exception) {
+            throw new RuntimeException("categoryId is not a number: " + categoryId);
+        }
+        return taskRequestDto;
+    }
+
+    // Optional columns may be left out of the header; empty fields are read as null
+    private String field(List<String> fields, String column) {
+        Integer index = columns.get(column);
+        if (index == null || fields.get(index).isEmpty()) {
+            return null;
+        }
+        return fields.get(index);
+    }
+}
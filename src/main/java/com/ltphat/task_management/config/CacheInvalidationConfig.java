@@ -0,0 +1,39 @@
+package com.ltphat.task_management.config;
+
+import com.ltphat.task_management.application.cache.invalidation.InvalidationChannel;
+import com.ltphat.task_management.application.cache.invalidation.LocalInvalidationChannel;
+import com.ltphat.task_management.application.cache.invalidation.OutboxInvalidationChannel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.time.Duration;
+
+/**
+ * Channel that carries cache invalidations between instances, picked by app.cache.invalidation.channel:
+ * outbox (default) polls a table of the shared database, local only reaches buses in this JVM (tests,
+ * single-instance runs). Another transport plugs in as an InvalidationChannel bean.
+ */
+@Configuration
+@EnableScheduling
+public class CacheInvalidationConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.invalidation.channel", havingValue = "outbox", matchIfMissing = true)
+    public InvalidationChannel outboxInvalidationChannel(
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.cache.invalidation.batch-size:500}") int batchSize,
+            @Value("${app.cache.invalidation.settle:2s}") Duration settle,
+            @Value("${app.cache.invalidation.retention:10m}") Duration retention) {
+        return new OutboxInvalidationChannel(jdbcTemplate, batchSize, settle, retention);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.invalidation.channel", havingValue = "local")
+    public InvalidationChannel localInvalidationChannel() {
+        return new LocalInvalidationChannel();
+    }
+}
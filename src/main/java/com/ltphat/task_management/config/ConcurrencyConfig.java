@@ -0,0 +1,56 @@
+package com.ltphat.task_management.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Request concurrency: spring.threads.virtual.enabled picks the thread model, the bulkhead bounds how many
+ * API requests compete for the Hikari pool whichever model is used. Streamed listings run their blocking page
+ * queries on the taskQueryScheduler, which is sized like the pool instead of holding a thread per client.
+ * The pool must be larger than the bulkhead: on MySQL a task insert holds its connection while Hibernate takes a
+ * second one to allocate ids from the task_seq table, and a pool no larger than the requests could be drained by
+ * requests that all wait for their second connection.
+ */
+@Configuration
+public class ConcurrencyConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.bulkhead.enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<DatabaseBulkheadFilter> databaseBulkheadFilter(
+            @Value("${app.bulkhead.max-concurrent:20}") int maxConcurrent,
+            @Value("${app.bulkhead.queue-timeout:500ms}") Duration queueTimeout,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        if (maxConcurrent >= poolSize) {
+            throw new RuntimeException("app.bulkhead.max-concurrent (" + maxConcurrent
+                    + ") must be lower than the connection pool size (" + poolSize + ")");
+        }
+        FilterRegistrationBean<DatabaseBulkheadFilter> registration = new FilterRegistrationBean<>(
+                // the SSE subscription only receives pushed tasks; bounding it would let subscribers starve the API
+                new DatabaseBulkheadFilter(maxConcurrent, queueTimeout, Set.of("/tasks/stream"), objectMapper, meterRegistry));
+        registration.addUrlPatterns("/tasks/*", "/categories/*", "/changes");
+        // after the SQL statement filter, so rejected requests are still counted and get the headers
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+
+    // JPA is blocking: each page of a streamed listing is fetched here, never on a request or event-loop thread
+    @Bean(destroyMethod = "dispose")
+    public Scheduler taskQueryScheduler(
+            @Value("${app.tasks.stream.threads:${spring.datasource.hikari.maximum-pool-size:10}}") int threads,
+            @Value("${app.tasks.stream.queued-tasks:10000}") int queuedTasks) {
+        return Schedulers.newBoundedElastic(threads, queuedTasks, "task-query");
+    }
+}
@@ -0,0 +1,7 @@
+package com.ltphat.task_management.config;
+
+public class QueryBudgetExceededException extends RuntimeException {
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
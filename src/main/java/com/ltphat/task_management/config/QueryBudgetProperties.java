@@ -0,0 +1,24 @@
+package com.ltphat.task_management.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * SQL statement budgets per endpoint, keyed "METHOD /route/template" (e.g. "GET /tasks/{id}").
+ * A negative budget means unlimited.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.query-budget")
+public class QueryBudgetProperties {
+    private boolean enabled = true;
+    private int defaultMaxStatements = 10;
+    private boolean failOnExceed = false; // throw instead of logging, meant for tests
+    private Map<String, Integer> endpoints = new HashMap<>();
+
+    public int budgetFor(String endpoint) {
+        return endpoints.getOrDefault(endpoint, defaultMaxStatements);
+    }
+}
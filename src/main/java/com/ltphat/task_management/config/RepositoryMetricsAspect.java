@@ -0,0 +1,74 @@
+package com.ltphat.task_management.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records how many rows each repository query returned. Call timing comes from Spring Data's own
+ * spring.data.repository.invocations timer, so it is not measured again here.
+ */
+@Aspect
+public class RepositoryMetricsAspect {
+
+    static final String METRIC = "app.repository.results";
+    private static final String REPOSITORY_PACKAGE = "com.ltphat.task_management.domain.repository";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    public RepositoryMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(* com.ltphat.task_management.domain.repository.*Repository+.find*(..))")
+    public Object countResults(ProceedingJoinPoint joinPoint) throws Throwable {
+        Object result = joinPoint.proceed();
+        long size = size(result);
+        if (size >= 0) {
+            DistributionSummary.builder(METRIC)
+                    .description("Rows returned by repository queries")
+                    .tag("repository", repositoryNames.computeIfAbsent(joinPoint.getThis().getClass(), RepositoryMetricsAspect::repositoryName))
+                    .tag("method", joinPoint.getSignature().getName())
+                    .register(meterRegistry)
+                    .record(size);
+        }
+        return result;
+    }
+
+    // -1 for results that are not a row set (counts, streams consumed later)
+    private static long size(Object result) {
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Window<?> window) {
+            return window.size();
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return -1;
+    }
+
+    // repositories are JDK proxies, name them after the domain interface they implement
+    private static String repositoryName(Class<?> proxyType) {
+        for (Class<?> repositoryInterface : proxyType.getInterfaces()) {
+            if (repositoryInterface.getPackageName().equals(REPOSITORY_PACKAGE)) {
+                return repositoryInterface.getSimpleName();
+            }
+        }
+        return proxyType.getSimpleName();
+    }
+}
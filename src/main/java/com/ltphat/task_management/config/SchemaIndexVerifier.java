@@ -0,0 +1,115 @@
+package com.ltphat.task_management.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Checks at startup that the indexes behind the listing queries and sorts exist.
+ * A schema that was not migrated by Flyway, or an index dropped by hand, would otherwise only show up as slow
+ * full scans under load. Missing indexes fail the startup unless app.schema.index-check.fail-on-missing is false.
+ */
+@Component
+@Slf4j
+public class SchemaIndexVerifier {
+
+    // table -> leading columns of each index created by V2__add_query_indexes
+    static final Map<String, List<List<String>>> REQUIRED_INDEXES = new LinkedHashMap<>();
+
+    static {
+        REQUIRED_INDEXES.put("task", List.of(
+                List.of("name", "id"),
+                List.of("status", "id"),
+                List.of("description", "id"),
+                List.of("category_id", "status")));
+        REQUIRED_INDEXES.put("category", List.of(
+                List.of("name", "id"),
+                List.of("description", "id"),
+                List.of("color", "id"),
+                List.of("created_at", "id")));
+    }
+
+    private final DataSource dataSource;
+    private final boolean enabled;
+    private final boolean failOnMissing;
+
+    public SchemaIndexVerifier(DataSource dataSource,
+                               @Value("${app.schema.index-check.enabled:true}") boolean enabled,
+                               @Value("${app.schema.index-check.fail-on-missing:true}") boolean failOnMissing) {
+        this.dataSource = dataSource;
+        this.enabled = enabled;
+        this.failOnMissing = failOnMissing;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void verify() {
+        if (!enabled) {
+            return;
+        }
+        List<String> missing = findMissingIndexes();
+        if (missing.isEmpty()) {
+            log.info("All query indexes are present");
+            return;
+        }
+        String message = "Missing database indexes " + missing + ", run the Flyway migrations in db/migration";
+        if (failOnMissing) {
+            throw new RuntimeException(message);
+        }
+        log.warn(message);
+    }
+
+    // An index matches when its leading columns are the required ones, whatever it is named
+    public List<String> findMissingIndexes() {
+        List<String> missing = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (Map.Entry<String, List<List<String>>> table : REQUIRED_INDEXES.entrySet()) {
+                Collection<List<String>> present = indexedColumns(connection, metaData, table.getKey());
+                for (List<String> columns : table.getValue()) {
+                    boolean covered = present.stream().anyMatch(index ->
+                            index.size() >= columns.size() && index.subList(0, columns.size()).equals(columns));
+                    if (!covered) {
+                        missing.add(table.getKey() + "(" + String.join(", ", columns) + ")");
+                    }
+                }
+            }
+        } catch (SQLException exception) {
+            throw new RuntimeException("Error while reading the database indexes!", exception);
+        }
+        return missing;
+    }
+
+    private Collection<List<String>> indexedColumns(Connection connection, DatabaseMetaData metaData, String table)
+            throws SQLException {
+        String tableName = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase(Locale.ROOT) : table;
+        Map<String, TreeMap<Short, String>> indexes = new HashMap<>();
+        try (ResultSet rows = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(), tableName, false, false)) {
+            while (rows.next()) {
+                String indexName = rows.getString("INDEX_NAME");
+                String column = rows.getString("COLUMN_NAME");
+                if (indexName == null || column == null) {
+                    continue; // table statistics row
+                }
+                indexes.computeIfAbsent(indexName, name -> new TreeMap<>())
+                        .put(rows.getShort("ORDINAL_POSITION"), column.toLowerCase(Locale.ROOT));
+            }
+        }
+        return indexes.values().stream().map(columns -> List.copyOf(columns.values())).toList();
+    }
+}
@@ -0,0 +1,103 @@
+package com.ltphat.task_management.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * datasource-proxy listener that logs statements slower than the threshold together with their bind values.
+ * Fast statements cost one comparison. Slow ones are always counted, but logged at most maxLoggedPerSecond times,
+ * so a database slowdown cannot turn into a log storm; the next logged line reports how many were skipped.
+ */
+@Slf4j
+public class SlowQueryLogger implements QueryExecutionListener {
+
+    private static final int MAX_LOGGED_BATCH_ROWS = 3;
+
+    private final SlowQueryProperties properties;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final long thresholdMillis;
+
+    private final AtomicLong currentSecond = new AtomicLong();
+    private final AtomicInteger loggedThisSecond = new AtomicInteger();
+    private final AtomicLong suppressed = new AtomicLong();
+
+    public SlowQueryLogger(SlowQueryProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.thresholdMillis = properties.getThreshold().toMillis();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo executionInfo, List<QueryInfo> queries) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo executionInfo, List<QueryInfo> queries) {
+        long elapsed = executionInfo.getElapsedTime();
+        if (elapsed < thresholdMillis) {
+            return;
+        }
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            registry.counter("app.sql.slow").increment();
+        }
+        if (!tryAcquireLogSlot()) {
+            suppressed.incrementAndGet();
+            return;
+        }
+        long skipped = suppressed.getAndSet(0);
+        for (QueryInfo query : queries) {
+            log.warn("Slow SQL ({} ms{}{}): {} binds {}", elapsed,
+                    executionInfo.isBatch() ? ", batch of " + executionInfo.getBatchSize() : "",
+                    skipped > 0 ? ", " + skipped + " slow statements not logged" : "",
+                    query.getQuery(), formatBinds(query.getParametersList()));
+        }
+    }
+
+    // Fixed one-second window; the check is only reached by statements that were already slow
+    private boolean tryAcquireLogSlot() {
+        long second = System.currentTimeMillis() / 1000;
+        long previous = currentSecond.get();
+        if (previous != second && currentSecond.compareAndSet(previous, second)) {
+            loggedThisSecond.set(0);
+        }
+        return loggedThisSecond.incrementAndGet() <= properties.getMaxLoggedPerSecond();
+    }
+
+    private String formatBinds(List<List<ParameterSetOperation>> parametersList) {
+        List<String> rows = new ArrayList<>();
+        for (List<ParameterSetOperation> parameters : parametersList) {
+            if (rows.size() == MAX_LOGGED_BATCH_ROWS) {
+                rows.add("... " + (parametersList.size() - MAX_LOGGED_BATCH_ROWS) + " more");
+                break;
+            }
+            List<ParameterSetOperation> ordered = new ArrayList<>(parameters);
+            // JDBC parameter indexes, in the order of the placeholders
+            ordered.sort(Comparator.comparingInt(operation -> operation.getArgs()[0] instanceof Integer index ? index : 0));
+            List<String> values = new ArrayList<>();
+            for (ParameterSetOperation operation : ordered) {
+                values.add(ParameterSetOperation.isSetNullParameterOperation(operation)
+                        ? "null" : abbreviate(operation.getArgs()[1]));
+            }
+            rows.add(values.toString());
+        }
+        return String.join(" ", rows);
+    }
+
+    private String abbreviate(Object value) {
+        String text = String.valueOf(value);
+        int max = properties.getMaxBindLength();
+        return text.length() <= max ? text : text.substring(0, max) + "...(" + text.length() + " chars)";
+    }
+}
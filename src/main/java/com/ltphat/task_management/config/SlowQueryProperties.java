@@ -0,0 +1,19 @@
+package com.ltphat.task_management.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Slow statement logging. Only statements running at least threshold are logged, with their binds, and at most
+ * maxLoggedPerSecond of them; the rest are only counted in app.sql.slow.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.sql.slow-query")
+public class SlowQueryProperties {
+    private boolean enabled = true;
+    private Duration threshold = Duration.ofMillis(200);
+    private int maxLoggedPerSecond = 10;
+    private int maxBindLength = 100; // longer bind values are cut
+}
@@ -0,0 +1,45 @@
+package com.ltphat.task_management.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * SQL logging that is safe to leave on in production. Per-statement logging (org.hibernate.SQL, bind TRACE) is only
+ * enabled by the dev profile; here every DataSource is wrapped so that only slow statements are logged, with binds,
+ * through the async appender configured in logback-spring.xml.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.sql.slow-query.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlLoggingConfig {
+
+    // static: a BeanPostProcessor must exist before the DataSource it wraps is created
+    @Bean
+    public static BeanPostProcessor slowQueryDataSourcePostProcessor(Environment environment,
+                                                                     ObjectProvider<MeterRegistry> meterRegistry) {
+        SlowQueryProperties properties = Binder.get(environment)
+                .bindOrCreate("app.sql.slow-query", SlowQueryProperties.class);
+        SlowQueryLogger slowQueryLogger = new SlowQueryLogger(properties, meterRegistry);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(slowQueryLogger)
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
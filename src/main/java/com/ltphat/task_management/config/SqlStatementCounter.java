@@ -0,0 +1,54 @@
+package com.ltphat.task_management.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate statement inspector that counts the SQL statements prepared on the current thread;
+ * SqlTimingListener adds the time spent executing them.
+ * SqlStatementFilter opens a scope per HTTP request, so both are per request;
+ * work handed to another thread (streaming responses) is not attributed.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.statements++;
+        }
+        return sql;
+    }
+
+    public Scope open() {
+        Scope scope = new Scope();
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    static void addExecutionTime(long nanos) {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.executionNanos += nanos;
+        }
+    }
+
+    public static class Scope implements AutoCloseable {
+        private long statements;
+        private long executionNanos;
+
+        public long getStatements() {
+            return statements;
+        }
+
+        public long getExecutionNanos() {
+            return executionNanos;
+        }
+
+        @Override
+        public void close() {
+            CURRENT.remove();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.ltphat.task_management.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.metrics.http.Outcome;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+
+/**
+ * Counts the SQL statements and JDBC time of each HTTP request.
+ * - X-Query-Count / X-DB-Time (ms) response headers, added just before the body starts
+ * - app.http.sql.statements summary, tagged with the route template, the HTTP method and the outcome
+ * - a warning (or QueryBudgetExceededException when fail-on-exceed is set) when the endpoint's budget is exceeded,
+ *   which is how an N+1 regression shows up
+ */
+@Slf4j
+public class SqlStatementFilter extends OncePerRequestFilter {
+
+    static final String METRIC = "app.http.sql.statements";
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+    public static final String DB_TIME_HEADER = "X-DB-Time";
+
+    private final SqlStatementCounter sqlStatementCounter;
+    private final MeterRegistry meterRegistry;
+    private final QueryBudgetProperties queryBudget;
+
+    public SqlStatementFilter(SqlStatementCounter sqlStatementCounter, MeterRegistry meterRegistry,
+                              QueryBudgetProperties queryBudget) {
+        this.sqlStatementCounter = sqlStatementCounter;
+        this.meterRegistry = meterRegistry;
+        this.queryBudget = queryBudget;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try (SqlStatementCounter.Scope scope = sqlStatementCounter.open()) {
+            HeaderWritingResponse headerWritingResponse = new HeaderWritingResponse(response, scope);
+            filterChain.doFilter(request, headerWritingResponse);
+            headerWritingResponse.writeHeaders();
+
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+            DistributionSummary.builder(METRIC)
+                    .description("SQL statements executed per HTTP request")
+                    .tag("uri", uri)
+                    .tag("method", request.getMethod())
+                    .tag("outcome", Outcome.forStatus(response.getStatus()).name())
+                    .register(meterRegistry)
+                    .record(scope.getStatements());
+            if (pattern != null) {
+                checkBudget(request.getMethod() + " " + uri, scope);
+            }
+        }
+    }
+
+    private void checkBudget(String endpoint, SqlStatementCounter.Scope scope) {
+        int budget = queryBudget.budgetFor(endpoint);
+        if (!queryBudget.isEnabled() || budget < 0 || scope.getStatements() <= budget) {
+            return;
+        }
+        String message = String.format("Query budget exceeded for %s: %d statements (budget %d), %s ms in the database",
+                endpoint, scope.getStatements(), budget, formatMillis(scope.getExecutionNanos()));
+        if (queryBudget.isFailOnExceed()) {
+            throw new QueryBudgetExceededException(message);
+        }
+        log.warn(message);
+    }
+
+    private static String formatMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+
+    // Headers must be set before the response is committed, i.e. before the first byte of the body
+    private static class HeaderWritingResponse extends HttpServletResponseWrapper {
+
+        private final SqlStatementCounter.Scope scope;
+        private boolean written;
+
+        HeaderWritingResponse(HttpServletResponse response, SqlStatementCounter.Scope scope) {
+            super(response);
+            this.scope = scope;
+        }
+
+        void writeHeaders() {
+            if (written || isCommitted()) {
+                return;
+            }
+            written = true;
+            setHeader(QUERY_COUNT_HEADER, Long.toString(scope.getStatements()));
+            setHeader(DB_TIME_HEADER, formatMillis(scope.getExecutionNanos()));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeaders();
+            super.sendError(sc);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.ltphat.task_management.config;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Per-session Hibernate listener (hibernate.session.events.auto) that adds JDBC execution time,
+ * single statements and batches, to the current SqlStatementCounter scope.
+ */
+public class SqlTimingListener implements SessionEventListener {
+
+    private long statementStarted;
+    private long batchStarted;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStarted = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        SqlStatementCounter.addExecutionTime(System.nanoTime() - statementStarted);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStarted = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        SqlStatementCounter.addExecutionTime(System.nanoTime() - batchStarted);
+    }
+}
@@ -0,0 +1,57 @@
+package com.ltphat.task_management.domain.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Outbox row of the change feed, written in the same transaction as the change it records.
+ * The id is taken at insert, so a lower one can commit after a higher one; GET /changes serves rows by seq instead,
+ * which ChangeSequencer assigns in commit order once the row is visible.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "change_event")
+public class ChangeEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private EntityType entity;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Operation operation;
+
+    @Column(name = "occurred_at", nullable = false)
+    private Instant occurredAt;
+
+    // Null until the row is sequenced
+    @Column(unique = true)
+    private Long seq;
+
+    public ChangeEvent(EntityType entity, Long entityId, Operation operation, Instant occurredAt) {
+        this(null, entity, entityId, operation, occurredAt, null);
+    }
+
+    public enum EntityType {
+        TASK,
+        CATEGORY
+    }
+
+    public enum Operation {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
@@ -0,0 +1,63 @@
+package com.ltphat.task_management.domain.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Lifecycle of a task. Stored as its one-byte code (TaskStatusConverter), exposed in the API as its label.
+ * Codes are persisted: never renumber them, only append new ones.
+ */
+public enum TaskStatus {
+    PENDING(0, "Pending"),
+    IN_PROGRESS(1, "In Progress"),
+    COMPLETED(2, "Completed");
+
+    private final byte code;
+    private final String label;
+
+    TaskStatus(int code, String label) {
+        this.code = (byte) code;
+        this.label = label;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    @JsonValue
+    public String getLabel() {
+        return label;
+    }
+
+    public static TaskStatus fromCode(byte code) {
+        for (TaskStatus status : values()) {
+            if (status.code == code) {
+                return status;
+            }
+        }
+        throw new RuntimeException("Unknown task status code: " + code);
+    }
+
+    // Accepts the label or the constant name in any case, with space, '_' or '-' between words; blank means none
+    @JsonCreator
+    public static TaskStatus from(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String key = normalize(value);
+        for (TaskStatus status : values()) {
+            if (normalize(status.name()).equals(key)) {
+                return status;
+            }
+        }
+        throw new RuntimeException("Unknown task status: " + value + ", expected one of "
+                + Arrays.stream(values()).map(TaskStatus::getLabel).toList());
+    }
+
+    private static String normalize(String value) {
+        return value.trim().replaceAll("[\\s_-]+", "").toLowerCase(Locale.ROOT);
+    }
+}
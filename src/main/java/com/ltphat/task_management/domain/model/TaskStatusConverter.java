@@ -0,0 +1,19 @@
+package com.ltphat.task_management.domain.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+// Maps TaskStatus to its stable code in a TINYINT column instead of the ordinal or a VARCHAR label
+@Converter
+public class TaskStatusConverter implements AttributeConverter<TaskStatus, Byte> {
+
+    @Override
+    public Byte convertToDatabaseColumn(TaskStatus status) {
+        return status == null ? null : status.getCode();
+    }
+
+    @Override
+    public TaskStatus convertToEntityAttribute(Byte code) {
+        return code == null ? null : TaskStatus.fromCode(code);
+    }
+}
@@ -0,0 +1,15 @@
+package com.ltphat.task_management.domain.repository;
+
+import com.ltphat.task_management.domain.model.Category;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+// Keyset variants of the category listings: seek past the last (sortKey, id), NULL keys included
+public interface CategoryKeysetQueries {
+
+    Window<Category> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    Window<Category> findCategoryByName(String name, ScrollPosition position, Sort sort, Limit limit);
+}
@@ -0,0 +1,28 @@
+package com.ltphat.task_management.domain.repository;
+
+import com.ltphat.task_management.domain.model.Category;
+import jakarta.persistence.EntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+class CategoryKeysetQueriesImpl implements CategoryKeysetQueries {
+
+    private final EntityManager entityManager;
+
+    CategoryKeysetQueriesImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Window<Category> findAllBy(ScrollPosition position, Sort sort, Limit limit) {
+        return KeysetScroll.scroll(entityManager, Category.class, null, position, sort, limit);
+    }
+
+    @Override
+    public Window<Category> findCategoryByName(String name, ScrollPosition position, Sort sort, Limit limit) {
+        return KeysetScroll.scroll(entityManager, Category.class, (root, query, cb) -> cb.equal(root.get("name"), name),
+                position, sort, limit);
+    }
+}
@@ -1,13 +1,41 @@
 package com.ltphat.task_management.domain.repository;
 
 import com.ltphat.task_management.domain.model.Category;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 
 @Repository
-public interface CategoryRepository extends JpaRepository<Category, Long>{
+// Keyset (Window) listings live in CategoryKeysetQueries, whose seek predicate also handles NULL sort keys
+public interface CategoryRepository extends JpaRepository<Category, Long>, CategoryKeysetQueries{
     Page<Category> findCategoryByName(String name, Pageable pageable);
+
+    // First unfiltered page, the default GET /categories: the ids and the count come from the query cache
+    // until any write to the category table, the rows from the entity cache
+    @Query(value = "select c from Category c", countQuery = "select count(c) from Category c")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "category-pages")
+    })
+    Page<Category> findFirstPage(Pageable pageable);
+
+    Slice<Category> findSliceBy(Pageable pageable);
+
+    Slice<Category> findSliceByName(String name, Pageable pageable);
+
+    long countByName(String name);
+
+    // One statement instead of findById + deleteById; 0 when the category does not exist
+    @Modifying
+    @Query("delete from Category c where c.id = :id")
+    int deleteCategoryById(@Param("id") Long id);
 }
@@ -0,0 +1,64 @@
+package com.ltphat.task_management.domain.repository;
+
+import com.ltphat.task_management.domain.model.ChangeEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface ChangeEventRepository extends JpaRepository<ChangeEvent, Long> {
+
+    // One INSERT ... SELECT for every task of a batch, whatever its size; deletes record before the rows go
+    @Modifying
+    @Query("insert into ChangeEvent (entity, entityId, operation, occurredAt)"
+            + " select com.ltphat.task_management.domain.model.ChangeEvent$EntityType.TASK, t.id, :operation, :occurredAt"
+            + " from Task t where t.id in :ids")
+    int recordTasks(@Param("ids") Collection<Long> ids, @Param("operation") ChangeEvent.Operation operation,
+                    @Param("occurredAt") Instant occurredAt);
+
+    @Modifying
+    @Query("insert into ChangeEvent (entity, entityId, operation, occurredAt)"
+            + " select com.ltphat.task_management.domain.model.ChangeEvent$EntityType.TASK, t.id, :operation, :occurredAt"
+            + " from Task t where t.category.id = :categoryId")
+    int recordTasksOfCategory(@Param("categoryId") Long categoryId, @Param("operation") ChangeEvent.Operation operation,
+                              @Param("occurredAt") Instant occurredAt);
+
+    List<ChangeEvent> findBySeqGreaterThanOrderBySeq(Long seq, Limit limit);
+
+    @Query("select coalesce(max(c.seq), 0) from ChangeEvent c")
+    long findLatestSeq();
+
+    boolean existsBySeqIsNull();
+
+    // The latest sequence, or null while a committed row still waits for one
+    @Query("select case when exists (select u.id from ChangeEvent u where u.seq is null) then null"
+            + " else coalesce(max(c.seq), 0) end from ChangeEvent c")
+    Long findSettledSeq();
+
+    // Serializes the instances numbering rows until the transaction ends
+    @Query(value = "select next_seq from change_sequence where id = 1 for update", nativeQuery = true)
+    long lockNextSeq();
+
+    @Query("select c.id from ChangeEvent c where c.seq is null order by c.id")
+    List<Long> findUnsequencedIds(Limit limit);
+
+    @Modifying
+    @Query("update ChangeEvent c set c.seq = c.id + :offset where c.id in :ids")
+    int assignSeq(@Param("ids") Collection<Long> ids, @Param("offset") long offset);
+
+    @Modifying
+    @Query(value = "update change_sequence set next_seq = :nextSeq where id = 1", nativeQuery = true)
+    int updateNextSeq(@Param("nextSeq") long nextSeq);
+
+    // Called by the scheduled purge, outside any service transaction
+    @Transactional
+    @Modifying
+    @Query("delete from ChangeEvent c where c.occurredAt < :before")
+    int deleteOlderThan(@Param("before") Instant before);
+}
@@ -0,0 +1,116 @@
+package com.ltphat.task_management.domain.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keyset scrolling that stays correct when a sort key is NULL.
+ * Spring Data's derived Window queries seek with "key > :last", which matches nothing once the last key is NULL,
+ * so the scroll silently stopped there. Here NULL sorts low (first ascending, last descending, the default of
+ * H2 and MySQL, so no extra SQL is rendered) and the seek predicate follows that order. The id is appended as
+ * the tie-breaker, and one row past the limit tells whether there is a next window.
+ */
+final class KeysetScroll {
+
+    private static final String ID = "id";
+
+    private KeysetScroll() {
+    }
+
+    static <T> Window<T> scroll(EntityManager entityManager, Class<T> type, Specification<T> filter,
+                                ScrollPosition position, Sort sort, Limit limit, String... fetches) {
+        if (!(position instanceof KeysetScrollPosition keyset) || keyset.scrollsBackward()) {
+            throw new IllegalArgumentException("Only forward keyset positions are supported");
+        }
+        List<Sort.Order> orders = new ArrayList<>(sort.toList());
+        if (orders.stream().noneMatch(order -> ID.equals(order.getProperty()))) {
+            orders.add(Sort.Order.asc(ID));
+        }
+
+        HibernateCriteriaBuilder cb = (HibernateCriteriaBuilder) entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(type);
+        Root<T> root = query.from(type);
+        for (String fetch : fetches) {
+            root.fetch(fetch, JoinType.LEFT);
+        }
+        List<Predicate> where = new ArrayList<>();
+        if (filter != null) {
+            where.add(filter.toPredicate(root, query, cb));
+        }
+        if (!keyset.isInitial()) {
+            where.add(after(cb, root, orders, keyset.getKeys()));
+        }
+        List<Order> orderBy = orders.stream()
+                .<Order>map(order -> order.isAscending()
+                        ? cb.asc(root.get(order.getProperty()), true)
+                        : cb.desc(root.get(order.getProperty()), false))
+                .toList();
+        query.select(root).where(where.toArray(Predicate[]::new)).orderBy(orderBy);
+
+        TypedQuery<T> typedQuery = entityManager.createQuery(query);
+        if (limit.isLimited()) {
+            typedQuery.setMaxResults(limit.max() + 1);
+        }
+        List<T> rows = typedQuery.getResultList();
+        boolean hasNext = limit.isLimited() && rows.size() > limit.max();
+        List<T> content = hasNext ? rows.subList(0, limit.max()) : rows;
+        return Window.from(content, index -> positionOf(content.get(index), orders), hasNext);
+    }
+
+    // (k1 after v1) or (k1 = v1 and k2 after v2) or ..., where "=" is IS NULL for a NULL key
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate after(HibernateCriteriaBuilder cb, Root<?> root, List<Sort.Order> orders, Map<String, Object> keys) {
+        List<Predicate> alternatives = new ArrayList<>();
+        List<Predicate> equal = new ArrayList<>();
+        for (Sort.Order order : orders) {
+            if (!keys.containsKey(order.getProperty())) {
+                throw new IllegalArgumentException("The position has no value for " + order.getProperty());
+            }
+            Expression<Comparable> key = root.get(order.getProperty());
+            Comparable value = (Comparable) keys.get(order.getProperty());
+            Predicate beyond;
+            if (order.isAscending()) {
+                beyond = value == null ? cb.isNotNull(key) : cb.greaterThan(key, value);
+            } else {
+                // nothing sorts after NULL descending
+                beyond = value == null ? null : cb.or(cb.lessThan(key, value), cb.isNull(key));
+            }
+            if (beyond != null) {
+                List<Predicate> alternative = new ArrayList<>(equal);
+                alternative.add(beyond);
+                alternatives.add(cb.and(alternative.toArray(Predicate[]::new)));
+            }
+            equal.add(value == null ? cb.isNull(key) : cb.equal(key, value));
+        }
+        return cb.or(alternatives.toArray(Predicate[]::new));
+    }
+
+    private static KeysetScrollPosition positionOf(Object row, List<Sort.Order> orders) {
+        BeanWrapper properties = PropertyAccessorFactory.forBeanPropertyAccess(row);
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (Sort.Order order : orders) {
+            keys.put(order.getProperty(), properties.getPropertyValue(order.getProperty()));
+        }
+        return ScrollPosition.forward(keys);
+    }
+}
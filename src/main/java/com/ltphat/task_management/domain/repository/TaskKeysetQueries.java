@@ -0,0 +1,20 @@
+package com.ltphat.task_management.domain.repository;
+
+import com.ltphat.task_management.domain.model.Task;
+import com.ltphat.task_management.domain.model.TaskStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+// Keyset variants of the task listings: seek past the last (sortKey, id), NULL keys included, with the category fetched
+public interface TaskKeysetQueries {
+
+    Window<Task> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    Window<Task> findByNameOrDescriptionContainingIgnoreCase(String search, ScrollPosition position, Sort sort, Limit limit);
+
+    Window<Task> findByStatus(TaskStatus status, ScrollPosition position, Sort sort, Limit limit);
+
+    Window<Task> findByNameOrDescriptionContainingIgnoreCaseAndStatus(String search, TaskStatus status, ScrollPosition position, Sort sort, Limit limit);
+}
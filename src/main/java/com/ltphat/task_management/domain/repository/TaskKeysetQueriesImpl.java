@@ -0,0 +1,59 @@
+package com.ltphat.task_management.domain.repository;
+
+import com.ltphat.task_management.domain.model.Task;
+import com.ltphat.task_management.domain.model.TaskStatus;
+import jakarta.persistence.EntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.EscapeCharacter;
+
+class TaskKeysetQueriesImpl implements TaskKeysetQueries {
+
+    private static final EscapeCharacter ESCAPE = EscapeCharacter.DEFAULT;
+
+    private final EntityManager entityManager;
+
+    TaskKeysetQueriesImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Window<Task> findAllBy(ScrollPosition position, Sort sort, Limit limit) {
+        return scroll(null, position, sort, limit);
+    }
+
+    @Override
+    public Window<Task> findByNameOrDescriptionContainingIgnoreCase(String search, ScrollPosition position, Sort sort, Limit limit) {
+        return scroll(textContains(search), position, sort, limit);
+    }
+
+    @Override
+    public Window<Task> findByStatus(TaskStatus status, ScrollPosition position, Sort sort, Limit limit) {
+        return scroll(hasStatus(status), position, sort, limit);
+    }
+
+    @Override
+    public Window<Task> findByNameOrDescriptionContainingIgnoreCaseAndStatus(String search, TaskStatus status, ScrollPosition position, Sort sort, Limit limit) {
+        return scroll(textContains(search).and(hasStatus(status)), position, sort, limit);
+    }
+
+    private Window<Task> scroll(Specification<Task> filter, ScrollPosition position, Sort sort, Limit limit) {
+        return KeysetScroll.scroll(entityManager, Task.class, filter, position, sort, limit, "category");
+    }
+
+    // Same predicate as the derived ...ContainingIgnoreCase queries: upper(x) like upper(%search%), wildcards escaped,
+    // on the name or the description
+    private static Specification<Task> textContains(String search) {
+        String pattern = "%" + ESCAPE.escape(search).toUpperCase() + "%";
+        return (root, query, cb) -> cb.or(
+                cb.like(cb.upper(root.get("name")), pattern, ESCAPE.getEscapeCharacter()),
+                cb.like(cb.upper(root.get("description")), pattern, ESCAPE.getEscapeCharacter()));
+    }
+
+    private static Specification<Task> hasStatus(TaskStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+}
@@ -1,10 +1,129 @@
 package com.ltphat.task_management.domain.repository;
 
 import com.ltphat.task_management.domain.model.Task;
+import com.ltphat.task_management.domain.model.TaskStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
-public interface TaskRepository extends JpaRepository<Task, Long> {
-    Page<Task> findByNameContainingIgnoreCase(String name, Pageable pageable);
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+// Keyset (Window) listings live in TaskKeysetQueries, whose seek predicate also handles NULL sort keys
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskKeysetQueries {
+
+    // Listing reads always map the nested category, so load it in the page query instead of one SELECT per category
+    @EntityGraph(attributePaths = "category")
+    Page<Task> findAll(Pageable pageable);
+
+    // Search matches the name or the description, as TaskSearchIndex does; pass the search as both
+    @EntityGraph(attributePaths = "category")
+    Page<Task> findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(String name, String description, Pageable pageable);
+
+    // Slice variants for listings that do not need the COUNT(*)
+    @EntityGraph(attributePaths = "category")
+    Slice<Task> findSliceBy(Pageable pageable);
+
+    @EntityGraph(attributePaths = "category")
+    Slice<Task> findSliceByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(String name, String description, Pageable pageable);
+
+    long countByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(String name, String description);
+
+    // Status filter variants, served by the (status, id) index; the search ones take the status for each side of the OR
+    @EntityGraph(attributePaths = "category")
+    Page<Task> findByStatus(TaskStatus status, Pageable pageable);
+
+    @EntityGraph(attributePaths = "category")
+    Page<Task> findByNameContainingIgnoreCaseAndStatusOrDescriptionContainingIgnoreCaseAndStatus(
+            String name, TaskStatus status, String description, TaskStatus descriptionStatus, Pageable pageable);
+
+    @EntityGraph(attributePaths = "category")
+    Slice<Task> findSliceByStatus(TaskStatus status, Pageable pageable);
+
+    @EntityGraph(attributePaths = "category")
+    Slice<Task> findSliceByNameContainingIgnoreCaseAndStatusOrDescriptionContainingIgnoreCaseAndStatus(
+            String name, TaskStatus status, String description, TaskStatus descriptionStatus, Pageable pageable);
+
+    long countByStatus(TaskStatus status);
+
+    long countByNameContainingIgnoreCaseAndStatusOrDescriptionContainingIgnoreCaseAndStatus(
+            String name, TaskStatus status, String description, TaskStatus descriptionStatus);
+
+    // Answered from the (category_id, status) index alone, the task rows are never read
+    @Query("select t.category.id as categoryId, t.status as status, count(t) as total from Task t group by t.category.id, t.status")
+    List<TaskStatusCount> countByCategoryAndStatus();
+
+    @Query("select t.category.id as categoryId, t.status as status, count(t) as total from Task t"
+            + " where t.category.id in :categoryIds group by t.category.id, t.status")
+    List<TaskStatusCount> countByCategoryAndStatus(@Param("categoryIds") Collection<Long> categoryIds);
+
+    @EntityGraph(attributePaths = "category")
+    List<Task> findByIdIn(Collection<Long> ids);
+
+    // Existing ids with the category and status each task is counted under
+    @Query("select t.id as id, t.category.id as categoryId, t.status as status from Task t where t.id in :ids")
+    List<TaskStatusKey> findStatusKeys(@Param("ids") Collection<Long> ids);
+
+    @EntityGraph(attributePaths = "category")
+    Optional<Task> findWithCategoryById(Long id);
+
+    // Partial update in one statement: null arguments keep the column, a row at another version is left untouched (0)
+    @Modifying(clearAutomatically = true)
+    @Query("update Task t set t.name = coalesce(:name, t.name), t.description = coalesce(:description, t.description),"
+            + " t.status = coalesce(:status, t.status), t.category.id = coalesce(:categoryId, t.category.id),"
+            + " t.version = t.version + 1, t.updatedAt = :updatedAt where t.id = :id and t.version = :version")
+    int patch(@Param("id") Long id, @Param("version") Long version, @Param("name") String name,
+              @Param("description") String description, @Param("status") TaskStatus status,
+              @Param("categoryId") Long categoryId, @Param("updatedAt") Instant updatedAt);
+
+    // Single-statement deletes and moves; the affected-row count tells whether anything matched
+    @Modifying
+    @Query("delete from Task t where t.id = :id")
+    int deleteTaskById(@Param("id") Long id);
+
+    long countByCategoryId(Long categoryId);
+
+    @Query("select t.id from Task t where t.category.id = :categoryId")
+    List<Long> findIdsByCategoryId(@Param("categoryId") Long categoryId);
+
+    @Query("select t.id as id, t.category.id as categoryId, t.status as status from Task t where t.category.id = :categoryId")
+    List<TaskStatusKey> findStatusKeysByCategoryId(@Param("categoryId") Long categoryId);
+
+    @Modifying
+    @Query("delete from Task t where t.category.id = :categoryId")
+    int deleteAllByCategoryId(@Param("categoryId") Long categoryId);
+
+    @Modifying
+    @Query("update Task t set t.category.id = :targetId, t.version = t.version + 1, t.updatedAt = :updatedAt"
+            + " where t.category.id = :categoryId")
+    int reassignCategory(@Param("categoryId") Long categoryId, @Param("targetId") Long targetId,
+                         @Param("updatedAt") Instant updatedAt);
+
+    // Forward-only cursor for exports: rows arrive in fetch-size chunks instead of one materialized list
+    @Query("select t from Task t join fetch t.category order by t.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    Stream<Task> streamAllWithCategory();
+
+    // Feeds the search index rebuild in id order without loading entities
+    @Query("select t.id as id, t.name as name, t.description as description from Task t where t.id > :afterId order by t.id")
+    List<TaskSearchDocument> findSearchDocuments(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("select t.id as id, t.name as name, t.description as description from Task t where t.id in :ids")
+    List<TaskSearchDocument> findSearchDocuments(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,12 @@
+package com.ltphat.task_management.domain.repository;
+
+/**
+ * Projection of the columns the in-process search index needs, so a rebuild does not hydrate full entities.
+ */
+public interface TaskSearchDocument {
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+}
@@ -0,0 +1,14 @@
+package com.ltphat.task_management.domain.repository;
+
+import com.ltphat.task_management.domain.model.TaskStatus;
+
+/**
+ * One (category, status) group of the task table with its size.
+ */
+public interface TaskStatusCount {
+    Long getCategoryId();
+
+    TaskStatus getStatus();
+
+    long getTotal();
+}
@@ -0,0 +1,14 @@
+package com.ltphat.task_management.domain.repository;
+
+import com.ltphat.task_management.domain.model.TaskStatus;
+
+/**
+ * Id of a task with the category and status it is counted under.
+ */
+public interface TaskStatusKey {
+    Long getId();
+
+    Long getCategoryId();
+
+    TaskStatus getStatus();
+}
@@ -0,0 +1,9 @@
+package com.ltphat.task_management.exception;
+
+// The request cannot be applied to the current state of the resource, answered with 409
+public class ResourceConflictException extends RuntimeException {
+
+    public ResourceConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package com.ltphat.task_management.exception;
+
+// The task or category addressed by the request does not exist, answered with 404
+public class ResourceNotFoundException extends RuntimeException {
+
+    public ResourceNotFoundException(String message) {
+        super(message);
+    }
+}
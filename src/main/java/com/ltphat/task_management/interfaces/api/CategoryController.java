@@ -1,14 +1,20 @@
 package com.ltphat.task_management.interfaces.api;
 
 import com.ltphat.task_management.application.dtos.category.CategoryCreateDto;
+import com.ltphat.task_management.application.dtos.category.CategoryDeletePolicy;
 import com.ltphat.task_management.application.dtos.category.CategoryQueryDto;
 import com.ltphat.task_management.application.dtos.category.CategoryResponseDto;
 import com.ltphat.task_management.application.dtos.category.CategoryUpdateDto;
+import com.ltphat.task_management.application.dtos.shared.CacheRegionStatsDto;
+import com.ltphat.task_management.application.dtos.shared.CacheStatsDto;
 import com.ltphat.task_management.application.dtos.shared.PagedResponseDto;
 import com.ltphat.task_management.application.services.CategoryService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("/categories")
@@ -16,15 +22,34 @@ public class CategoryController {
     @Autowired
     private CategoryService categoryService;
 
+    // Conditional GET: a matching If-None-Match gets 304 after one version query; no ETag while a write is unsettled
     @GetMapping
-    public PagedResponseDto<CategoryResponseDto> getCategoriesController(CategoryQueryDto categoryQueryDto) {
-
+    public PagedResponseDto<CategoryResponseDto> getCategoriesController(CategoryQueryDto categoryQueryDto, WebRequest webRequest) {
+        String eTag = categoryService.getCategoriesETag(categoryQueryDto);
+        if (eTag != null && webRequest.checkNotModified(eTag)) {
+            return null;
+        }
         return categoryService.getCategories(categoryQueryDto);
     }
 
+    @GetMapping("/cache/stats")
+    public CacheStatsDto getCacheStatsController(){
+        return categoryService.getCacheStats();
+    }
+
+    @GetMapping("/cache/regions")
+    public List<CacheRegionStatsDto> getCacheRegionStatsController(){
+        return categoryService.getCacheRegionStats();
+    }
+
+    // The category comes from CategoryCache, so a 304 is usually answered without a query and is never serialized
     @GetMapping("/{id}")
-    public CategoryResponseDto getCategoryByIDController(@PathVariable Long id){
-        return categoryService.getCategoryByID(id);
+    public CategoryResponseDto getCategoryByIDController(@PathVariable Long id, WebRequest webRequest){
+        CategoryResponseDto category = categoryService.getCategoryByID(id);
+        if (webRequest.checkNotModified(categoryService.getCategoryETag(category))) {
+            return null;
+        }
+        return category;
     }
 
     @PostMapping()
@@ -37,8 +62,11 @@ public class CategoryController {
         return categoryService.updateCategory(id, categoryUpdateDto);
     }
 
+    // onTasks: reject (default, 409 with the task count), cascade, or reassign together with reassignTo
     @DeleteMapping("/{id}")
-    public void deleteCategoryController(@PathVariable Long id){
-        categoryService.deleteCategory(id);
+    public void deleteCategoryController(@PathVariable Long id,
+                                         @RequestParam(defaultValue = "reject") String onTasks,
+                                         @RequestParam(required = false) Long reassignTo){
+        categoryService.deleteCategory(id, CategoryDeletePolicy.from(onTasks), reassignTo);
     }
 }
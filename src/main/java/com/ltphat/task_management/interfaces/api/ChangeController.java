@@ -0,0 +1,28 @@
+package com.ltphat.task_management.interfaces.api;
+
+import com.ltphat.task_management.application.dtos.change.ChangesResponseDto;
+import com.ltphat.task_management.application.services.ChangeFeedService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping("/changes")
+public class ChangeController {
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    // Changes after "since" in commit order, at most "limit" per call; resume with the returned "next"
+    // "wait" (seconds) holds an empty poll open until a change arrives, without holding a request thread
+    @GetMapping
+    public CompletableFuture<ChangesResponseDto> getChanges(@RequestParam(defaultValue = "0") long since,
+                                                           @RequestParam(defaultValue = "500") int limit,
+                                                           @RequestParam(defaultValue = "0") long wait) {
+        return changeFeedService.awaitChanges(since, limit, Duration.ofSeconds(wait));
+    }
+}
@@ -1,11 +1,34 @@
 package com.ltphat.task_management.interfaces.api;
 
+import com.ltphat.task_management.application.dtos.shared.BatchResponseDto;
 import com.ltphat.task_management.application.dtos.shared.PagedResponseDto;
+import com.ltphat.task_management.application.dtos.task.TaskDto;
+import com.ltphat.task_management.application.dtos.task.TaskImportResultDto;
+import com.ltphat.task_management.application.dtos.task.TaskPatchDto;
+import com.ltphat.task_management.application.dtos.task.TaskQueryDto;
 import com.ltphat.task_management.application.dtos.task.TaskRequestDto;
 import com.ltphat.task_management.application.dtos.task.TaskResponseDto;
+import com.ltphat.task_management.application.dtos.task.TaskStatsDto;
+import com.ltphat.task_management.application.services.TaskExportService;
+import com.ltphat.task_management.application.services.TaskImportService;
 import com.ltphat.task_management.application.services.TaskService;
+import com.ltphat.task_management.application.services.TaskStreamService;
+import com.ltphat.task_management.application.stream.TaskUpdateBroadcaster;
+import com.ltphat.task_management.application.transfer.TaskFileFormat;
+import com.ltphat.task_management.domain.model.TaskStatus;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Flux;
+
+import java.io.InputStream;
+import java.util.List;
 
 @RestController
 @RequestMapping("/tasks")
@@ -13,15 +36,67 @@ public class TaskController {
     @Autowired
     private TaskService taskService;
 
+    @Autowired
+    private TaskExportService taskExportService;
+
+    @Autowired
+    private TaskImportService taskImportService;
+
+    @Autowired
+    private TaskStreamService taskStreamService;
+
+    @Autowired
+    private TaskUpdateBroadcaster taskUpdateBroadcaster;
+
+    // Offset paging by default, "paging=keyset" with "after" for seek pagination
+    // Conditional GET: a matching If-None-Match gets 304 after one version query; no ETag while a write is unsettled
+    // "search" matches name or description on every path; only the order differs: without status, with offset paging
+    // and once the index is built, hits are ranked by relevance instead of sortBy
     @GetMapping
-    public PagedResponseDto<TaskResponseDto> getAllTasks(
-            @RequestParam(required = false) String search,
-            @RequestParam(defaultValue = "name") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortOrder,
-            @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+    public PagedResponseDto<TaskResponseDto> getAllTasks(TaskQueryDto taskQueryDto, WebRequest webRequest) {
+        String eTag = taskService.getTasksETag();
+        if (eTag != null && webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        return taskService.getAllTasks(taskQueryDto);
+    }
+
+    // "Accept: application/x-ndjson" streams every matching task, one JSON line per task, paced by the client
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TaskResponseDto> streamTasks(TaskQueryDto taskQueryDto) {
+        return taskStreamService.streamTasks(taskQueryDto.getSearch(), TaskStatus.from(taskQueryDto.getStatus()),
+                taskQueryDto.getSortBy(), taskQueryDto.getSortOrder());
+    }
+
+    // Server-Sent Events of tasks created, updated or deleted from now on, optionally of one category only;
+    // a client that falls behind gets an "overflow" event and is disconnected
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<TaskResponseDto>> streamTaskUpdates(@RequestParam(required = false) Long categoryId) {
+        return taskUpdateBroadcaster.subscribe(categoryId);
+    }
+
+    // Task counts per status, overall and per category
+    @GetMapping("/stats")
+    public TaskStatsDto getTaskStats() {
+        return taskService.getTaskStats();
+    }
 
-        return taskService.getAllTasks(search, sortBy, sortOrder, page, size);
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(@RequestParam(defaultValue = "ndjson") String format) {
+        TaskFileFormat fileFormat = TaskFileFormat.from(format);
+        StreamingResponseBody body = outputStream -> taskExportService.exportTasks(fileFormat, outputStream);
+        return ResponseEntity.ok()
+                .contentType(fileFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=tasks." + fileFormat.getExtension())
+                .body(body);
+    }
+
+    // The raw body is read as a stream, never buffered; resumeFrom is the checkpoint returned by a failed import
+    @PostMapping("/import")
+    public TaskImportResultDto importTasks(@RequestParam(defaultValue = "ndjson") String format,
+                                           @RequestParam(defaultValue = "0") long resumeFrom,
+                                           InputStream body) {
+        return taskImportService.importTasks(TaskFileFormat.from(format), body, resumeFrom);
     }
 
     @PostMapping
@@ -34,8 +109,29 @@ public class TaskController {
         return taskService.updateTask(id, taskRequestDto);
     }
 
+    // Only the fields in the body change; "version" must be the task's current version, otherwise 409
+    @PatchMapping("/{id}")
+    public TaskResponseDto patchTask(@PathVariable Long id, @RequestBody @Valid TaskPatchDto taskPatchDto) {
+        return taskService.patchTask(id, taskPatchDto);
+    }
+
     @DeleteMapping("/{id}")
     public void deleteTask(@PathVariable Long id) {
         taskService.deleteTask(id);
     }
+
+    @PostMapping("/batch")
+    public BatchResponseDto createTasks(@RequestBody List<TaskRequestDto> taskRequestDtos) {
+        return taskService.createTasks(taskRequestDtos);
+    }
+
+    @PutMapping("/batch")
+    public BatchResponseDto updateTasks(@RequestBody List<TaskDto> taskDtos) {
+        return taskService.updateTasks(taskDtos);
+    }
+
+    @DeleteMapping("/batch")
+    public BatchResponseDto deleteTasks(@RequestBody List<Long> ids) {
+        return taskService.deleteTasks(ids);
+    }
 }
@@ -0,0 +1,22 @@
+-- Schema previously created by hibernate.ddl-auto=update; Hibernate now only validates against it
+create table category (
+    id          bigint generated by default as identity,
+    name        varchar(255),
+    description varchar(255),
+    color       varchar(255),
+    created_at  timestamp(6) with time zone not null,
+    primary key (id)
+);
+
+create table task (
+    id          bigint not null,
+    name        varchar(255),
+    description varchar(255),
+    status      varchar(255),
+    category_id bigint not null,
+    primary key (id),
+    constraint fk_task_category foreign key (category_id) references category (id)
+);
+
+-- Task ids come from a pooled sequence (allocationSize 50) so inserts can be batched
+create sequence task_seq start with 1 increment by 50;
@@ -0,0 +1,5 @@
+-- Optimistic locking version (@Version) and last change time of every row; existing rows start at version 0
+alter table category add column version bigint default 0 not null;
+alter table category add column updated_at timestamp(6) with time zone;
+alter table task add column version bigint default 0 not null;
+alter table task add column updated_at timestamp(6) with time zone;
@@ -0,0 +1,11 @@
+-- Transactional outbox behind GET /changes: one row per created, updated or deleted task or category,
+-- written in the transaction of the change; the identity id is the feed's sequence number
+create table change_event (
+    id          bigint generated by default as identity,
+    entity      varchar(16) not null,
+    entity_id   bigint not null,
+    operation   varchar(16) not null,
+    occurred_at timestamp(6) with time zone not null,
+    primary key (id)
+);
+create index idx_change_event_occurred_at on change_event (occurred_at);
@@ -0,0 +1,6 @@
+-- Category and status of a task event's task before and after the change, so receivers move their task counts
+-- without recounting; null for the sides a create or delete does not have, and for other events
+alter table cache_invalidation add column previous_category_id bigint;
+alter table cache_invalidation add column previous_status varchar(16);
+alter table cache_invalidation add column category_id bigint;
+alter table cache_invalidation add column status varchar(16);
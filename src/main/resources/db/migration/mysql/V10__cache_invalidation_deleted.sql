@@ -0,0 +1,2 @@
+-- Set on the event of a deleted category, so receivers drop its task counts as the origin did
+alter table cache_invalidation add column deleted boolean not null default false;
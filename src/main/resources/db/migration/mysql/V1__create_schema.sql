@@ -0,0 +1,27 @@
+-- Schema previously created by hibernate.ddl-auto=update; Hibernate now only validates against it.
+-- Databases created that way are baselined at this version (spring.flyway.baseline-version) and skip it.
+create table category (
+    id          bigint not null auto_increment,
+    name        varchar(255),
+    description varchar(255),
+    color       varchar(255),
+    created_at  datetime(6) not null,
+    primary key (id)
+) engine = InnoDB;
+
+create table task (
+    id          bigint not null,
+    name        varchar(255),
+    description varchar(255),
+    status      varchar(255),
+    category_id bigint not null,
+    primary key (id),
+    constraint fk_task_category foreign key (category_id) references category (id)
+) engine = InnoDB;
+
+-- MySQL has no sequences: Hibernate emulates task_seq (allocationSize 50) with a single-row table
+create table task_seq (
+    next_val bigint
+) engine = InnoDB;
+
+insert into task_seq values (1);
@@ -0,0 +1,15 @@
+-- One index per sortable column, with id as the tie-breaker that keyset paging appends,
+-- so ORDER BY x, id LIMIT n and the seek predicate (x, id) > (?, ?) read the index in order.
+-- Name search (LIKE '%term%') cannot use a B-tree; it is served by the in-process TaskSearchIndex.
+-- Keep in sync with SchemaIndexVerifier.
+create index idx_task_name_id on task (name, id);
+create index idx_task_status_id on task (status, id);
+create index idx_task_description_id on task (description, id);
+-- Leading category_id also serves the foreign key; status narrows per-category counts by status
+create index idx_task_category_status on task (category_id, status);
+
+-- findCategoryByName is an equality lookup on name, then ordered by the requested sort
+create index idx_category_name_id on category (name, id);
+create index idx_category_description_id on category (description, id);
+create index idx_category_color_id on category (color, id);
+create index idx_category_created_at_id on category (created_at, id);
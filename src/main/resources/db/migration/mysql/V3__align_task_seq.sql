@@ -0,0 +1,12 @@
+-- Databases baselined from ddl-auto may hold task ids issued before task_seq existed,
+-- or an empty task_seq table; move the next value past the highest id so new ids never collide.
+-- V1 never ran on such a database, so task_seq is missing when the entity used another generator then.
+create table if not exists task_seq (
+    next_val bigint
+) engine = InnoDB;
+
+insert into task_seq (next_val)
+select 1 from dual where not exists (select * from task_seq);
+
+update task_seq
+set next_val = greatest(next_val, (select coalesce(max(id), 0) + 1 from task));
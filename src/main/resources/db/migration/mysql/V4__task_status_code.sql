@@ -0,0 +1,11 @@
+-- Status becomes TaskStatus, stored as its one-byte code (see TaskStatusConverter) instead of free text.
+-- Free-text values are mapped by their normalized spelling; anything unrecognized, or missing, becomes Pending.
+update task set status = case lower(replace(replace(replace(coalesce(status, ''), ' ', ''), '_', ''), '-', ''))
+    when 'inprogress' then '1'
+    when 'doing' then '1'
+    when 'completed' then '2'
+    when 'done' then '2'
+    else '0'
+end;
+-- idx_task_status_id and idx_task_category_status are rebuilt on the narrower column
+alter table task modify status tinyint not null;
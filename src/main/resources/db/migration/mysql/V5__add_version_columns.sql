@@ -0,0 +1,7 @@
+-- Optimistic locking version (@Version) and last change time of every row; existing rows start at version 0
+alter table category
+    add column version bigint not null default 0,
+    add column updated_at datetime(6);
+alter table task
+    add column version bigint not null default 0,
+    add column updated_at datetime(6);
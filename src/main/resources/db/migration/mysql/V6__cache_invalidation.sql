@@ -0,0 +1,10 @@
+-- Outbox of cache invalidations read by every instance (OutboxInvalidationChannel); rows are purged after the retention
+create table cache_invalidation (
+    id         bigint not null auto_increment,
+    entity     varchar(16) not null,
+    entity_id  bigint,
+    origin     varchar(64) not null,
+    created_at datetime(6) not null,
+    primary key (id)
+) engine = InnoDB;
+create index idx_cache_invalidation_created_at on cache_invalidation (created_at);
@@ -0,0 +1,11 @@
+-- Transactional outbox behind GET /changes: one row per created, updated or deleted task or category,
+-- written in the transaction of the change; the auto_increment id is the feed's sequence number
+create table change_event (
+    id          bigint not null auto_increment,
+    entity      varchar(16) not null,
+    entity_id   bigint not null,
+    operation   varchar(16) not null,
+    occurred_at datetime(6) not null,
+    primary key (id)
+) engine = InnoDB;
+create index idx_change_event_occurred_at on change_event (occurred_at);
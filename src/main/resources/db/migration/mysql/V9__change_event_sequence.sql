@@ -0,0 +1,12 @@
+-- Feed sequence of change_event, numbered by ChangeSequencer once the row has committed, so a row never appears
+-- behind one already served; null until then. Rows already there keep their id, which consumers hold as cursor.
+alter table change_event add column seq bigint;
+update change_event set seq = id;
+create unique index idx_change_event_seq on change_event (seq);
+-- Single row: the next sequence number, locked by the instance that numbers the next rows
+create table change_sequence (
+    id       bigint not null,
+    next_seq bigint not null,
+    primary key (id)
+) engine = InnoDB;
+insert into change_sequence (id, next_seq) select 1, coalesce(max(id), 0) + 1 from change_event;
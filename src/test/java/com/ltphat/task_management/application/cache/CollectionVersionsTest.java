@@ -0,0 +1,41 @@
+package com.ltphat.task_management.application.cache;
+
+import com.ltphat.task_management.domain.repository.ChangeEventRepository;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CollectionVersionsTest {
+
+    private final ChangeEventRepository changeEventRepository = mock(ChangeEventRepository.class);
+    private final CollectionVersions versions = new CollectionVersions(changeEventRepository);
+
+    @Test
+    void eTags_shouldFollowTheSharedChangeSequence() {
+        when(changeEventRepository.findSettledSeq()).thenReturn(41L, 42L);
+
+        String before = versions.tasksETag();
+
+        assertThat(before).isEqualTo("\"tasks-41\"");
+        assertThat(versions.tasksETag()).isNotEqualTo(before);
+    }
+
+    @Test
+    void eTags_shouldBeTheSameOnEveryInstanceForTheSameSequence() {
+        when(changeEventRepository.findSettledSeq()).thenReturn(42L);
+        CollectionVersions otherInstance = new CollectionVersions(changeEventRepository);
+
+        assertThat(otherInstance.tasksETag()).isEqualTo(versions.tasksETag());
+        assertThat(otherInstance.categoriesETag()).isEqualTo(versions.categoriesETag()).isEqualTo("\"categories-42\"");
+    }
+
+    @Test
+    void eTags_shouldBeNullWhileACommittedChangeWaitsForItsSequence() {
+        when(changeEventRepository.findSettledSeq()).thenReturn(null);
+
+        assertThat(versions.tasksETag()).isNull();
+        assertThat(versions.categoriesETag()).isNull();
+    }
+}
@@ -0,0 +1,200 @@
+package com.ltphat.task_management.application.cache.invalidation;
+
+import com.ltphat.task_management.application.cache.CategoryCache;
+import com.ltphat.task_management.application.search.TaskSearchIndex;
+import com.ltphat.task_management.application.stats.CategoryTaskCounts;
+import com.ltphat.task_management.application.stream.TaskUpdateBroadcaster;
+import com.ltphat.task_management.domain.model.Category;
+import com.ltphat.task_management.domain.model.Task;
+import com.ltphat.task_management.domain.model.TaskStatus;
+import com.ltphat.task_management.domain.repository.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Two instances, "a" and "b", on one LocalInvalidationChannel.
+ */
+class CacheInvalidationBusTest {
+
+    private final LocalInvalidationChannel channel = new LocalInvalidationChannel();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final Category category = new Category(7L, "Work", "Work related tasks", "blue", null);
+
+    private Node a;
+    private Node b;
+
+    @BeforeEach
+    void setUp() {
+        a = new Node("a");
+        b = new Node("b");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void categoryChanged_shouldEvictTheCategoryOnOtherInstancesOnly() {
+        a.bus.categoryChanged(7L);
+
+        verify(b.categoryCache).evict(7L);
+        verify(b.l2Cache).evict(Category.class, 7L);
+        verify(b.sessionFactoryCache).evictQueryRegion("category-pages");
+        verify(b.counts, never()).rebuild();
+        verifyNoInteractions(a.categoryCache, a.l2Cache);
+        assertThat(meterRegistry.get("app.cache.invalidation.lag").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("app.cache.invalidation.received").tag("entity", "category").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void categoryDeleted_shouldDropTheCategoryCountsOnOtherInstancesAfterTheTaskEvents() {
+        Instant now = Instant.now();
+        // one poll can hand over the category delete ahead of the task events of the same write
+        b.bus.apply(List.of(
+                new InvalidationEvent(InvalidationEvent.Entity.CATEGORY, 7L, "a", now, null, null, true),
+                new InvalidationEvent(InvalidationEvent.Entity.TASK, 1L, "a", now, new TaskChange.Placement(7L, TaskStatus.PENDING), null)));
+
+        verify(b.categoryCache).evict(7L);
+        var order = inOrder(b.counts);
+        order.verify(b.counts).removed(7L, TaskStatus.PENDING);
+        order.verify(b.counts).removeCategory(7L);
+    }
+
+    @Test
+    void categoryDeleted_shouldReachOtherInstancesOnly() {
+        a.bus.categoryDeleted(7L);
+
+        verify(b.counts).removeCategory(7L);
+        verify(a.counts, never()).removeCategory(any());
+    }
+
+    @Test
+    void categoryChanged_shouldKeepTheCategoryCounts() {
+        a.bus.categoryChanged(7L);
+
+        verify(b.counts, never()).removeCategory(any());
+    }
+
+    @Test
+    void categoryChanged_inATransaction_shouldOnlyReachOtherInstancesOnCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        a.bus.categoryChanged(7L);
+
+        verifyNoInteractions(b.categoryCache);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(b.categoryCache).evict(7L);
+    }
+
+    @Test
+    void tasksChanged_shouldRefreshTheChangedTasksOnOtherInstances() {
+        Task task = new Task(1L, "Task 1", null, TaskStatus.COMPLETED, category);
+
+        a.bus.tasksChanged(List.of(TaskChange.updated(3L, TaskStatus.PENDING, task), TaskChange.deleted(2L, 3L, TaskStatus.PENDING)));
+
+        verify(b.searchIndex).refresh(Set.of(1L, 2L));
+        verify(b.searchIndex, never()).rebuild();
+        // the counts move by what the events carry, no recount
+        verify(b.counts, times(2)).removed(3L, TaskStatus.PENDING);
+        verify(b.counts).added(7L, TaskStatus.COMPLETED);
+        verify(b.counts, never()).rebuild();
+        verifyNoInteractions(a.searchIndex);
+    }
+
+    @Test
+    void tasksChanged_shouldPushTheChangedTasksToStreamSubscribersAsTheOriginSentThem() {
+        Task task = new Task(1L, "Task 1", null, TaskStatus.PENDING, category);
+        Task moved = new Task(3L, "Task 3", null, TaskStatus.PENDING, category);
+        when(b.broadcaster.hasSubscribers()).thenReturn(true);
+        when(b.taskRepository.findByIdIn(Set.of(1L, 2L, 3L, 4L))).thenReturn(List.of(task, moved));
+
+        a.bus.tasksChanged(List.of(TaskChange.created(task), TaskChange.deleted(2L, null, null),
+                TaskChange.updated(8L, TaskStatus.PENDING, moved), TaskChange.deleted(4L, 7L, TaskStatus.PENDING)));
+
+        verify(b.broadcaster).created(task);
+        verify(b.broadcaster).updated(8L, moved);
+        verify(b.broadcaster).deleted(2L, null);
+        verify(b.broadcaster).deleted(4L, 7L);
+        verify(b.broadcaster, never()).updated(null, task);
+    }
+
+    @Test
+    void tasksChanged_withTooManyIds_shouldRebuildInsteadOfOneEventPerTask() {
+        a.bus.tasksChanged(LongStream.rangeClosed(1, 11).mapToObj(id -> TaskChange.deleted(id, 7L, TaskStatus.PENDING)).toList());
+
+        verify(b.searchIndex).rebuild();
+        verify(b.counts).rebuild();
+        verify(b.searchIndex, never()).refresh(any());
+        assertThat(meterRegistry.get("app.cache.invalidation.published").tag("entity", "task").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void tasksChanged_withTasksMovedInBulk_shouldMoveTheCountsBetweenBothCategories() {
+        a.bus.tasksChanged(List.of(TaskChange.moved(1L, 3L, 7L, TaskStatus.PENDING), TaskChange.moved(2L, 3L, 7L, TaskStatus.COMPLETED)));
+
+        verify(b.counts).removed(3L, TaskStatus.PENDING);
+        verify(b.counts).added(7L, TaskStatus.PENDING);
+        verify(b.counts).removed(3L, TaskStatus.COMPLETED);
+        verify(b.counts).added(7L, TaskStatus.COMPLETED);
+        verify(b.counts, never()).rebuild();
+    }
+
+    @Test
+    void tasksChanged_withoutIds_shouldPublishNothing() {
+        a.bus.tasksChanged(List.of());
+
+        verifyNoInteractions(b.searchIndex, b.counts, b.broadcaster);
+    }
+
+    @Test
+    void tasksChanged_shouldNotTouchAnIndexThatIsStillBuilding() {
+        when(b.searchIndex.isReady()).thenReturn(false);
+
+        a.bus.taskChanged(TaskChange.deleted(1L, null, null));
+
+        verify(b.searchIndex, never()).refresh(any());
+    }
+
+    private class Node {
+        final CategoryCache categoryCache = mock(CategoryCache.class);
+        final Cache l2Cache = mock(Cache.class);
+        final org.hibernate.Cache sessionFactoryCache = mock(org.hibernate.Cache.class);
+        final TaskSearchIndex searchIndex = mock(TaskSearchIndex.class);
+        final CategoryTaskCounts counts = mock(CategoryTaskCounts.class);
+        final TaskRepository taskRepository = mock(TaskRepository.class);
+        final TaskUpdateBroadcaster broadcaster = mock(TaskUpdateBroadcaster.class);
+        final CacheInvalidationBus bus;
+
+        Node(String nodeId) {
+            EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+            SessionFactory sessionFactory = mock(SessionFactory.class);
+            when(entityManagerFactory.getCache()).thenReturn(l2Cache);
+            when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+            when(sessionFactory.getCache()).thenReturn(sessionFactoryCache);
+            when(searchIndex.isReady()).thenReturn(true);
+            when(counts.isReady()).thenReturn(true);
+            bus = new CacheInvalidationBus(channel, categoryCache, entityManagerFactory, searchIndex, counts,
+                    taskRepository, broadcaster, meterRegistry, nodeId, 10);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.ltphat.task_management.application.cache.invalidation;
+
+import com.ltphat.task_management.application.cache.invalidation.TaskChange.Placement;
+import com.ltphat.task_management.domain.model.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@JdbcTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxInvalidationChannelTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<InvalidationEvent> receivedByB = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from cache_invalidation");
+        receivedByB.clear();
+    }
+
+    @Test
+    void poll_shouldDeliverTheRowsOfOtherInstances() {
+        OutboxInvalidationChannel a = channel(Duration.ZERO);
+        OutboxInvalidationChannel b = channel(Duration.ZERO);
+        List<InvalidationEvent> receivedByA = new ArrayList<>();
+        a.subscribe("a", receivedByA::addAll);
+        b.subscribe("b", receivedByB::addAll);
+        a.poll();
+        b.poll();
+
+        Instant committed = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        InvalidationEvent moved = new InvalidationEvent(InvalidationEvent.Entity.TASK, 5L, "a", committed,
+                new Placement(3L, TaskStatus.PENDING), new Placement(4L, TaskStatus.COMPLETED));
+        InvalidationEvent categoryDeleted = new InvalidationEvent(InvalidationEvent.Entity.CATEGORY, 3L, "a", committed,
+                null, null, true);
+        a.publish(List.of(
+                new InvalidationEvent(InvalidationEvent.Entity.CATEGORY, 3L, "a", committed),
+                new InvalidationEvent(InvalidationEvent.Entity.TASK, null, "a", committed),
+                moved,
+                categoryDeleted));
+        a.poll();
+        b.poll();
+        b.poll();
+
+        assertThat(receivedByB).containsExactly(
+                new InvalidationEvent(InvalidationEvent.Entity.CATEGORY, 3L, "a", committed),
+                new InvalidationEvent(InvalidationEvent.Entity.TASK, null, "a", committed),
+                moved,
+                categoryDeleted);
+        assertThat(receivedByA).isEmpty();
+    }
+
+    @Test
+    void poll_shouldDeliverUnsettledRowsOnce() {
+        OutboxInvalidationChannel a = channel(Duration.ofMinutes(1));
+        OutboxInvalidationChannel b = channel(Duration.ofMinutes(1));
+        b.subscribe("b", receivedByB::addAll);
+        b.poll();
+
+        a.publish(List.of(new InvalidationEvent(InvalidationEvent.Entity.TASK, 1L, "a", Instant.now())));
+        a.poll();
+        b.poll();
+        a.publish(List.of(new InvalidationEvent(InvalidationEvent.Entity.TASK, 2L, "a", Instant.now())));
+        a.poll();
+        b.poll();
+
+        assertThat(receivedByB).extracting(InvalidationEvent::id).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void poll_shouldStartAfterTheRowsWrittenBeforeIt() {
+        OutboxInvalidationChannel a = channel(Duration.ZERO);
+        a.publish(List.of(new InvalidationEvent(InvalidationEvent.Entity.TASK, 1L, "a", Instant.now())));
+        a.poll();
+
+        OutboxInvalidationChannel b = channel(Duration.ZERO);
+        b.subscribe("b", receivedByB::addAll);
+        b.poll();
+
+        assertThat(receivedByB).isEmpty();
+    }
+
+    @Test
+    void publish_shouldCommitOrRollBackWithTheWrite() {
+        OutboxInvalidationChannel a = channel(Duration.ZERO);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            a.publish(List.of(new InvalidationEvent(InvalidationEvent.Entity.TASK, 1L, "a", Instant.now())));
+            status.setRollbackOnly();
+        });
+        transactionTemplate.executeWithoutResult(status ->
+                a.publish(List.of(new InvalidationEvent(InvalidationEvent.Entity.TASK, 2L, "a", Instant.now()))));
+
+        assertThat(jdbcTemplate.queryForList("select entity_id from cache_invalidation", Long.class)).containsExactly(2L);
+    }
+
+    @Test
+    void purge_shouldDeleteRowsPastTheRetention() {
+        OutboxInvalidationChannel a = channel(Duration.ZERO);
+        a.publish(List.of(
+                new InvalidationEvent(InvalidationEvent.Entity.TASK, 1L, "a", Instant.now().minus(Duration.ofHours(1))),
+                new InvalidationEvent(InvalidationEvent.Entity.TASK, 2L, "a", Instant.now())));
+
+        a.purge();
+
+        assertThat(jdbcTemplate.queryForList("select entity_id from cache_invalidation", Long.class)).containsExactly(2L);
+    }
+
+    private OutboxInvalidationChannel channel(Duration settle) {
+        return new OutboxInvalidationChannel(jdbcTemplate, 100, settle, Duration.ofMinutes(10));
+    }
+}
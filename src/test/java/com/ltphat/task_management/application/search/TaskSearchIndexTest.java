@@ -0,0 +1,216 @@
+package com.ltphat.task_management.application.search;
+
+import com.ltphat.task_management.domain.model.Category;
+import com.ltphat.task_management.domain.model.Task;
+import com.ltphat.task_management.domain.model.TaskStatus;
+import com.ltphat.task_management.domain.repository.TaskRepository;
+import com.ltphat.task_management.domain.repository.TaskSearchDocument;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TaskSearchIndexTest {
+
+    private TaskRepository taskRepository;
+    private TaskSearchIndex index;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = mock(TaskRepository.class);
+        index = new TaskSearchIndex(taskRepository, true, 2);
+        category = new Category(1L, "Work", "Work related tasks", "blue", Instant.now());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void search_shouldRankNamePrefixAboveNameAboveDescription() {
+        index.index(new Task(1L, "Write report", "weekly", TaskStatus.PENDING, category));
+        index.index(new Task(2L, "Review report draft", "", TaskStatus.PENDING, category));
+        index.index(new Task(3L, "Email boss", "attach the Report", TaskStatus.PENDING, category));
+        index.index(new Task(4L, "Lunch", "nothing to see", TaskStatus.PENDING, category));
+
+        SearchHits hits = index.search("REPORT", 0, 10);
+
+        assertThat(hits.total()).isEqualTo(3);
+        assertThat(hits.ids()).containsExactly(2L, 1L, 3L);
+        assertThat(index.search("report draft", 0, 10).ids()).containsExactly(2L);
+    }
+
+    @Test
+    void search_shouldPageThroughRankedHits() {
+        for (long id = 1; id <= 5; id++) {
+            index.index(new Task(id, "Task " + id, null, TaskStatus.PENDING, category));
+        }
+
+        SearchHits secondPage = index.search("task", 2, 2);
+
+        assertThat(secondPage.total()).isEqualTo(5);
+        assertThat(secondPage.ids()).containsExactly(3L, 4L);
+    }
+
+    @Test
+    void search_shouldDropTrigramFalsePositives() {
+        // shares every trigram of "abcd" without containing it
+        index.index(new Task(1L, "abc bcd", null, TaskStatus.PENDING, category));
+
+        assertThat(index.search("abcd", 0, 10).total()).isZero();
+    }
+
+    @Test
+    void search_shouldHandleTermsShorterThanATrigram() {
+        index.index(new Task(1L, "Go shopping", null, TaskStatus.PENDING, category));
+        index.index(new Task(2L, "Read", null, TaskStatus.PENDING, category));
+
+        assertThat(index.search("go", 0, 10).ids()).containsExactly(1L);
+    }
+
+    @Test
+    void index_shouldReplacePreviousVersionAndRemove() {
+        index.index(new Task(1L, "Old title", null, TaskStatus.PENDING, category));
+        index.index(new Task(1L, "New title", null, TaskStatus.PENDING, category));
+
+        assertThat(index.search("old", 0, 10).total()).isZero();
+        assertThat(index.search("new", 0, 10).ids()).containsExactly(1L);
+
+        index.remove(1L);
+
+        assertThat(index.search("new", 0, 10).total()).isZero();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void index_shouldKeepSearchingCorrectlyAcrossCompactions() {
+        // enough rewrites that dead documents outnumber live ones several times over
+        for (int round = 0; round < 3; round++) {
+            for (long id = 1; id <= 1000; id++) {
+                index.index(new Task(id, "Round " + round + " task " + id, null, TaskStatus.PENDING, category));
+            }
+        }
+        for (long id = 501; id <= 1000; id++) {
+            index.remove(id);
+        }
+
+        assertThat(index.size()).isEqualTo(500);
+        assertThat(index.search("round 2", 0, 10).total()).isEqualTo(500);
+        assertThat(index.search("round 1", 0, 10).total()).isZero();
+        assertThat(index.search("task 42", 0, 10).ids()).containsExactly(42L, 420L, 421L, 422L, 423L, 424L, 425L,
+                426L, 427L, 428L);
+        assertThat(index.search("", 0, 10).total()).isEqualTo(500);
+    }
+
+    @Test
+    void writesInATransaction_shouldOnlyReachTheIndexOnCommit() {
+        index.index(new Task(1L, "Committed", null, TaskStatus.PENDING, category));
+        TransactionSynchronizationManager.initSynchronization();
+
+        index.index(new Task(2L, "Rolled back", null, TaskStatus.PENDING, category));
+        index.remove(1L);
+        // rollback: the synchronizations are dropped without afterCommit
+        TransactionSynchronizationManager.clearSynchronization();
+        assertThat(index.search("committed", 0, 10).ids()).containsExactly(1L);
+        assertThat(index.search("rolled", 0, 10).total()).isZero();
+
+        TransactionSynchronizationManager.initSynchronization();
+        index.remove(1L);
+        assertThat(index.size()).isEqualTo(1);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void rebuild_shouldLoadAllBatchesAndBecomeReady() {
+        when(taskRepository.findSearchDocuments(eq(0L), any(Limit.class)))
+                .thenReturn(List.of(document(1L, "Task 1"), document(2L, "Task 2")));
+        when(taskRepository.findSearchDocuments(eq(2L), any(Limit.class)))
+                .thenReturn(List.of(document(3L, "Task 3")));
+
+        assertThat(index.isReady()).isFalse();
+        index.rebuild();
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.search("task", 0, 10).total()).isEqualTo(3);
+    }
+
+    @Test
+    void rebuild_shouldOnlyDropTasksTheDatabaseNoLongerHas() {
+        index.index(new Task(1L, "Task 1", null, TaskStatus.PENDING, category));
+        index.index(new Task(2L, "Task 2", null, TaskStatus.PENDING, category));
+        index.index(new Task(9L, "Task 9", null, TaskStatus.PENDING, category));
+        when(taskRepository.findSearchDocuments(eq(0L), any(Limit.class))).thenReturn(List.of(document(3L, "Task 3")));
+        // 9 committed after the scan passed its id
+        when(taskRepository.findSearchDocuments(anyCollection())).thenReturn(List.of(document(9L, "Task 9")));
+
+        index.rebuild();
+
+        assertThat(index.search("task", 0, 10).ids()).containsExactly(3L, 9L);
+    }
+
+    @Test
+    void rebuild_shouldKeepALowerIdCommittedDuringTheScan() {
+        index.index(new Task(5L, "Task 5", null, TaskStatus.PENDING, category));
+        when(taskRepository.findSearchDocuments(eq(0L), any(Limit.class))).thenAnswer(invocation -> {
+            // a pooled id from another allocation block commits while the scan runs, below the ids it returns
+            index.index(new Task(1L, "Task 1", null, TaskStatus.PENDING, category));
+            return List.of(document(5L, "Task 5"), document(6L, "Task 6"));
+        });
+        when(taskRepository.findSearchDocuments(anyCollection())).thenReturn(List.of(document(1L, "Task 1")));
+
+        index.rebuild();
+
+        assertThat(index.search("task", 0, 10).ids()).containsExactly(1L, 5L, 6L);
+    }
+
+    @Test
+    void refresh_shouldReindexExistingTasksAndDropDeletedOnes() {
+        index.index(new Task(1L, "Old title", null, TaskStatus.PENDING, category));
+        index.index(new Task(2L, "Gone", null, TaskStatus.PENDING, category));
+        when(taskRepository.findSearchDocuments(List.of(1L, 2L))).thenReturn(List.of(document(1L, "New title")));
+
+        index.refresh(List.of(1L, 2L));
+
+        assertThat(index.search("new", 0, 10).ids()).containsExactly(1L);
+        assertThat(index.search("old", 0, 10).total()).isZero();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void disabledIndex_shouldNeverBecomeReady() {
+        TaskSearchIndex disabled = new TaskSearchIndex(taskRepository, false, 2);
+        when(taskRepository.findSearchDocuments(any(), any(Limit.class))).thenReturn(Collections.emptyList());
+
+        disabled.rebuild();
+        disabled.index(new Task(1L, "Task 1", null, TaskStatus.PENDING, category));
+
+        assertThat(disabled.isReady()).isFalse();
+        assertThat(disabled.size()).isZero();
+    }
+
+    private static TaskSearchDocument document(Long id, String name) {
+        return new TaskSearchDocument() {
+            public Long getId() { return id; }
+            public String getName() { return name; }
+            public String getDescription() { return null; }
+        };
+    }
+}
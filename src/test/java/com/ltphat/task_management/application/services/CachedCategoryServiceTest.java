@@ -0,0 +1,93 @@
+package com.ltphat.task_management.application.services;
+
+import com.ltphat.task_management.application.dtos.category.CategoryUpdateDto;
+import com.ltphat.task_management.application.dtos.shared.CacheStatsDto;
+import com.ltphat.task_management.domain.model.Category;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class CachedCategoryServiceTest extends CategoryServiceTest {
+
+    @Override
+    protected boolean cacheEnabled() {
+        return true;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void getCategoryByID_shouldHitRepositoryOnce_whenCached() {
+        when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
+        when(categoryMapper.toCategoryResponseDTO(category)).thenReturn(categoryResponseDto);
+
+        categoryService.getCategoryByID(1L);
+        categoryService.getCategoryByID(1L);
+
+        verify(categoryRepository, times(1)).findById(1L);
+        CacheStatsDto stats = categoryService.getCacheStats();
+        assertThat(stats.isEnabled()).isTrue();
+        assertThat(stats.getHitCount()).isEqualTo(1);
+        assertThat(stats.getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    void updateCategory_shouldEvictCachedEntry() {
+        Category renamed = new Category(1L, "Renamed", "Work related tasks", "blue", category.getCreatedAt());
+        when(categoryRepository.findById(1L)).thenReturn(Optional.of(category), Optional.of(category), Optional.of(renamed));
+        when(categoryRepository.save(any(Category.class))).thenReturn(category);
+
+        categoryService.getCategoryByID(1L);
+        categoryService.updateCategory(1L, new CategoryUpdateDto("Renamed", null, null));
+
+        assertThat(categoryCache.findById(1L)).contains(renamed);
+        assertThat(categoryService.getCacheStats().getInvalidationCount()).isEqualTo(1);
+    }
+
+    @Test
+    void updateCategory_shouldEvictAgainOnCommit_whenAReadBeforeTheCommitLoadedTheOldRow() {
+        Category renamed = new Category(1L, "Renamed", "Work related tasks", "blue", category.getCreatedAt());
+        when(categoryRepository.findById(1L)).thenReturn(Optional.of(category), Optional.of(category), Optional.of(renamed));
+        when(categoryRepository.save(any(Category.class))).thenReturn(category);
+        TransactionSynchronizationManager.initSynchronization();
+
+        categoryService.updateCategory(1L, new CategoryUpdateDto("Renamed", null, null));
+        // a concurrent reader, before the commit, still gets the old row and caches it
+        assertThat(categoryCache.findById(1L)).contains(category);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertThat(categoryCache.findById(1L)).contains(renamed);
+    }
+
+    @Test
+    void deleteCategory_shouldEvictCachedEntry() {
+        when(categoryRepository.findById(1L)).thenReturn(Optional.of(category), Optional.empty());
+        when(categoryRepository.deleteCategoryById(1L)).thenReturn(1);
+
+        categoryService.getCategoryByID(1L);
+        categoryService.deleteCategory(1L);
+
+        assertThat(categoryCache.findById(1L)).isEmpty();
+    }
+
+    @Test
+    void getCategoryByID_shouldNotCacheMisses() {
+        when(categoryRepository.findById(2L)).thenReturn(Optional.empty(), Optional.of(category));
+
+        assertThat(categoryCache.findById(2L)).isEmpty();
+        assertThat(categoryCache.findById(2L)).contains(category);
+    }
+}
@@ -1,42 +1,93 @@
 package com.ltphat.task_management.application.services;
 
+import com.ltphat.task_management.application.cache.CategoryCache;
+import com.ltphat.task_management.application.cache.CollectionVersions;
+import com.ltphat.task_management.application.cache.invalidation.CacheInvalidationBus;
+import com.ltphat.task_management.application.cache.invalidation.TaskChange;
+import com.ltphat.task_management.application.changes.ChangeRecorder;
 import com.ltphat.task_management.application.dtos.category.*;
 import com.ltphat.task_management.application.dtos.shared.PagedResponseDto;
 import com.ltphat.task_management.application.mappers.CategoryMapper;
+import com.ltphat.task_management.application.pagination.CountEstimator;
+import com.ltphat.task_management.application.pagination.KeysetCursorCodec;
+import com.ltphat.task_management.application.search.TaskSearchIndex;
+import com.ltphat.task_management.application.stats.CategoryTaskCounts;
+import com.ltphat.task_management.application.stream.TaskUpdateBroadcaster;
 import com.ltphat.task_management.domain.model.Category;
+import com.ltphat.task_management.domain.model.Task;
+import com.ltphat.task_management.domain.model.TaskStatus;
 import com.ltphat.task_management.domain.repository.CategoryRepository;
+import com.ltphat.task_management.domain.repository.TaskRepository;
+import com.ltphat.task_management.domain.repository.TaskStatusKey;
+import com.ltphat.task_management.exception.ResourceConflictException;
+import com.ltphat.task_management.exception.ResourceNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.*;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 
 public class CategoryServiceTest {
     @Mock
-    private CategoryRepository categoryRepository;
+    protected CategoryRepository categoryRepository;
 
     @Mock
-    private CategoryMapper categoryMapper;
+    protected CategoryMapper categoryMapper;
+
+    @Spy
+    private KeysetCursorCodec keysetCursorCodec = new KeysetCursorCodec();
+
+    @Spy
+    private CountEstimator countEstimator = new CountEstimator(Duration.ofMinutes(1), 100);
+
+    @Mock
+    protected CategoryTaskCounts categoryTaskCounts;
+
+    @Mock
+    protected CollectionVersions collectionVersions;
+
+    @Mock
+    protected CacheInvalidationBus cacheInvalidationBus;
+
+    @Mock
+    protected ChangeRecorder changeRecorder;
+
+    @Mock
+    protected TaskRepository taskRepository;
+
+    @Mock
+    protected TaskSearchIndex taskSearchIndex;
+
+    @Mock
+    protected TaskUpdateBroadcaster taskUpdateBroadcaster;
 
     @InjectMocks
-    private CategoryService categoryService;
+    protected CategoryService categoryService;
+
+    protected CategoryCache categoryCache;
 
-    private Category category;
+    protected Category category;
     private CategoryCreateDto categoryCreateDto;
-    private CategoryResponseDto categoryResponseDto;
+    protected CategoryResponseDto categoryResponseDto;
     private CategoryUpdateDto categoryUpdateDto;
 
     @BeforeEach
@@ -44,6 +95,13 @@ public class CategoryServiceTest {
         MockitoAnnotations.openMocks(this);
         category = new Category(1L, "Work", "Work related tasks", "blue", Instant.now());
         categoryResponseDto = new CategoryResponseDto(1L, "Work", "Work related tasks", "blue", category.getCreatedAt());
+        categoryCache = new CategoryCache(categoryRepository, cacheEnabled(), 100, Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(categoryService, "categoryCache", categoryCache);
+    }
+
+    // Every test here runs without the category cache; CachedCategoryServiceTest reruns them with it on
+    protected boolean cacheEnabled() {
+        return false;
     }
 
     @Test
@@ -117,22 +175,83 @@ public class CategoryServiceTest {
     }
 
     @Test
-    void deleteCategory_shouldCallDeleteById_whenCategoryExists() {
-        // Arrange
-        when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
-        doNothing().when(categoryRepository).deleteById(1L);
+    void deleteCategory_shouldDeleteWithOneStatement_whenCategoryExists() {
+        when(categoryRepository.deleteCategoryById(1L)).thenReturn(1);
 
         categoryService.deleteCategory(1L);
 
-        verify(categoryRepository, times(1)).deleteById(1L);
+        verify(categoryRepository, never()).findById(anyLong());
+        verify(categoryRepository, times(1)).deleteCategoryById(1L);
+        verifyNoInteractions(taskRepository);
+        verify(categoryTaskCounts, times(1)).removeCategory(1L);
+        verify(cacheInvalidationBus).categoryDeleted(1L);
     }
 
     @Test
-    void deleteCategory_shouldThrowException_whenCategoryNotFound() {
-        when(categoryRepository.findById(99L)).thenReturn(Optional.empty());
+    void deleteCategory_shouldThrowNotFound_whenNothingWasDeleted() {
+        when(categoryRepository.deleteCategoryById(99L)).thenReturn(0);
 
-        assertThrows(RuntimeException.class, () -> categoryService.deleteCategory(99L));
-        verify(categoryRepository, never()).deleteById(anyLong());
+        assertThrows(ResourceNotFoundException.class, () -> categoryService.deleteCategory(99L));
+        verify(categoryTaskCounts, never()).removeCategory(anyLong());
+    }
+
+    @Test
+    void deleteCategory_shouldRejectWithTaskCount_whenTasksRemain() {
+        when(categoryRepository.deleteCategoryById(1L)).thenThrow(new DataIntegrityViolationException("fk_task_category"));
+        when(taskRepository.countByCategoryId(1L)).thenReturn(3L);
+
+        ResourceConflictException exception = assertThrows(ResourceConflictException.class,
+                () -> categoryService.deleteCategory(1L, CategoryDeletePolicy.REJECT, null));
+
+        assertThat(exception.getMessage()).startsWith("Category 1 still has 3 tasks");
+        verify(categoryTaskCounts, never()).removeCategory(anyLong());
+    }
+
+    @Test
+    void deleteCategory_shouldDeleteTasksInBulk_whenCascading() {
+        List<TaskStatusKey> keys = List.of(key(10L, 1L, TaskStatus.PENDING), key(11L, 1L, TaskStatus.COMPLETED));
+        when(taskRepository.findStatusKeysByCategoryId(1L)).thenReturn(keys);
+        when(taskRepository.deleteAllByCategoryId(1L)).thenReturn(2);
+        when(categoryRepository.deleteCategoryById(1L)).thenReturn(1);
+
+        categoryService.deleteCategory(1L, CategoryDeletePolicy.CASCADE, null);
+
+        verify(taskSearchIndex).remove(10L);
+        verify(taskSearchIndex).remove(11L);
+        verify(taskUpdateBroadcaster).deleted(10L, 1L);
+        verify(taskUpdateBroadcaster).deleted(11L, 1L);
+        verify(cacheInvalidationBus).tasksChanged(List.of(TaskChange.deleted(10L, 1L, TaskStatus.PENDING),
+                TaskChange.deleted(11L, 1L, TaskStatus.COMPLETED)));
+        verify(taskRepository, never()).deleteTaskById(anyLong());
+        verify(categoryTaskCounts).removeCategory(1L);
+    }
+
+    @Test
+    void deleteCategory_shouldMoveTasksInBulk_whenReassigning() {
+        Category target = new Category(2L, "Home", "Home tasks", "green", Instant.now());
+        Task moved = new Task(10L, "Task 10", null, TaskStatus.PENDING, target);
+        List<TaskStatusKey> keys = List.of(key(10L, 1L, TaskStatus.PENDING));
+        when(categoryRepository.findById(2L)).thenReturn(Optional.of(target));
+        when(taskRepository.findStatusKeysByCategoryId(1L)).thenReturn(keys);
+        when(taskRepository.reassignCategory(eq(1L), eq(2L), any(Instant.class))).thenReturn(1);
+        when(taskRepository.findByIdIn(List.of(10L))).thenReturn(List.of(moved));
+        when(taskUpdateBroadcaster.hasSubscribers()).thenReturn(true);
+        when(categoryRepository.deleteCategoryById(1L)).thenReturn(1);
+
+        categoryService.deleteCategory(1L, CategoryDeletePolicy.REASSIGN, 2L);
+
+        verify(categoryTaskCounts).reassigned(1L, 2L);
+        verify(taskUpdateBroadcaster).updated(1L, moved);
+        verify(cacheInvalidationBus).tasksChanged(List.of(TaskChange.moved(10L, 1L, 2L, TaskStatus.PENDING)));
+        verify(categoryRepository).deleteCategoryById(1L);
+    }
+
+    @Test
+    void deleteCategory_shouldRequireAnotherTarget_whenReassigning() {
+        assertThrows(RuntimeException.class, () -> categoryService.deleteCategory(1L, CategoryDeletePolicy.REASSIGN, 1L));
+        assertThrows(RuntimeException.class, () -> categoryService.deleteCategory(1L, CategoryDeletePolicy.REASSIGN, null));
+        verifyNoInteractions(taskRepository);
+        verify(categoryRepository, never()).deleteCategoryById(anyLong());
     }
 
     @Test
@@ -142,7 +261,7 @@ public class CategoryServiceTest {
         List<Category> categoryList = Collections.singletonList(category);
         Page<Category> categoryPage = new PageImpl<>(categoryList, pageable, 1);
 
-        when(categoryRepository.findAll(any(Pageable.class))).thenReturn(categoryPage);
+        when(categoryRepository.findFirstPage(any(Pageable.class))).thenReturn(categoryPage);
         when(categoryMapper.toCategoryResponseDTO(any(Category.class))).thenReturn(categoryResponseDto);
 
         PagedResponseDto<CategoryResponseDto> result = categoryService.getCategories(queryDto);
@@ -150,10 +269,25 @@ public class CategoryServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getContent()).hasSize(1);
         assertThat(result.getTotalPages()).isEqualTo(1);
-        verify(categoryRepository, times(1)).findAll(any(Pageable.class));
+        verify(categoryRepository, times(1)).findFirstPage(any(Pageable.class));
+        verify(categoryRepository, never()).findAll(any(Pageable.class));
         verify(categoryRepository, never()).findCategoryByName(anyString(), any(Pageable.class));
     }
 
+    @Test
+    void getCategories_shouldNotUseTheQueryCache_pastTheFirstPage() {
+        CategoryQueryDto queryDto = new CategoryQueryDto();
+        queryDto.setPage(2);
+        Pageable pageable = PageRequest.of(2, 10, Sort.by(Sort.Direction.ASC, "name"));
+
+        when(categoryRepository.findAll(pageable)).thenReturn(new PageImpl<>(Collections.singletonList(category), pageable, 21));
+        when(categoryMapper.toCategoryResponseDTO(any(Category.class))).thenReturn(categoryResponseDto);
+
+        categoryService.getCategories(queryDto);
+
+        verify(categoryRepository, never()).findFirstPage(any(Pageable.class));
+    }
+
     @Test
     void getCategories_shouldCallFindByName_whenSearchIsProvided() {
         CategoryQueryDto queryDto = new CategoryQueryDto();
@@ -171,4 +305,89 @@ public class CategoryServiceTest {
         verify(categoryRepository, never()).findAll(any(Pageable.class));
         verify(categoryRepository, times(1)).findCategoryByName("Work", pageable);
     }
+
+    @Test
+    void getCategories_shouldSeekWithoutCount_whenPagingIsKeyset() {
+        CategoryQueryDto queryDto = new CategoryQueryDto();
+        queryDto.setPaging("keyset");
+        Sort sort = Sort.by(Sort.Direction.ASC, "name");
+        Window<Category> window = Window.from(Collections.singletonList(category),
+                i -> ScrollPosition.forward(Map.of("name", "Work", "id", 1L)), true);
+
+        when(categoryRepository.findAllBy(ScrollPosition.keyset(), sort, Limit.of(10))).thenReturn(window);
+        when(categoryMapper.toCategoryResponseDTO(any(Category.class))).thenReturn(categoryResponseDto);
+
+        PagedResponseDto<CategoryResponseDto> result = categoryService.getCategories(queryDto);
+
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.getNextCursor()).isNotBlank();
+        assertThat(result.getTotalItems()).isNull();
+        verify(categoryRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    void getCategories_shouldReturnSliceWithoutTotals_whenCountIsNone() {
+        CategoryQueryDto queryDto = new CategoryQueryDto();
+        queryDto.setCount("none");
+        Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "name"));
+
+        when(categoryRepository.findSliceBy(pageable)).thenReturn(new SliceImpl<>(Collections.singletonList(category), pageable, false));
+        when(categoryMapper.toCategoryResponseDTO(any(Category.class))).thenReturn(categoryResponseDto);
+
+        PagedResponseDto<CategoryResponseDto> result = categoryService.getCategories(queryDto);
+
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.getHasNext()).isFalse();
+        assertThat(result.getTotalPages()).isNull();
+        assertThat(result.getCountMode()).isEqualTo("none");
+        verify(categoryRepository, never()).count();
+    }
+
+    @Test
+    void getCategories_shouldAttachTaskStats_whenWithStats() {
+        CategoryQueryDto queryDto = new CategoryQueryDto();
+        queryDto.setWithStats(true);
+        Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "name"));
+
+        when(categoryRepository.findFirstPage(pageable)).thenReturn(new PageImpl<>(Collections.singletonList(category), pageable, 1));
+        when(categoryMapper.toCategoryResponseDTO(any(Category.class))).thenReturn(categoryResponseDto);
+        when(categoryTaskCounts.countsOf(List.of(1L))).thenReturn(Map.of(1L, Map.of(TaskStatus.PENDING, 2L, TaskStatus.COMPLETED, 1L)));
+
+        PagedResponseDto<CategoryResponseDto> result = categoryService.getCategories(queryDto);
+
+        CategoryStatsDto stats = result.getContent().get(0).getTaskStats();
+        assertThat(stats.getTotal()).isEqualTo(3L);
+        assertThat(stats.getByStatus()).containsExactly(
+                Map.entry("Pending", 2L), Map.entry("In Progress", 0L), Map.entry("Completed", 1L));
+    }
+
+    @Test
+    void getCategories_shouldNotCountTasks_withoutWithStats() {
+        CategoryQueryDto queryDto = new CategoryQueryDto();
+        Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "name"));
+
+        when(categoryRepository.findFirstPage(pageable)).thenReturn(new PageImpl<>(Collections.singletonList(category), pageable, 1));
+        when(categoryMapper.toCategoryResponseDTO(any(Category.class))).thenReturn(categoryResponseDto);
+
+        PagedResponseDto<CategoryResponseDto> result = categoryService.getCategories(queryDto);
+
+        assertThat(result.getContent().get(0).getTaskStats()).isNull();
+        verifyNoInteractions(categoryTaskCounts);
+    }
+
+    @Test
+    void getCategories_shouldRejectUnknownCountMode() {
+        CategoryQueryDto queryDto = new CategoryQueryDto();
+        queryDto.setCount("approximate");
+
+        assertThrows(RuntimeException.class, () -> categoryService.getCategories(queryDto));
+    }
+
+    private static TaskStatusKey key(Long id, Long categoryId, TaskStatus status) {
+        TaskStatusKey key = mock(TaskStatusKey.class);
+        when(key.getId()).thenReturn(id);
+        when(key.getCategoryId()).thenReturn(categoryId);
+        when(key.getStatus()).thenReturn(status);
+        return key;
+    }
 }
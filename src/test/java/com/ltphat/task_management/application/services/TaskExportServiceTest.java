@@ -0,0 +1,97 @@
+package com.ltphat.task_management.application.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ltphat.task_management.application.dtos.category.CategoryResponseDto;
+import com.ltphat.task_management.application.dtos.task.TaskResponseDto;
+import com.ltphat.task_management.application.mappers.TaskMapper;
+import com.ltphat.task_management.application.transfer.TaskFileFormat;
+import com.ltphat.task_management.domain.model.Category;
+import com.ltphat.task_management.domain.model.Task;
+import com.ltphat.task_management.domain.model.TaskStatus;
+import com.ltphat.task_management.domain.repository.TaskRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskExportServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskMapper taskMapper;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private TaskExportService taskExportService;
+
+    private Task first;
+    private Task second;
+
+    @BeforeEach
+    void setUp() {
+        Category category = new Category(1L, "Work", "Work related tasks", "blue", null);
+        first = new Task(1L, "Task 1", "Plain", TaskStatus.PENDING, category);
+        second = new Task(2L, "Task, 2", "Says \"hi\"", TaskStatus.COMPLETED, category);
+    }
+
+    @Test
+    void testExportTasks_Ndjson() throws Exception {
+        CategoryResponseDto categoryResponseDto = new CategoryResponseDto(1L, "Work", "Work related tasks", "blue", null);
+        when(taskRepository.streamAllWithCategory()).thenReturn(Stream.of(first, second));
+        when(taskMapper.taskToTaskResponseDto(first)).thenReturn(new TaskResponseDto(1L, "Task 1", "Plain", TaskStatus.PENDING, categoryResponseDto));
+        when(taskMapper.taskToTaskResponseDto(second)).thenReturn(new TaskResponseDto(2L, "Task, 2", "Says \"hi\"", TaskStatus.COMPLETED, categoryResponseDto));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long rows = taskExportService.exportTasks(TaskFileFormat.NDJSON, output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, rows);
+        assertEquals(2, lines.length);
+        assertEquals("Task, 2", objectMapper.readTree(lines[1]).get("name").asText());
+        assertEquals("Work", objectMapper.readTree(lines[0]).get("category").get("name").asText());
+    }
+
+    @Test
+    void testExportTasks_CsvDetachesEveryRow() throws Exception {
+        when(taskRepository.streamAllWithCategory()).thenReturn(Stream.of(first, second));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        taskExportService.exportTasks(TaskFileFormat.CSV, output);
+
+        assertEquals("id,name,description,status,categoryId,categoryName\n"
+                + "1,Task 1,Plain,Pending,1,Work\n"
+                + "2,\"Task, 2\",\"Says \"\"hi\"\"\",Completed,1,Work\n", output.toString(StandardCharsets.UTF_8));
+        verify(entityManager, times(1)).detach(first);
+        verify(entityManager, times(1)).detach(second);
+        verifyNoInteractions(taskMapper);
+    }
+
+    @Test
+    void testExportTasks_ClosesCursorOnFailure() throws Exception {
+        Stream<Task> tasks = Stream.of(first).onClose(() -> first.setName("closed"));
+        when(taskRepository.streamAllWithCategory()).thenReturn(tasks);
+        when(taskMapper.taskToTaskResponseDto(first)).thenThrow(new RuntimeException("boom"));
+
+        assertThrows(RuntimeException.class, () -> taskExportService.exportTasks(TaskFileFormat.NDJSON, new ByteArrayOutputStream()));
+        assertEquals("closed", first.getName());
+    }
+}
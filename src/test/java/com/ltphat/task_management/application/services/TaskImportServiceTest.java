@@ -0,0 +1,229 @@
+package com.ltphat.task_management.application.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ltphat.task_management.application.cache.invalidation.CacheInvalidationBus;
+import com.ltphat.task_management.application.changes.ChangeRecorder;
+import com.ltphat.task_management.application.stream.TaskUpdateBroadcaster;
+import com.ltphat.task_management.application.dtos.task.TaskImportRejectionDto;
+import com.ltphat.task_management.application.dtos.task.TaskImportResultDto;
+import com.ltphat.task_management.application.mappers.TaskMapper;
+import com.ltphat.task_management.application.search.TaskSearchIndex;
+import com.ltphat.task_management.application.stats.CategoryTaskCounts;
+import com.ltphat.task_management.application.transfer.TaskFileFormat;
+import com.ltphat.task_management.domain.model.Category;
+import com.ltphat.task_management.domain.model.Task;
+import com.ltphat.task_management.domain.repository.CategoryRepository;
+import com.ltphat.task_management.domain.repository.TaskRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskImportServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private TaskSearchIndex taskSearchIndex;
+
+    @Mock
+    private CategoryTaskCounts categoryTaskCounts;
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Mock
+    private ChangeRecorder changeRecorder;
+
+    @Mock
+    private TaskUpdateBroadcaster taskUpdateBroadcaster;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private TaskMapper taskMapper = TaskMapper.INSTANCE;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
+    @InjectMocks
+    private TaskImportService taskImportService;
+
+    private final Category category = new Category(1L, "Work", "Work related tasks", "blue", null);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(taskImportService, "commitSize", 2);
+    }
+
+    @Test
+    void testImportTasks_CsvRejectsInvalidRowsAndCommitsInChunks() {
+        when(categoryRepository.findAllById(any())).thenReturn(List.of(category));
+        when(taskRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        String csv = """
+                name,description,status,categoryId
+                Task 1,"Line one
+                line two, with comma",Pending,1
+                ,No name,Pending,1
+                Task 3,Unknown category,Pending,9
+                Task 4,Bad id,Pending,abc
+                Task 5,,Completed,1
+                """;
+
+        TaskImportResultDto result = taskImportService.importTasks(TaskFileFormat.CSV, body(csv), 0);
+
+        assertTrue(result.isCompleted());
+        assertEquals(5, result.getProcessed());
+        assertEquals(2, result.getImported());
+        assertEquals(3, result.getRejected());
+        assertEquals(5, result.getCheckpoint());
+        assertEquals(List.of(
+                new TaskImportRejectionDto(2, "name is required!"),
+                new TaskImportRejectionDto(3, "Category not found with id: 9"),
+                new TaskImportRejectionDto(4, "categoryId is not a number: abc")), result.getRejectedRows());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Task>> saved = ArgumentCaptor.forClass(List.class);
+        verify(taskRepository, times(3)).saveAll(saved.capture());
+        assertEquals("Line one\nline two, with comma", saved.getAllValues().get(0).get(0).getDescription());
+        // the category map is filled once per unseen id, not per row
+        verify(categoryRepository, times(1)).findAllById(Set.of(1L));
+        verify(categoryRepository, times(1)).findAllById(Set.of(9L));
+        verify(taskSearchIndex, times(2)).index(any(Task.class));
+        verify(categoryTaskCounts, times(2)).added(any(Task.class));
+    }
+
+    @Test
+    void testImportTasks_NdjsonRejectsMalformedLines() {
+        when(categoryRepository.findAllById(any())).thenReturn(List.of(category));
+        when(taskRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        String ndjson = """
+                {"name":"Task 1","status":"Pending","categoryId":1}
+
+                {"name":"Task 2",
+                {"name":"Task 3","categoryId":1}
+                """;
+
+        TaskImportResultDto result = taskImportService.importTasks(TaskFileFormat.NDJSON, body(ndjson), 0);
+
+        assertTrue(result.isCompleted());
+        assertEquals(3, result.getProcessed());
+        assertEquals(2, result.getImported());
+        assertEquals(1, result.getRejectedRows().size());
+        assertEquals(2, result.getRejectedRows().get(0).getRow());
+        assertTrue(result.getRejectedRows().get(0).getReason().startsWith("Malformed JSON"));
+    }
+
+    @Test
+    void testImportTasks_RejectsRecordsOverTheLengthLimit() {
+        ReflectionTestUtils.setField(taskImportService, "maxRecordChars", 40);
+        when(categoryRepository.findAllById(any())).thenReturn(List.of(category));
+        when(taskRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        String csv = """
+                name,categoryId
+                Task 1,1
+                "Unclosed quote that swallows,1
+                Task 3,1
+                "the rest of the file,1
+                """;
+        String ndjson = "{\"name\":\"Task 1\",\"categoryId\":1}\n"
+                + "{\"name\":\"" + "x".repeat(100) + "\",\"categoryId\":1}\n"
+                + "{\"name\":\"Task 3\",\"categoryId\":1}\n";
+
+        TaskImportResultDto csvResult = taskImportService.importTasks(TaskFileFormat.CSV, body(csv), 0);
+        TaskImportResultDto ndjsonResult = taskImportService.importTasks(TaskFileFormat.NDJSON, body(ndjson), 0);
+
+        assertTrue(csvResult.isCompleted());
+        assertEquals(1, csvResult.getImported());
+        assertEquals(List.of(new TaskImportRejectionDto(2, "Record is longer than 40 characters")), csvResult.getRejectedRows());
+        assertTrue(ndjsonResult.isCompleted());
+        assertEquals(2, ndjsonResult.getImported());
+        assertEquals(List.of(new TaskImportRejectionDto(2, "Record is longer than 40 characters")), ndjsonResult.getRejectedRows());
+    }
+
+    @Test
+    void testImportTasks_ResumesFromCheckpointAfterFailure() {
+        when(categoryRepository.findAllById(any())).thenReturn(List.of(category));
+        when(taskRepository.saveAll(anyList()))
+                .thenAnswer(invocation -> invocation.getArgument(0))
+                .thenThrow(new RuntimeException("Connection lost"));
+        String ndjson = """
+                {"name":"Task 1","categoryId":1}
+                {"name":"Task 2","categoryId":1}
+                {"name":"Task 3","categoryId":1}
+                {"name":"Task 4","categoryId":1}
+                {"name":"Task 5","categoryId":1}
+                """;
+
+        TaskImportResultDto failed = taskImportService.importTasks(TaskFileFormat.NDJSON, body(ndjson), 0);
+
+        assertFalse(failed.isCompleted());
+        assertEquals("Connection lost", failed.getError());
+        assertEquals(2, failed.getImported());
+        assertEquals(2, failed.getCheckpoint());
+
+        reset(taskRepository);
+        when(taskRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        TaskImportResultDto resumed = taskImportService.importTasks(TaskFileFormat.NDJSON, body(ndjson), failed.getCheckpoint());
+
+        assertTrue(resumed.isCompleted());
+        assertEquals(3, resumed.getProcessed());
+        assertEquals(3, resumed.getImported());
+        assertEquals(5, resumed.getCheckpoint());
+    }
+
+    @Test
+    void testImportTasks_CsvWithoutRequiredColumnsFails() {
+        TaskImportResultDto result = taskImportService.importTasks(TaskFileFormat.CSV, body("title,categoryId\nTask 1,1\n"), 0);
+
+        assertFalse(result.isCompleted());
+        assertEquals("The CSV header must contain the name and categoryId columns", result.getError());
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void testImportTasks_NegativeResumeFrom() {
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> taskImportService.importTasks(TaskFileFormat.NDJSON, body(""), -1));
+
+        assertEquals("resumeFrom must not be negative", exception.getMessage());
+    }
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -3,14 +3,34 @@ package com.ltphat.task_management.application.services;
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.ltphat.task_management.application.cache.CategoryCache;
+import com.ltphat.task_management.application.cache.CollectionVersions;
+import com.ltphat.task_management.application.cache.invalidation.CacheInvalidationBus;
+import com.ltphat.task_management.application.changes.ChangeRecorder;
+import com.ltphat.task_management.application.stream.TaskUpdateBroadcaster;
 import com.ltphat.task_management.application.dtos.category.CategoryResponseDto;
+import com.ltphat.task_management.application.dtos.shared.BatchResponseDto;
 import com.ltphat.task_management.application.dtos.shared.PagedResponseDto;
+import com.ltphat.task_management.application.dtos.task.TaskCategoryStatsDto;
+import com.ltphat.task_management.application.dtos.task.TaskDto;
+import com.ltphat.task_management.application.dtos.task.TaskPatchDto;
 import com.ltphat.task_management.application.dtos.task.TaskResponseDto;
+import com.ltphat.task_management.application.dtos.task.TaskStatsDto;
 import com.ltphat.task_management.application.mappers.TaskMapper;
+import com.ltphat.task_management.application.pagination.CountEstimator;
+import com.ltphat.task_management.application.pagination.CountMode;
+import com.ltphat.task_management.application.pagination.KeysetCursorCodec;
+import com.ltphat.task_management.application.search.SearchHits;
+import com.ltphat.task_management.application.search.TaskSearchIndex;
+import com.ltphat.task_management.application.stats.CategoryTaskCounts;
 import com.ltphat.task_management.domain.model.Category;
 import com.ltphat.task_management.domain.model.Task;
+import com.ltphat.task_management.domain.model.TaskStatus;
 import com.ltphat.task_management.domain.repository.CategoryRepository;
 import com.ltphat.task_management.domain.repository.TaskRepository;
+import com.ltphat.task_management.domain.repository.TaskStatusKey;
+import com.ltphat.task_management.exception.ResourceNotFoundException;
+import com.ltphat.task_management.application.dtos.task.TaskQueryDto;
 import com.ltphat.task_management.application.dtos.task.TaskRequestDto;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,17 +38,27 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.InjectMocks;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 
 @ExtendWith(MockitoExtension.class)
 @Slf4j
@@ -43,6 +73,30 @@ public class TaskServiceTest {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private TaskSearchIndex taskSearchIndex;
+
+    @Mock
+    private CategoryTaskCounts categoryTaskCounts;
+
+    @Mock
+    private CollectionVersions collectionVersions;
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Mock
+    private ChangeRecorder changeRecorder;
+
+    @Mock
+    private TaskUpdateBroadcaster taskUpdateBroadcaster;
+
+    @Spy
+    private KeysetCursorCodec keysetCursorCodec = new KeysetCursorCodec();
+
+    @Spy
+    private CountEstimator countEstimator = new CountEstimator(Duration.ofMinutes(1), 100);
+
     @InjectMocks
     private TaskService taskService;
 
@@ -56,9 +110,13 @@ public class TaskServiceTest {
         category = new Category(1L, "Work", "Work related tasks", "blue", Instant.now());
         categoryResponseDto = new CategoryResponseDto(1L, "Work", "Work related tasks", "blue", category.getCreatedAt());
 
-        task = new Task(1L, "Task 1", "Description of Task 1", "Pending", category);
-        taskRequestDto = new TaskRequestDto("Task 1", "Description of Task 1", "Pending",categoryResponseDto.getId());
-        taskResponseDto = new TaskResponseDto(1L, "Task 1", "Description of Task 1", "Pending", categoryResponseDto);
+        task = new Task(1L, "Task 1", "Description of Task 1", TaskStatus.PENDING, category);
+        taskRequestDto = new TaskRequestDto("Task 1", "Description of Task 1", TaskStatus.PENDING,categoryResponseDto.getId());
+        taskResponseDto = new TaskResponseDto(1L, "Task 1", "Description of Task 1", TaskStatus.PENDING, categoryResponseDto);
+
+        // category lookups go through the cache; disabled here so they hit the mocked repository
+        ReflectionTestUtils.setField(taskService, "categoryCache",
+                new CategoryCache(categoryRepository, false, 100, Duration.ofMinutes(1)));
     }
 
     @Test
@@ -75,8 +133,9 @@ public class TaskServiceTest {
         // Verifying the result
         assertNotNull(createdTask);
         assertEquals("Task 1", createdTask.getName());
-        assertEquals("Pending", createdTask.getStatus());
+        assertEquals(TaskStatus.PENDING, createdTask.getStatus());
         verify(taskRepository, times(1)).save(any(Task.class));  // Verifying repository save method was called
+        verify(taskSearchIndex, times(1)).index(task);
     }
     @Test
     void testCreateTask_CategoryNotFound() {
@@ -103,7 +162,7 @@ public class TaskServiceTest {
         when(taskMapper.taskToTaskResponseDto(any(Task.class))).thenReturn(taskResponseDto);
 
         // Act: Call the service method to get all tasks
-        PagedResponseDto<TaskResponseDto> pagedResponseDto = taskService.getAllTasks("", "name", "asc", 0, 5);
+        PagedResponseDto<TaskResponseDto> pagedResponseDto = taskService.getAllTasks("", null, "name", "asc", 0, 5);
 
         // Extracting the list of TaskResponseDto from the PagedResponseDto
         List<TaskResponseDto> taskDtos = pagedResponseDto.getContent();
@@ -134,7 +193,7 @@ public class TaskServiceTest {
         when(taskMapper.taskToTaskResponseDto(any(Task.class))).thenReturn(taskResponseDto);
 
         // Act: Call the service method to get all tasks
-        PagedResponseDto<TaskResponseDto> pagedResponseDto = taskService.getAllTasks(null, "name", "asc", 0, 5);
+        PagedResponseDto<TaskResponseDto> pagedResponseDto = taskService.getAllTasks(null, null, "name", "asc", 0, 5);
 
         // Extracting the list of TaskResponseDto from the PagedResponseDto
         List<TaskResponseDto> taskDtos = pagedResponseDto.getContent();
@@ -158,10 +217,10 @@ public class TaskServiceTest {
         List<Task> tasks = Arrays.asList(task); // A list of tasks
         PageImpl<Task> taskPage = new PageImpl<>(tasks, pageable, tasks.size());
 
-        when(taskRepository.findByNameContainingIgnoreCase("Task 1",pageable)).thenReturn(taskPage);
+        when(taskRepository.findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase("Task 1", "Task 1", pageable)).thenReturn(taskPage);
         when(taskMapper.taskToTaskResponseDto(any(Task.class))).thenReturn(taskResponseDto);
 
-        PagedResponseDto<TaskResponseDto> pagedResponseDto = taskService.getAllTasks("Task 1", "name", "asc", 0, 5);
+        PagedResponseDto<TaskResponseDto> pagedResponseDto = taskService.getAllTasks("Task 1", null, "name", "asc", 0, 5);
 
         List<TaskResponseDto> taskDtos = pagedResponseDto.getContent();
 
@@ -169,7 +228,7 @@ public class TaskServiceTest {
         assertEquals(1, taskDtos.size());
         assertEquals("Task 1", taskDtos.get(0).getName());
 
-        verify(taskRepository, times(1)).findByNameContainingIgnoreCase("Task 1",pageable); // Verify the repository's findAll method is called once
+        verify(taskRepository, times(1)).findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase("Task 1", "Task 1", pageable); // Verify the repository's findAll method is called once
         verify(taskMapper, times(1)).taskToTaskResponseDto(any(Task.class)); // Verify the mapper's method is called once
     }
 
@@ -180,19 +239,206 @@ public class TaskServiceTest {
         Pageable pageable = PageRequest.of(0, 5, sort); // Creates a Pageable with page 0, size 5
         PageImpl<Task> taskPage = new PageImpl<>(Collections.emptyList(), pageable, 0);
 
-        when(taskRepository.findByNameContainingIgnoreCase("Task 1",pageable)).thenReturn(taskPage);
+        when(taskRepository.findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase("Task 1", "Task 1", pageable)).thenReturn(taskPage);
 
-        PagedResponseDto<TaskResponseDto> pagedResponseDto = taskService.getAllTasks("Task 1", "name", "asc", 0, 5);
+        PagedResponseDto<TaskResponseDto> pagedResponseDto = taskService.getAllTasks("Task 1", null, "name", "asc", 0, 5);
 
         List<TaskResponseDto> taskDtos = pagedResponseDto.getContent();
 
         assertNotNull(taskDtos);
         assertEquals(0, taskDtos.size());
 
-        verify(taskRepository, times(1)).findByNameContainingIgnoreCase("Task 1",pageable); // Verify the repository's findAll method is called once
+        verify(taskRepository, times(1)).findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase("Task 1", "Task 1", pageable); // Verify the repository's findAll method is called once
         verify(taskMapper, never()).taskToTaskResponseDto(any(Task.class)); // Verify the mapper's method is called once
     }
 
+    @Test
+    void testGetAllTasks_SearchUsesIndexInRelevanceOrder() {
+        Task other = new Task(2L, "Other task", "Mentions Task 1", TaskStatus.PENDING, category);
+        TaskQueryDto queryDto = new TaskQueryDto();
+        queryDto.setSearch("Task 1");
+        queryDto.setSize(5);
+
+        when(taskSearchIndex.isReady()).thenReturn(true);
+        when(taskSearchIndex.search("Task 1", 0, 5)).thenReturn(new SearchHits(List.of(1L, 2L), 2));
+        when(taskRepository.findByIdIn(List.of(1L, 2L))).thenReturn(List.of(other, task));
+        when(taskMapper.taskToTaskResponseDto(task)).thenReturn(taskResponseDto);
+        when(taskMapper.taskToTaskResponseDto(other)).thenReturn(new TaskResponseDto(2L, "Other task", "Mentions Task 1", TaskStatus.PENDING, categoryResponseDto));
+
+        PagedResponseDto<TaskResponseDto> result = taskService.getAllTasks(queryDto);
+
+        assertEquals(List.of(1L, 2L), result.getContent().stream().map(TaskResponseDto::getId).toList());
+        assertEquals(2L, result.getTotalItems());
+        verify(taskRepository, never()).findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(anyString(), anyString(), any(Pageable.class));
+    }
+
+    @Test
+    void testGetAllTasks_SearchFallsBackToDatabaseUntilIndexIsReady() {
+        TaskQueryDto queryDto = new TaskQueryDto();
+        queryDto.setSearch("Task 1");
+        queryDto.setSize(5);
+        Pageable pageable = PageRequest.of(0, 5, Sort.by(Sort.Direction.ASC, "name"));
+
+        when(taskSearchIndex.isReady()).thenReturn(false);
+        when(taskRepository.findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase("Task 1", "Task 1", pageable)).thenReturn(new PageImpl<>(List.of(task), pageable, 1));
+        when(taskMapper.taskToTaskResponseDto(any(Task.class))).thenReturn(taskResponseDto);
+
+        PagedResponseDto<TaskResponseDto> result = taskService.getAllTasks(queryDto);
+
+        assertEquals(1, result.getContent().size());
+        verify(taskSearchIndex, never()).search(anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void testGetAllTasks_StatusFilterSearchesTheDatabase() {
+        TaskQueryDto queryDto = new TaskQueryDto();
+        queryDto.setSearch("Task 1");
+        queryDto.setStatus("pending");
+        queryDto.setSize(5);
+        Pageable pageable = PageRequest.of(0, 5, Sort.by(Sort.Direction.ASC, "name"));
+
+        lenient().when(taskSearchIndex.isReady()).thenReturn(true);
+        when(taskRepository.findByNameContainingIgnoreCaseAndStatusOrDescriptionContainingIgnoreCaseAndStatus("Task 1", TaskStatus.PENDING, "Task 1", TaskStatus.PENDING, pageable))
+                .thenReturn(new PageImpl<>(List.of(task), pageable, 1));
+        when(taskMapper.taskToTaskResponseDto(any(Task.class))).thenReturn(taskResponseDto);
+
+        PagedResponseDto<TaskResponseDto> result = taskService.getAllTasks(queryDto);
+
+        assertEquals(1, result.getContent().size());
+        verify(taskSearchIndex, never()).search(anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void testGetAllTasks_UnknownStatusIsRejected() {
+        TaskQueryDto queryDto = new TaskQueryDto();
+        queryDto.setStatus("archived");
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> taskService.getAllTasks(queryDto));
+
+        assertTrue(exception.getMessage().contains("archived"));
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void testGetTasksSlice_EstimateCountsPerStatus() {
+        Pageable pageable = PageRequest.of(0, 5, Sort.by(Sort.Direction.ASC, "name"));
+        when(taskRepository.findSliceByStatus(TaskStatus.COMPLETED, pageable)).thenReturn(new SliceImpl<>(List.of(task), pageable, false));
+        when(taskRepository.countByStatus(TaskStatus.COMPLETED)).thenReturn(1L);
+        when(taskRepository.count()).thenReturn(3L);
+        when(taskRepository.findSliceBy(pageable)).thenReturn(new SliceImpl<>(List.of(task), pageable, false));
+        when(taskMapper.taskToTaskResponseDto(any(Task.class))).thenReturn(taskResponseDto);
+
+        PagedResponseDto<TaskResponseDto> completed = taskService.getTasksSlice(null, TaskStatus.COMPLETED, "name", "asc", 0, 5, CountMode.ESTIMATE);
+        PagedResponseDto<TaskResponseDto> all = taskService.getTasksSlice(null, null, "name", "asc", 0, 5, CountMode.ESTIMATE);
+
+        // the cached total of one status must not be served for another filter
+        assertEquals(1L, completed.getTotalItems());
+        assertEquals(3L, all.getTotalItems());
+    }
+
+    @Test
+    void testGetTaskStats_ZeroFillsEveryStatus() {
+        Map<Long, Map<TaskStatus, Long>> counts = new TreeMap<>();
+        counts.put(1L, Map.of(TaskStatus.PENDING, 3L, TaskStatus.COMPLETED, 2L));
+        counts.put(2L, Map.of(TaskStatus.IN_PROGRESS, 4L));
+        when(categoryTaskCounts.all()).thenReturn(counts);
+
+        TaskStatsDto stats = taskService.getTaskStats();
+
+        assertEquals(9L, stats.getTotal());
+        assertEquals(List.of("Pending", "In Progress", "Completed"), List.copyOf(stats.getByStatus().keySet()));
+        assertEquals(List.of(3L, 4L, 2L), List.copyOf(stats.getByStatus().values()));
+        assertEquals(2, stats.getByCategory().size());
+        TaskCategoryStatsDto first = stats.getByCategory().get(0);
+        assertEquals(1L, first.getCategoryId());
+        assertEquals(5L, first.getTotal());
+        assertEquals(0L, first.getByStatus().get("In Progress"));
+        assertEquals(4L, stats.getByCategory().get(1).getByStatus().get("In Progress"));
+    }
+
+    @Test
+    void testGetTasksSlice_NoneSkipsCount() {
+        Pageable pageable = PageRequest.of(0, 5, Sort.by(Sort.Direction.ASC, "name"));
+        when(taskRepository.findSliceBy(pageable)).thenReturn(new SliceImpl<>(List.of(task), pageable, true));
+        when(taskMapper.taskToTaskResponseDto(any(Task.class))).thenReturn(taskResponseDto);
+
+        PagedResponseDto<TaskResponseDto> result = taskService.getTasksSlice(null, null, "name", "asc", 0, 5, CountMode.NONE);
+
+        assertEquals(1, result.getContent().size());
+        assertTrue(result.getHasNext());
+        assertEquals("none", result.getCountMode());
+        assertNull(result.getTotalItems());
+        verify(taskRepository, never()).count();
+        verify(taskRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    void testGetTasksSlice_EstimateReusesCachedCount() {
+        Pageable firstPage = PageRequest.of(0, 1, Sort.by(Sort.Direction.ASC, "name"));
+        Pageable secondPage = PageRequest.of(1, 1, Sort.by(Sort.Direction.ASC, "name"));
+        when(taskRepository.findSliceByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase("Task", "Task", firstPage)).thenReturn(new SliceImpl<>(List.of(task), firstPage, true));
+        when(taskRepository.findSliceByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase("Task", "Task", secondPage)).thenReturn(new SliceImpl<>(List.of(task), secondPage, false));
+        when(taskRepository.countByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase("Task", "Task")).thenReturn(2L);
+        when(taskMapper.taskToTaskResponseDto(any(Task.class))).thenReturn(taskResponseDto);
+
+        PagedResponseDto<TaskResponseDto> first = taskService.getTasksSlice("Task", null, "name", "asc", 0, 1, CountMode.ESTIMATE);
+        PagedResponseDto<TaskResponseDto> second = taskService.getTasksSlice("Task", null, "name", "asc", 1, 1, CountMode.ESTIMATE);
+
+        assertEquals(2L, first.getTotalItems());
+        assertEquals(2, first.getTotalPages());
+        assertEquals("estimate", second.getCountMode());
+        verify(taskRepository, times(1)).countByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase("Task", "Task");
+    }
+
+    @Test
+    void testGetTasksSlice_EstimateNeverBelowRowsSeen() {
+        Pageable pageable = PageRequest.of(3, 1, Sort.by(Sort.Direction.ASC, "name"));
+        when(taskRepository.findSliceBy(pageable)).thenReturn(new SliceImpl<>(List.of(task), pageable, true));
+        when(taskRepository.count()).thenReturn(1L);
+        when(taskMapper.taskToTaskResponseDto(any(Task.class))).thenReturn(taskResponseDto);
+
+        PagedResponseDto<TaskResponseDto> result = taskService.getTasksSlice("", null, "name", "asc", 3, 1, CountMode.ESTIMATE);
+
+        assertEquals(5L, result.getTotalItems());
+    }
+
+    @Test
+    void testGetTasksAfter_FirstPageReturnsCursorOfLastItem() {
+        Sort sort = Sort.by(Sort.Direction.ASC, "name");
+        ScrollPosition lastPosition = ScrollPosition.forward(Map.of("name", "Task 1", "id", 1L));
+        Window<Task> firstWindow = Window.from(List.of(task), i -> lastPosition, true);
+
+        when(taskRepository.findAllBy(ScrollPosition.keyset(), sort, Limit.of(1))).thenReturn(firstWindow);
+        when(taskRepository.findAllBy(lastPosition, sort, Limit.of(1))).thenReturn(Window.from(Collections.emptyList(), i -> lastPosition, false));
+        when(taskMapper.taskToTaskResponseDto(any(Task.class))).thenReturn(taskResponseDto);
+
+        PagedResponseDto<TaskResponseDto> firstPage = taskService.getTasksAfter(null, null, "name", "asc", null, 1);
+
+        assertEquals(1, firstPage.getContent().size());
+        assertNotNull(firstPage.getNextCursor());
+        assertNull(firstPage.getTotalPages());
+
+        // the cursor decodes back to the exact (name, id) seek position, with the id restored as a Long
+        PagedResponseDto<TaskResponseDto> secondPage = taskService.getTasksAfter(null, null, "name", "asc", firstPage.getNextCursor(), 1);
+
+        assertTrue(secondPage.getContent().isEmpty());
+        assertNull(secondPage.getNextCursor());
+        verify(taskRepository, times(1)).findAllBy(lastPosition, sort, Limit.of(1));
+    }
+
+    @Test
+    void testGetTasksAfter_RejectsCursorIssuedForAnotherSort() {
+        Sort sort = Sort.by(Sort.Direction.ASC, "name");
+        Window<Task> window = Window.from(List.of(task), i -> ScrollPosition.forward(Map.of("name", "Task 1", "id", 1L)), true);
+        when(taskRepository.findAllBy(ScrollPosition.keyset(), sort, Limit.of(1))).thenReturn(window);
+        when(taskMapper.taskToTaskResponseDto(any(Task.class))).thenReturn(taskResponseDto);
+
+        String cursor = taskService.getTasksAfter(null, null, "name", "asc", null, 1).getNextCursor();
+
+        assertThrows(RuntimeException.class, () -> taskService.getTasksAfter(null, null, "status", "asc", cursor, 1));
+        assertThrows(RuntimeException.class, () -> taskService.getTasksAfter(null, null, "name", "asc", "not-a-cursor", 1));
+    }
+
     @Test
     void testUpdateTask_Success() {
         // Mocking the repository
@@ -230,16 +476,221 @@ public class TaskServiceTest {
 
         verify(taskRepository, never()).save(any(Task.class));
     }
+    @Test
+    void testPatchTask_StatusOnlySkipsCategoryLookup() {
+        task.setVersion(3L);
+        when(taskRepository.findWithCategoryById(1L)).thenReturn(Optional.of(task));
+        when(taskRepository.patch(eq(1L), eq(3L), isNull(), isNull(), eq(TaskStatus.COMPLETED), isNull(), any(Instant.class))).thenReturn(1);
+        when(taskMapper.taskToTaskResponseDto(task)).thenReturn(taskResponseDto);
+
+        taskService.patchTask(1L, new TaskPatchDto(null, null, TaskStatus.COMPLETED, 1L, 3L));
+
+        assertEquals(TaskStatus.COMPLETED, task.getStatus());
+        assertEquals("Task 1", task.getName());
+        assertEquals(4L, task.getVersion());
+        verifyNoInteractions(categoryRepository);
+        verify(taskRepository, never()).save(any(Task.class));
+        verify(categoryTaskCounts).moved(1L, TaskStatus.PENDING, task);
+    }
+
+    @Test
+    void testPatchTask_NewCategoryIsLookedUp() {
+        Category home = new Category(2L, "Home", "Home tasks", "green", Instant.now());
+        task.setVersion(0L);
+        when(taskRepository.findWithCategoryById(1L)).thenReturn(Optional.of(task));
+        when(categoryRepository.findById(2L)).thenReturn(Optional.of(home));
+        when(taskRepository.patch(eq(1L), eq(0L), eq("Renamed"), isNull(), isNull(), eq(2L), any(Instant.class))).thenReturn(1);
+
+        taskService.patchTask(1L, new TaskPatchDto("Renamed", null, null, 2L, 0L));
+
+        assertEquals(home, task.getCategory());
+        assertEquals("Renamed", task.getName());
+        verify(categoryTaskCounts).moved(1L, TaskStatus.PENDING, task);
+    }
+
+    @Test
+    void testPatchTask_MissingTaskOrCategoryIsNotFound() {
+        task.setVersion(0L);
+        when(taskRepository.findWithCategoryById(99L)).thenReturn(Optional.empty());
+        when(taskRepository.findWithCategoryById(1L)).thenReturn(Optional.of(task));
+        when(categoryRepository.findById(42L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> taskService.patchTask(99L, new TaskPatchDto("Renamed", null, null, null, 0L)));
+        assertThrows(ResourceNotFoundException.class,
+                () -> taskService.patchTask(1L, new TaskPatchDto(null, null, null, 42L, 0L)));
+
+        verify(taskRepository, never()).patch(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testPatchTask_StaleVersionConflicts() {
+        task.setVersion(5L);
+        when(taskRepository.findWithCategoryById(1L)).thenReturn(Optional.of(task));
+
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> taskService.patchTask(1L, new TaskPatchDto("Renamed", null, null, null, 4L)));
+
+        verify(taskRepository, never()).patch(any(), any(), any(), any(), any(), any(), any());
+        verifyNoInteractions(categoryTaskCounts);
+    }
+
+    @Test
+    void testPatchTask_ConcurrentWriteConflicts() {
+        task.setVersion(5L);
+        when(taskRepository.findWithCategoryById(1L)).thenReturn(Optional.of(task));
+        when(taskRepository.patch(eq(1L), eq(5L), any(), any(), any(), any(), any())).thenReturn(0);
+
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> taskService.patchTask(1L, new TaskPatchDto("Renamed", null, null, null, 5L)));
+
+        assertEquals("Task 1", task.getName());
+        verifyNoInteractions(categoryTaskCounts, taskSearchIndex);
+    }
+
     @Test
     void testDeleteTask_Success() {
-        // Mocking repository behavior
-        doNothing().when(taskRepository).deleteById(1L);
+        TaskStatusKey key = mock(TaskStatusKey.class);
+        when(key.getCategoryId()).thenReturn(1L);
+        when(key.getStatus()).thenReturn(TaskStatus.PENDING);
+        when(categoryTaskCounts.isEnabled()).thenReturn(true);
+        when(taskRepository.findStatusKeys(List.of(1L))).thenReturn(List.of(key));
+        when(taskRepository.deleteTaskById(1L)).thenReturn(1);
 
-        // Call the service method
         taskService.deleteTask(1L);
 
-        // Verifying the repository's delete method was called
-        verify(taskRepository, times(1)).deleteById(1L);
+        verify(taskRepository, never()).findById(anyLong());
+        verify(taskRepository, never()).delete(any(Task.class));
+        verify(taskSearchIndex, times(1)).remove(1L);
+        verify(categoryTaskCounts, times(1)).removed(category.getId(), TaskStatus.PENDING);
     }
-}
 
+    @Test
+    void testDeleteTask_WithoutCountsIsOneStatement() {
+        when(taskRepository.deleteTaskById(1L)).thenReturn(1);
+
+        taskService.deleteTask(1L);
+
+        verify(taskRepository, never()).findStatusKeys(any());
+        verify(taskSearchIndex, times(1)).remove(1L);
+    }
+
+    @Test
+    void testDeleteTask_MissingTaskIsNotFound() {
+        when(categoryTaskCounts.isEnabled()).thenReturn(true);
+        when(taskRepository.findStatusKeys(List.of(1L))).thenReturn(List.of());
+        when(taskRepository.deleteTaskById(1L)).thenReturn(0);
+
+        assertThrows(ResourceNotFoundException.class, () -> taskService.deleteTask(1L));
+
+        verify(categoryTaskCounts, never()).removed(any(), any());
+        verifyNoInteractions(taskSearchIndex);
+    }
+
+    @Test
+    void testCreateTasks_ResolvesCategoriesOnceAndReportsPerItem() {
+        TaskRequestDto missingCategory = new TaskRequestDto("Task 2", null, TaskStatus.PENDING, 99L);
+        when(categoryRepository.findAllById(anySet())).thenReturn(List.of(category));
+        when(taskMapper.taskRequestDtoToTask(any(TaskRequestDto.class))).thenAnswer(invocation -> {
+            TaskRequestDto dto = invocation.getArgument(0);
+            return new Task(null, dto.getName(), dto.getDescription(), dto.getStatus(), null);
+        });
+        when(taskRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> {
+            List<Task> saved = invocation.getArgument(0);
+            saved.forEach(t -> t.setId(10L));
+            return saved;
+        });
+
+        BatchResponseDto result = taskService.createTasks(List.of(taskRequestDto, missingCategory, taskRequestDto));
+
+        assertEquals(2, result.getSucceeded());
+        assertEquals(1, result.getFailed());
+        assertEquals("created", result.getResults().get(0).getStatus());
+        assertEquals(10L, result.getResults().get(0).getId());
+        assertEquals("failed", result.getResults().get(1).getStatus());
+        assertEquals("Category not found with id: 99", result.getResults().get(1).getError());
+        assertEquals(2, result.getResults().get(2).getIndex());
+        verify(categoryRepository, times(1)).findAllById(anySet());
+        verify(categoryRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void testCreateTasks_FlushesInConfiguredChunks() {
+        ReflectionTestUtils.setField(taskService, "batchChunkSize", 2);
+        when(categoryRepository.findAllById(anySet())).thenReturn(List.of(category));
+        when(taskMapper.taskRequestDtoToTask(any(TaskRequestDto.class))).thenAnswer(invocation -> new Task());
+        when(taskRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        taskService.createTasks(List.of(taskRequestDto, taskRequestDto, taskRequestDto, taskRequestDto, taskRequestDto));
+
+        verify(taskRepository, times(3)).saveAllAndFlush(anyList());
+    }
+
+    @Test
+    void testCreateTasks_RejectsEmptyAndOversizedBatches() {
+        ReflectionTestUtils.setField(taskService, "batchMaxItems", 2);
+
+        assertThrows(RuntimeException.class, () -> taskService.createTasks(List.of()));
+        assertThrows(RuntimeException.class, () -> taskService.createTasks(List.of(taskRequestDto, taskRequestDto, taskRequestDto)));
+        verify(taskRepository, never()).saveAllAndFlush(anyList());
+    }
+
+    @Test
+    void testUpdateTasks_ReportsMissingTasksAndCategories() {
+        Category other = new Category(2L, "Home", "Home tasks", "green", Instant.now());
+        when(taskRepository.findByIdIn(List.of(1L, 2L, 1L))).thenReturn(List.of(task));
+        when(categoryRepository.findAllById(anySet())).thenReturn(List.of(category, other));
+        when(taskRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        BatchResponseDto result = taskService.updateTasks(List.of(
+                new TaskDto(1L, "Renamed", "New description", TaskStatus.COMPLETED, 2L),
+                new TaskDto(2L, "Missing", null, TaskStatus.PENDING, 1L),
+                new TaskDto(1L, "Renamed", null, TaskStatus.PENDING, 99L)));
+
+        assertEquals(1, result.getSucceeded());
+        assertEquals("Task not found with id: 2", result.getResults().get(1).getError());
+        assertEquals("Category not found with id: 99", result.getResults().get(2).getError());
+        assertEquals("Renamed", task.getName());
+        assertEquals(other, task.getCategory());
+        verify(taskSearchIndex, times(1)).index(task);
+        verify(categoryTaskCounts, times(1)).moved(1L, TaskStatus.PENDING, task);
+    }
+
+    @Test
+    void testUpdateTasks_RejectsARepeatedId() {
+        Category other = new Category(2L, "Home", "Home tasks", "green", Instant.now());
+        Category third = new Category(3L, "Errands", "", "red", Instant.now());
+        when(taskRepository.findByIdIn(List.of(1L, 1L))).thenReturn(List.of(task));
+        when(categoryRepository.findAllById(anySet())).thenReturn(List.of(other, third));
+        when(taskRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        BatchResponseDto result = taskService.updateTasks(List.of(
+                new TaskDto(1L, "Moved", null, TaskStatus.PENDING, 2L),
+                new TaskDto(1L, "Moved again", null, TaskStatus.PENDING, 3L)));
+
+        assertEquals(1, result.getSucceeded());
+        assertEquals("Duplicate id in batch: 1", result.getResults().get(1).getError());
+        assertEquals(other, task.getCategory());
+        verify(categoryTaskCounts, times(1)).moved(eq(1L), eq(TaskStatus.PENDING), any(Task.class));
+        verify(taskUpdateBroadcaster, times(1)).updated(1L, task);
+    }
+
+    @Test
+    void testDeleteTasks_DeletesExistingIdsInOneStatement() {
+        TaskStatusKey existing = mock(TaskStatusKey.class);
+        when(existing.getId()).thenReturn(1L);
+        when(existing.getCategoryId()).thenReturn(1L);
+        when(existing.getStatus()).thenReturn(TaskStatus.PENDING);
+        when(taskRepository.findStatusKeys(List.of(1L, 2L))).thenReturn(List.of(existing));
+
+        BatchResponseDto result = taskService.deleteTasks(List.of(1L, 2L));
+
+        assertEquals(1, result.getSucceeded());
+        assertEquals("deleted", result.getResults().get(0).getStatus());
+        assertEquals("Task not found with id: 2", result.getResults().get(1).getError());
+        verify(taskRepository, times(1)).deleteAllByIdInBatch(List.of(1L));
+        verify(taskRepository, never()).deleteById(anyLong());
+        verify(taskSearchIndex, times(1)).remove(1L);
+        verify(categoryTaskCounts, times(1)).removed(1L, TaskStatus.PENDING);
+    }
+}
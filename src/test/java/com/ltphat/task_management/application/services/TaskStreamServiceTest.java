@@ -0,0 +1,100 @@
+package com.ltphat.task_management.application.services;
+
+import com.ltphat.task_management.application.dtos.task.TaskResponseDto;
+import com.ltphat.task_management.application.mappers.TaskMapper;
+import com.ltphat.task_management.domain.model.Category;
+import com.ltphat.task_management.domain.model.Task;
+import com.ltphat.task_management.domain.model.TaskStatus;
+import com.ltphat.task_management.domain.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskStreamServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Spy
+    private TaskMapper taskMapper = TaskMapper.INSTANCE;
+
+    @InjectMocks
+    private TaskStreamService taskStreamService;
+
+    private final Sort sort = Sort.by(Sort.Order.asc("name"));
+    private final ScrollPosition afterFirstPage = ScrollPosition.forward(Map.of("name", "Task 2", "id", 2L));
+    private Task first;
+    private Task second;
+    private Task third;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(taskStreamService, "taskQueryScheduler", Schedulers.immediate());
+        ReflectionTestUtils.setField(taskStreamService, "pageSize", 2);
+        Category category = new Category(1L, "Work", "Work related tasks", "blue", null);
+        first = new Task(1L, "Task 1", "First", TaskStatus.PENDING, category);
+        second = new Task(2L, "Task 2", "Second", TaskStatus.PENDING, category);
+        third = new Task(3L, "Task 3", "Third", TaskStatus.COMPLETED, category);
+    }
+
+    @Test
+    void testStreamTasks_FollowsKeysetPagesUntilTheLast() {
+        when(taskRepository.findAllBy(ScrollPosition.keyset(), sort, Limit.of(2)))
+                .thenReturn(Window.from(List.of(first, second), i -> afterFirstPage, true));
+        when(taskRepository.findAllBy(afterFirstPage, sort, Limit.of(2)))
+                .thenReturn(Window.from(List.of(third), i -> afterFirstPage, false));
+
+        List<TaskResponseDto> tasks = taskStreamService.streamTasks(null, null, "name", "asc").collectList().block();
+
+        assertEquals(List.of("Task 1", "Task 2", "Task 3"), tasks.stream().map(TaskResponseDto::getName).toList());
+        assertEquals("Work", tasks.get(2).getCategory().getName());
+        verify(taskRepository, times(2)).findAllBy(any(), any(), any());
+    }
+
+    @Test
+    void testStreamTasks_ReadsNoPageAheadOfDemand() {
+        when(taskRepository.findAllBy(ScrollPosition.keyset(), sort, Limit.of(2)))
+                .thenReturn(Window.from(List.of(first, second), i -> afterFirstPage, true));
+
+        List<TaskResponseDto> tasks = taskStreamService.streamTasks("", null, "name", "asc").take(2).collectList().block();
+
+        assertEquals(2, tasks.size());
+        verify(taskRepository, times(1)).findAllBy(any(), any(), any());
+    }
+
+    @Test
+    void testStreamTasks_FiltersByName() {
+        when(taskRepository.findByNameOrDescriptionContainingIgnoreCase("task", ScrollPosition.keyset(), sort, Limit.of(2)))
+                .thenReturn(Window.from(List.of(first), i -> afterFirstPage, false));
+
+        List<TaskResponseDto> tasks = taskStreamService.streamTasks("task", null, "name", "asc").collectList().block();
+
+        assertEquals(1, tasks.size());
+        verify(taskRepository, never()).findAllBy(any(), any(), any());
+    }
+
+    @Test
+    void testStreamTasks_IsLazyUntilSubscribed() {
+        taskStreamService.streamTasks(null, null, "name", "asc");
+
+        verifyNoInteractions(taskRepository);
+    }
+}
@@ -0,0 +1,131 @@
+package com.ltphat.task_management.application.stats;
+
+import com.ltphat.task_management.domain.model.Category;
+import com.ltphat.task_management.domain.model.Task;
+import com.ltphat.task_management.domain.model.TaskStatus;
+import com.ltphat.task_management.domain.repository.TaskRepository;
+import com.ltphat.task_management.domain.repository.TaskStatusCount;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CategoryTaskCountsTest {
+
+    private TaskRepository taskRepository;
+    private CategoryTaskCounts counts;
+    private Category work;
+    private Category home;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = mock(TaskRepository.class);
+        counts = new CategoryTaskCounts(taskRepository, true);
+        work = new Category(1L, "Work", "Work related tasks", "blue", Instant.now());
+        home = new Category(2L, "Home", "Home tasks", "green", Instant.now());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void countsOf_shouldServeRebuiltCountsWithoutQuerying() {
+        List<TaskStatusCount> grouped = List.of(statusCount(1L, TaskStatus.PENDING, 3), statusCount(1L, TaskStatus.COMPLETED, 1));
+        when(taskRepository.countByCategoryAndStatus()).thenReturn(grouped);
+        counts.rebuild();
+
+        Map<Long, Map<TaskStatus, Long>> result = counts.countsOf(List.of(1L, 2L));
+
+        assertThat(result.get(1L)).containsEntry(TaskStatus.PENDING, 3L)
+                .containsEntry(TaskStatus.IN_PROGRESS, 0L)
+                .containsEntry(TaskStatus.COMPLETED, 1L);
+        assertThat(result.get(2L).values()).containsOnly(0L);
+        verify(taskRepository, never()).countByCategoryAndStatus(anyCollection());
+    }
+
+    @Test
+    void countsOf_shouldQueryThePageUntilRebuilt() {
+        List<TaskStatusCount> grouped = List.of(statusCount(1L, TaskStatus.PENDING, 2));
+        when(taskRepository.countByCategoryAndStatus(List.of(1L, 2L))).thenReturn(grouped);
+
+        Map<Long, Map<TaskStatus, Long>> result = counts.countsOf(List.of(1L, 2L));
+
+        assertThat(counts.isReady()).isFalse();
+        assertThat(result.get(1L)).containsEntry(TaskStatus.PENDING, 2L);
+        assertThat(result.get(2L).values()).containsOnly(0L);
+    }
+
+    @Test
+    void writes_shouldMoveTheCounts() {
+        counts.rebuild();
+        Task task = new Task(1L, "Task 1", null, TaskStatus.PENDING, work);
+        counts.added(task);
+        counts.added(new Task(2L, "Task 2", null, TaskStatus.PENDING, work));
+
+        task.setStatus(TaskStatus.COMPLETED);
+        task.setCategory(home);
+        counts.moved(1L, TaskStatus.PENDING, task);
+        counts.removed(1L, TaskStatus.PENDING);
+
+        assertThat(counts.countsOf(List.of(1L)).get(1L).values()).containsOnly(0L);
+        assertThat(counts.all()).containsOnlyKeys(2L);
+        assertThat(counts.all().get(2L)).containsEntry(TaskStatus.COMPLETED, 1L);
+    }
+
+    @Test
+    void writes_shouldApplyOnlyAfterCommit() {
+        counts.rebuild();
+        TransactionSynchronizationManager.initSynchronization();
+
+        counts.added(new Task(1L, "Task 1", null, TaskStatus.PENDING, work));
+
+        // a rolled back transaction never gets here
+        assertThat(counts.all()).isEmpty();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(counts.all().get(1L)).containsEntry(TaskStatus.PENDING, 1L);
+    }
+
+    @Test
+    void rebuild_shouldKeepServingOldCountsAndReplayWritesMadeDuringTheScan() {
+        counts.rebuild();
+        counts.added(new Task(1L, "Task 1", null, TaskStatus.PENDING, work));
+        when(taskRepository.countByCategoryAndStatus()).thenAnswer(invocation -> {
+            // readers see the previous counts while the scan runs, never an empty map
+            assertThat(counts.all().get(1L)).containsEntry(TaskStatus.PENDING, 1L);
+            // committed after the scan read its rows
+            counts.added(new Task(2L, "Task 2", null, TaskStatus.COMPLETED, home));
+            return List.of(statusCount(1L, TaskStatus.PENDING, 1));
+        });
+
+        counts.rebuild();
+
+        assertThat(counts.all().get(1L)).containsEntry(TaskStatus.PENDING, 1L);
+        assertThat(counts.all().get(2L)).containsEntry(TaskStatus.COMPLETED, 1L);
+        counts.added(new Task(3L, "Task 3", null, TaskStatus.COMPLETED, home));
+        assertThat(counts.all().get(2L)).containsEntry(TaskStatus.COMPLETED, 2L);
+    }
+
+    private static TaskStatusCount statusCount(Long categoryId, TaskStatus status, long total) {
+        TaskStatusCount count = mock(TaskStatusCount.class);
+        when(count.getCategoryId()).thenReturn(categoryId);
+        when(count.getStatus()).thenReturn(status);
+        when(count.getTotal()).thenReturn(total);
+        return count;
+    }
+}
@@ -0,0 +1,142 @@
+package com.ltphat.task_management.application.stream;
+
+import com.ltphat.task_management.application.dtos.task.TaskResponseDto;
+import com.ltphat.task_management.application.mappers.TaskMapper;
+import com.ltphat.task_management.domain.model.Category;
+import com.ltphat.task_management.domain.model.Task;
+import com.ltphat.task_management.domain.model.TaskStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import reactor.core.publisher.BaseSubscriber;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+class TaskUpdateBroadcasterTest {
+
+    private final TaskMapper taskMapper = spy(TaskMapper.INSTANCE);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private TaskUpdateBroadcaster broadcaster;
+    private Category work;
+    private Category home;
+
+    @BeforeEach
+    void setUp() {
+        broadcaster = new TaskUpdateBroadcaster(taskMapper, meterRegistry, 2, Duration.ofHours(1));
+        work = new Category(1L, "Work", "", "blue", null);
+        home = new Category(2L, "Home", "", "green", null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void withoutSubscribers_shouldNotEvenMapTheTask() {
+        broadcaster.created(new Task(1L, "Task 1", null, TaskStatus.PENDING, work));
+
+        verify(taskMapper, never()).taskToTaskResponseDto(any());
+    }
+
+    @Test
+    void subscribe_shouldReceiveTheChangesOfItsCategoryAndDeletesOfUnknownCategory() {
+        Events events = new Events(Long.MAX_VALUE);
+        broadcaster.subscribe(1L).subscribe(events);
+
+        broadcaster.created(new Task(1L, "Task 1", null, TaskStatus.PENDING, work));
+        broadcaster.updated(2L, new Task(2L, "Task 2", null, TaskStatus.PENDING, home));
+        broadcaster.deleted(3L, null);
+        broadcaster.deleted(4L, 2L);
+
+        assertThat(events.received).extracting(ServerSentEvent::event).containsExactly(null, "created", "deleted");
+        assertThat(events.received.get(1).data().getName()).isEqualTo("Task 1");
+        assertThat(events.received.get(2).data().getId()).isEqualTo(3L);
+    }
+
+    @Test
+    void updated_shouldReachTheCategoryATaskMovedOutOfAndTheOneItMovedTo() {
+        Events left = new Events(Long.MAX_VALUE);
+        Events joined = new Events(Long.MAX_VALUE);
+        broadcaster.subscribe(1L).subscribe(left);
+        broadcaster.subscribe(2L).subscribe(joined);
+
+        broadcaster.updated(1L, new Task(1L, "Task 1", null, TaskStatus.PENDING, home));
+
+        assertThat(left.received).extracting(ServerSentEvent::event).containsExactly(null, "updated");
+        assertThat(joined.received).extracting(ServerSentEvent::event).containsExactly(null, "updated");
+    }
+
+    @Test
+    void publish_shouldWaitForTheCommit() {
+        Events events = new Events(Long.MAX_VALUE);
+        broadcaster.subscribe(null).subscribe(events);
+        TransactionSynchronizationManager.initSynchronization();
+
+        broadcaster.created(new Task(1L, "Task 1", null, TaskStatus.PENDING, work));
+        assertThat(events.received).hasSize(1);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(events.received).extracting(ServerSentEvent::event).containsExactly(null, "created");
+    }
+
+    @Test
+    void slowSubscriber_shouldBeDroppedWithAnOverflowEventWithoutHoldingUpOthers() {
+        Events slow = new Events(1);
+        Events fast = new Events(Long.MAX_VALUE);
+        broadcaster.subscribe(null).subscribe(slow);
+        broadcaster.subscribe(null).subscribe(fast);
+
+        for (long id = 1; id <= 3; id++) {
+            broadcaster.updated(1L, new Task(id, "Task " + id, null, TaskStatus.PENDING, work));
+        }
+        slow.request(10);
+
+        //the buffered updates are still delivered, then the overflow ends the stream
+        assertThat(slow.received).extracting(ServerSentEvent::event).containsExactly(null, "updated", "updated", "overflow");
+        assertThat(slow.completed).isTrue();
+        assertThat(fast.received).hasSize(4);
+        assertThat(meterRegistry.get("app.tasks.sse.dropped").counter().count()).isEqualTo(1);
+        assertThat(broadcaster.hasSubscribers()).isTrue();
+    }
+
+    private static class Events extends BaseSubscriber<ServerSentEvent<TaskResponseDto>> {
+        final List<ServerSentEvent<TaskResponseDto>> received = new CopyOnWriteArrayList<>();
+        final long initialRequest;
+        boolean completed;
+
+        Events(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+            request(initialRequest);
+        }
+
+        @Override
+        protected void hookOnNext(ServerSentEvent<TaskResponseDto> event) {
+            received.add(event);
+        }
+
+        @Override
+        protected void hookOnComplete() {
+            completed = true;
+        }
+    }
+}
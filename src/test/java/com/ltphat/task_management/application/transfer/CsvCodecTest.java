@@ -0,0 +1,32 @@
+package com.ltphat.task_management.application.transfer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvCodecTest {
+
+    @Test
+    void formatRow_shouldQuoteOnlyFieldsThatNeedIt() {
+        String row = CsvCodec.formatRow(Arrays.asList(1L, "Plain", "Says \"hi\", twice", null, "line\nbreak"));
+
+        assertThat(row).isEqualTo("1,Plain,\"Says \"\"hi\"\", twice\",,\"line\nbreak\"\n");
+    }
+
+    @Test
+    void parseRow_shouldReverseFormatRow() {
+        List<String> values = List.of("7", "Name, with comma", "Quote \" inside", "", "multi\nline");
+        String row = CsvCodec.formatRow(values);
+
+        assertThat(CsvCodec.parseRow(row.substring(0, row.length() - 1))).isEqualTo(values);
+    }
+
+    @Test
+    void parseRow_shouldRejectUnterminatedQuote() {
+        assertThrows(RuntimeException.class, () -> CsvCodec.parseRow("1,\"open"));
+    }
+}
@@ -0,0 +1,96 @@
+package com.ltphat.task_management.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatabaseBulkheadFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DatabaseBulkheadFilter filter =
+            new DatabaseBulkheadFilter(1, Duration.ofMillis(50), Set.of("/tasks/stream"), new ObjectMapper(), meterRegistry);
+
+    @Test
+    void rejectsWhenAllPermitsAreTaken() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain blocking = (request, response) -> {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> {
+            try {
+                filter.doFilter(new MockHttpServletRequest("GET", "/tasks"), new MockHttpServletResponse(), blocking);
+            } catch (Exception exception) {
+                throw new IllegalStateException(exception);
+            }
+        });
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/tasks"), rejected, (request, response) -> fail("should not run"));
+
+        assertEquals(503, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+        assertTrue(rejected.getContentAsString().contains("\"status\":503"));
+        assertEquals(1, meterRegistry.get("app.bulkhead.rejected").counter().count());
+
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        MockHttpServletResponse accepted = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/tasks"), accepted, (request, response) -> { });
+        assertEquals(200, accepted.getStatus());
+        assertEquals(1, meterRegistry.get("app.bulkhead.available").gauge().value());
+    }
+
+    @Test
+    void asyncRequestKeepsItsPermitUntilItCompletes() throws Exception {
+        MockHttpServletRequest export = new MockHttpServletRequest("GET", "/tasks/export");
+        export.setAsyncSupported(true);
+        filter.doFilter(export, new MockHttpServletResponse(), (request, response) -> request.startAsync());
+
+        assertEquals(0, meterRegistry.get("app.bulkhead.available").gauge().value());
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/tasks"), rejected, (request, response) -> fail("should not run"));
+        assertEquals(503, rejected.getStatus());
+
+        MockAsyncContext asyncContext = (MockAsyncContext) export.getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(new AsyncEvent(asyncContext));
+        }
+        asyncContext.complete();
+
+        // released once, on the timeout, not again on the completion that follows it
+        assertEquals(1, meterRegistry.get("app.bulkhead.available").gauge().value());
+    }
+
+    @Test
+    void unboundedPathsTakeNoPermit() throws Exception {
+        MockHttpServletRequest subscription = new MockHttpServletRequest("GET", "/tasks/stream");
+        subscription.setAsyncSupported(true);
+        filter.doFilter(subscription, new MockHttpServletResponse(), (request, response) -> request.startAsync());
+
+        MockHttpServletResponse accepted = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/tasks"), accepted, (request, response) -> { });
+        assertEquals(200, accepted.getStatus());
+        assertEquals(1, meterRegistry.get("app.bulkhead.available").gauge().value());
+    }
+}
@@ -0,0 +1,80 @@
+package com.ltphat.task_management.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "management.endpoints.web.exposure.include=prometheus")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void requestsRecordServiceRepositoryAndSqlMetrics() throws Exception {
+        mockMvc.perform(post("/categories")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Work\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/tasks").param("page", "0").param("size", "10"))
+                .andExpect(status().isOk());
+
+        Timer serviceTimer = meterRegistry.find(ServiceMetricsAspect.METRIC)
+                .tags("service", "TaskService", "method", "getAllTasks", "outcome", "SUCCESS").timer();
+        assertNotNull(serviceTimer);
+        assertTrue(serviceTimer.count() >= 1);
+
+        DistributionSummary results = meterRegistry.find(RepositoryMetricsAspect.METRIC)
+                .tags("repository", "TaskRepository", "method", "findAll").summary();
+        assertNotNull(results);
+        assertEquals(0, results.max());
+
+        DistributionSummary statements = meterRegistry.find(SqlStatementFilter.METRIC)
+                .tags("uri", "/tasks", "method", "GET", "outcome", "SUCCESS").summary();
+        assertNotNull(statements);
+        // the page query; the count query is skipped when the first page is not full
+        assertTrue(statements.max() >= 1);
+    }
+
+    @Test
+    void serviceErrorsAreTaggedAsErrors() throws Exception {
+        mockMvc.perform(get("/categories/{id}", 999_999))
+                .andExpect(status().isInternalServerError());
+
+        Timer serviceTimer = meterRegistry.find(ServiceMetricsAspect.METRIC)
+                .tags("service", "CategoryService", "method", "getCategoryByID", "outcome", "ERROR").timer();
+        assertNotNull(serviceTimer);
+    }
+
+    @Test
+    void prometheusEndpointServesApplicationMetrics() throws Exception {
+        mockMvc.perform(get("/tasks")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("app_service_invocations_seconds_count")))
+                .andExpect(content().string(containsString("app_http_sql_statements_count")))
+                .andExpect(content().string(containsString("hibernate_second_level_cache_requests_total")))
+                // the pool is still found behind the slow query DataSource proxy
+                .andExpect(content().string(containsString("hikaricp_connections_active")));
+    }
+}
@@ -0,0 +1,56 @@
+package com.ltphat.task_management.config;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// The MySQL migrations on a schema ddl-auto=update created before Flyway, baselined at V1 as in application.yaml
+public class MysqlBaselineMigrationTest {
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:baseline-" + System.nanoTime() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table category (id bigint not null auto_increment, name varchar(255), description varchar(255),"
+                + " color varchar(255), created_at datetime(6) not null, primary key (id))");
+        jdbcTemplate.execute("create table task (id bigint not null, name varchar(255), description varchar(255),"
+                + " status varchar(255), category_id bigint not null, primary key (id))");
+        jdbcTemplate.update("insert into category (name, created_at) values ('Work', current_timestamp)");
+        jdbcTemplate.update("insert into task (id, name, status, category_id) values (120, 'Task 120', 'PENDING', 1)");
+    }
+
+    @Test
+    void migrate_withoutTaskSeq_shouldCreateItPastTheHighestId() {
+        migrateToV3();
+
+        assertEquals(121L, jdbcTemplate.queryForObject("select next_val from task_seq", Long.class));
+    }
+
+    @Test
+    void migrate_withAnEmptyTaskSeq_shouldFillIt() {
+        jdbcTemplate.execute("create table task_seq (next_val bigint)");
+
+        migrateToV3();
+
+        assertEquals(121L, jdbcTemplate.queryForObject("select next_val from task_seq", Long.class));
+    }
+
+    // V4 onwards change columns with MySQL-only statements
+    private void migrateToV3() {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/mysql")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .target("3")
+                .load()
+                .migrate();
+    }
+}
@@ -0,0 +1,105 @@
+package com.ltphat.task_management.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs the Flyway migrations on H2 in MySQL mode; EXPLAIN shows which index each listing query reads
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:explain;MODE=MySQL;DATABASE_TO_LOWER=TRUE")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SchemaIndexVerifier.class)
+public class SchemaIndexVerifierTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private SchemaIndexVerifier schemaIndexVerifier;
+
+    @BeforeEach
+    void setUp() {
+        // ANALYZE commits, so start from empty tables
+        jdbcTemplate.update("delete from task");
+        jdbcTemplate.update("delete from category");
+        jdbcTemplate.update("insert into category (name, description, color, created_at) values ('Work', 'Work tasks', 'blue', current_timestamp)");
+        Long categoryId = jdbcTemplate.queryForObject("select max(id) from category", Long.class);
+        for (int i = 1; i <= 200; i++) {
+            jdbcTemplate.update("insert into task (id, name, description, status, category_id) values (?, ?, ?, ?, ?)",
+                    i, "Task " + i, "Description " + i, i % 2 == 0 ? 0 : 2, categoryId);
+        }
+        jdbcTemplate.execute("analyze");
+    }
+
+    @Test
+    void testFindMissingIndexes_NoneAfterMigration() {
+        assertEquals(List.of(), schemaIndexVerifier.findMissingIndexes());
+        assertDoesNotThrow(() -> schemaIndexVerifier.verify());
+    }
+
+    @Test
+    void testFindMissingIndexes_ReportsDroppedIndex() {
+        jdbcTemplate.execute("drop index idx_task_status_id");
+        try {
+            assertEquals(List.of("task(status, id)"), schemaIndexVerifier.findMissingIndexes());
+            assertThrows(RuntimeException.class, () -> new SchemaIndexVerifier(dataSource, true, true).verify());
+            assertDoesNotThrow(() -> new SchemaIndexVerifier(dataSource, true, false).verify());
+            assertTrue(explain("select t.id from task t order by t.status, t.id limit 10").contains("tablescan"));
+        } finally {
+            jdbcTemplate.execute("create index idx_task_status_id on task (status, id)");
+        }
+    }
+
+    @Test
+    void testExplain_SortedListingsReadTheIndexInOrder() {
+        assertIndexSorted("select t.id from task t order by t.name, t.id limit 10", "idx_task_name_id");
+        assertIndexSorted("select t.id from task t order by t.status desc, t.id desc limit 10", "idx_task_status_id");
+        assertIndexSorted("select t.id from task t order by t.description, t.id limit 10", "idx_task_description_id");
+        assertIndexSorted("select c.id from category c order by c.color, c.id limit 10", "idx_category_color_id");
+        assertIndexSorted("select c.id from category c order by c.created_at desc, c.id desc limit 10", "idx_category_created_at_id");
+    }
+
+    @Test
+    void testExplain_KeysetSeekReadsTheSortIndex() {
+        // the predicate Spring Data builds for "after (name, id)" with a join fetch of the category
+        assertIndexSorted("select t.id, c.name from task t join category c on c.id = t.category_id"
+                + " where t.name > 'Task 5' or t.name = 'Task 5' and t.id > 5 order by t.name, t.id limit 10", "idx_task_name_id");
+    }
+
+    @Test
+    void testExplain_LookupsUseTheIndex() {
+        assertTrue(explain("select c.id from category c where c.name = 'Work' order by c.name, c.id limit 10")
+                .contains("idx_category_name_id: name ="));
+        assertTrue(explain("select count(*) from task t where t.category_id = 1 and t.status = 0")
+                .contains("idx_task_category_status: category_id ="));
+    }
+
+    @Test
+    void testExplain_StatusStatsReadOnlyTheIndex() {
+        // the grouped count behind GET /tasks/stats never touches the task rows
+        String plan = explain("select t.category_id, t.status, count(t.id) from task t group by t.category_id, t.status");
+        assertTrue(plan.contains("idx_task_category_status"), plan);
+        assertTrue(plan.contains("group sorted"), plan);
+    }
+
+    private void assertIndexSorted(String sql, String index) {
+        String plan = explain(sql);
+        assertTrue(plan.contains(index), plan);
+        assertTrue(plan.contains("index sorted"), plan);
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.queryForObject("explain " + sql, String.class).toLowerCase();
+    }
+}
@@ -0,0 +1,101 @@
+package com.ltphat.task_management.config;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlowQueryLoggerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SlowQueryProperties properties = new SlowQueryProperties();
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private final Logger logger = (Logger) LoggerFactory.getLogger(SlowQueryLogger.class);
+    private SlowQueryLogger slowQueryLogger;
+
+    @BeforeEach
+    void setUp() {
+        properties.setThreshold(Duration.ofMillis(100));
+        properties.setMaxLoggedPerSecond(2);
+        properties.setMaxBindLength(10);
+        slowQueryLogger = new SlowQueryLogger(properties,
+                new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry)).getBeanProvider(MeterRegistry.class));
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void ignoresStatementsBelowTheThreshold() throws Exception {
+        slowQueryLogger.afterQuery(execution(99), List.of(query("select 1", List.of(bind(1, "a")))));
+
+        assertTrue(appender.list.isEmpty());
+        assertNull(meterRegistry.find("app.sql.slow").counter());
+    }
+
+    @Test
+    void logsSlowStatementsWithTheirBindsInPlaceholderOrder() throws Exception {
+        QueryInfo query = query("select * from task where name = ? and status = ? and description = ?",
+                List.of(bind(2, "Pending"), nullBind(3), bind(1, "a very long task name")));
+
+        slowQueryLogger.afterQuery(execution(150), List.of(query));
+
+        String message = appender.list.get(0).getFormattedMessage();
+        assertTrue(message.startsWith("Slow SQL (150 ms): select * from task where name = ?"), message);
+        assertTrue(message.endsWith("binds [a very lon...(21 chars), Pending, null]"), message);
+        assertEquals(1, meterRegistry.get("app.sql.slow").counter().count());
+    }
+
+    @Test
+    void logsAtMostMaxPerSecondButCountsEveryStatement() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            slowQueryLogger.afterQuery(execution(200), List.of(query("select 1", List.of())));
+        }
+
+        assertTrue(appender.list.size() >= 2 && appender.list.size() < 5, "logged " + appender.list.size());
+        assertEquals(5, meterRegistry.get("app.sql.slow").counter().count());
+    }
+
+    private static ExecutionInfo execution(long elapsedMillis) {
+        ExecutionInfo executionInfo = new ExecutionInfo();
+        executionInfo.setElapsedTime(elapsedMillis);
+        return executionInfo;
+    }
+
+    private static QueryInfo query(String sql, List<ParameterSetOperation> parameters) {
+        QueryInfo queryInfo = new QueryInfo(sql);
+        queryInfo.getParametersList().add(parameters);
+        return queryInfo;
+    }
+
+    private static ParameterSetOperation bind(int index, String value) throws Exception {
+        return new ParameterSetOperation(PreparedStatement.class.getMethod("setString", int.class, String.class),
+                new Object[]{index, value});
+    }
+
+    private static ParameterSetOperation nullBind(int index) throws Exception {
+        return new ParameterSetOperation(PreparedStatement.class.getMethod("setNull", int.class, int.class),
+                new Object[]{index, Types.VARCHAR});
+    }
+}
@@ -0,0 +1,85 @@
+package com.ltphat.task_management.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlStatementFilterTest {
+
+    private final SqlStatementCounter sqlStatementCounter = new SqlStatementCounter();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final QueryBudgetProperties queryBudget = new QueryBudgetProperties();
+    private final SqlStatementFilter filter = new SqlStatementFilter(sqlStatementCounter, meterRegistry, queryBudget);
+
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        request = new MockHttpServletRequest("GET", "/tasks/7");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/tasks/{id}");
+        response = new MockHttpServletResponse();
+        queryBudget.getEndpoints().put("GET /tasks/{id}", 2);
+    }
+
+    @Test
+    void addsHeadersBeforeTheBodyIsWritten() throws Exception {
+        filter.doFilter(request, response, runningStatements(2, true));
+
+        assertEquals("2", response.getHeader(SqlStatementFilter.QUERY_COUNT_HEADER));
+        assertNotNull(response.getHeader(SqlStatementFilter.DB_TIME_HEADER));
+        assertEquals(2, meterRegistry.get(SqlStatementFilter.METRIC).tag("uri", "/tasks/{id}").summary().max());
+    }
+
+    @Test
+    void addsHeadersWhenThereIsNoBody() throws Exception {
+        filter.doFilter(request, response, runningStatements(1, false));
+
+        assertEquals("1", response.getHeader(SqlStatementFilter.QUERY_COUNT_HEADER));
+    }
+
+    @Test
+    void overBudgetOnlyWarnsByDefault() throws Exception {
+        filter.doFilter(request, response, runningStatements(3, true));
+
+        assertEquals("3", response.getHeader(SqlStatementFilter.QUERY_COUNT_HEADER));
+    }
+
+    @Test
+    void overBudgetFailsWhenConfigured() {
+        queryBudget.setFailOnExceed(true);
+
+        QueryBudgetExceededException exception = assertThrows(QueryBudgetExceededException.class,
+                () -> filter.doFilter(request, response, runningStatements(3, true)));
+
+        assertTrue(exception.getMessage().startsWith("Query budget exceeded for GET /tasks/{id}: 3 statements (budget 2)"));
+    }
+
+    @Test
+    void negativeBudgetIsUnlimited() throws Exception {
+        queryBudget.setFailOnExceed(true);
+        queryBudget.getEndpoints().put("GET /tasks/{id}", -1);
+
+        filter.doFilter(request, response, runningStatements(100, true));
+
+        assertEquals("100", response.getHeader(SqlStatementFilter.QUERY_COUNT_HEADER));
+    }
+
+    private FilterChain runningStatements(int statements, boolean writeBody) {
+        return (servletRequest, servletResponse) -> {
+            for (int i = 0; i < statements; i++) {
+                sqlStatementCounter.inspect("select 1");
+            }
+            if (writeBody) {
+                servletResponse.getWriter().write("{}");
+                servletResponse.flushBuffer();
+            }
+        };
+    }
+}
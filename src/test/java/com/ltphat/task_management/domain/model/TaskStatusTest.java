@@ -0,0 +1,45 @@
+package com.ltphat.task_management.domain.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaskStatusTest {
+
+    @Test
+    void testFrom_AcceptsLabelsAndConstantNames() {
+        assertEquals(TaskStatus.IN_PROGRESS, TaskStatus.from("In Progress"));
+        assertEquals(TaskStatus.IN_PROGRESS, TaskStatus.from("in_progress"));
+        assertEquals(TaskStatus.IN_PROGRESS, TaskStatus.from("IN-PROGRESS"));
+        assertEquals(TaskStatus.COMPLETED, TaskStatus.from(" completed "));
+        assertNull(TaskStatus.from(null));
+        assertNull(TaskStatus.from(" "));
+    }
+
+    @Test
+    void testFrom_RejectsUnknownStatus() {
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> TaskStatus.from("Archived"));
+
+        assertTrue(exception.getMessage().contains("Archived"));
+    }
+
+    @Test
+    void testCodes_AreStable() {
+        // the codes are stored in task.status, never renumber them
+        assertEquals(0, TaskStatus.PENDING.getCode());
+        assertEquals(1, TaskStatus.IN_PROGRESS.getCode());
+        assertEquals(2, TaskStatus.COMPLETED.getCode());
+        for (TaskStatus status : TaskStatus.values()) {
+            assertEquals(status, TaskStatus.fromCode(status.getCode()));
+        }
+    }
+
+    @Test
+    void testJson_UsesTheLabel() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        assertEquals("\"In Progress\"", objectMapper.writeValueAsString(TaskStatus.IN_PROGRESS));
+        assertEquals(TaskStatus.COMPLETED, objectMapper.readValue("\"completed\"", TaskStatus.class));
+    }
+}
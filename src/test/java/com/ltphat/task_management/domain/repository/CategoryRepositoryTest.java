@@ -1,13 +1,19 @@
 package com.ltphat.task_management.domain.repository;
 
+import com.ltphat.task_management.application.pagination.KeysetCursorCodec;
 import com.ltphat.task_management.domain.model.Category;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -58,4 +64,44 @@ class CategoryRepositoryTest {
         assertThat(resultPage.getTotalElements()).isEqualTo(0);
         assertThat(resultPage.getContent()).isEmpty();
     }
+
+    @Test
+    void findAllBy_shouldScrollByCreatedAtThroughCursor() {
+        testEntityManager.persist(new Category(null, "Personal", "Personal tasks", "green", null));
+        testEntityManager.persist(new Category(null, "Work", "Project A", "blue", null));
+        testEntityManager.persist(new Category(null, "Study", "Spring Boot study", "yellow", null));
+        testEntityManager.flush();
+
+        KeysetCursorCodec codec = new KeysetCursorCodec();
+        Sort sort = Sort.by(Sort.Direction.ASC, "createdAt");
+        List<String> names = new ArrayList<>();
+        String cursor = null;
+        do {
+            Window<Category> window = categoryRepository.findAllBy(codec.positionAfter(cursor, sort, Category.class), sort, Limit.of(2));
+            window.forEach(c -> names.add(c.getName()));
+            cursor = codec.nextCursor(window, sort);
+        } while (cursor != null);
+
+        assertThat(names).containsExactlyInAnyOrder("Personal", "Work", "Study");
+    }
+
+    @Test
+    void findAllBy_shouldScrollPastNullColors() {
+        testEntityManager.persist(new Category(null, "Personal", "Personal tasks", null, null));
+        testEntityManager.persist(new Category(null, "Work", "Project A", "blue", null));
+        testEntityManager.persist(new Category(null, "Study", "Spring Boot study", null, null));
+        testEntityManager.flush();
+
+        KeysetCursorCodec codec = new KeysetCursorCodec();
+        Sort sort = Sort.by(Sort.Direction.DESC, "color");
+        List<String> names = new ArrayList<>();
+        String cursor = null;
+        do {
+            Window<Category> window = categoryRepository.findAllBy(codec.positionAfter(cursor, sort, Category.class), sort, Limit.of(1));
+            window.forEach(c -> names.add(c.getName()));
+            cursor = codec.nextCursor(window, sort);
+        } while (cursor != null);
+
+        assertThat(names).startsWith("Work").containsExactlyInAnyOrder("Personal", "Work", "Study");
+    }
 }
@@ -1,20 +1,33 @@
 package com.ltphat.task_management.domain.repository;
 
+import com.ltphat.task_management.application.pagination.KeysetCursorCodec;
 import com.ltphat.task_management.domain.model.Category;
 import com.ltphat.task_management.domain.model.Task;
+import com.ltphat.task_management.domain.model.TaskStatus;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 public class TaskRepositoryTest {
 
     @Autowired
@@ -28,14 +41,14 @@ public class TaskRepositoryTest {
     void setUp() {
         Category category = new Category(null, "Work", "Work related tasks", "blue", Instant.now());
         Category savedCategory = testEntityManager.persist(category);
-        Task temp = new Task(null, "Task 1", "Description of Task 1", "Pending", category);
+        Task temp = new Task(null, "Task 1", "Description of Task 1", TaskStatus.PENDING, category);
         task = testEntityManager.persistAndFlush(temp);
     }
 
     @Test
     void testFindByNameContainingIgnoreCase() {
         var pageable = PageRequest.of(0, 5);
-        var tasks = taskRepository.findByNameContainingIgnoreCase("task", pageable);
+        var tasks = taskRepository.findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase("task", "task", pageable);
 
         assertNotNull(tasks);
         assertFalse(tasks.isEmpty());
@@ -46,7 +59,7 @@ public class TaskRepositoryTest {
     void testFindByNameContainingIgnoreCase_CaseInsensitive() {
         var pageable = PageRequest.of(0, 5);
         // Tìm kiếm bằng chữ "TASK" (in hoa)
-        var tasks = taskRepository.findByNameContainingIgnoreCase("TASK", pageable);
+        var tasks = taskRepository.findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase("TASK", "TASK", pageable);
 
         assertNotNull(tasks);
         assertFalse(tasks.isEmpty());
@@ -54,10 +67,30 @@ public class TaskRepositoryTest {
         assertEquals("Task 1", tasks.getContent().get(0).getName());
     }
 
+    @Test
+    void testSearch_MatchesTheDescriptionLikeTheSearchIndex() {
+        Category category = testEntityManager.find(Category.class, task.getCategory().getId());
+        testEntityManager.persist(new Task(null, "Groceries", "Buy milk", TaskStatus.COMPLETED, category));
+        testEntityManager.flush();
+
+        var page = taskRepository.findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase("milk", "milk", PageRequest.of(0, 5));
+        var completed = taskRepository.findByNameContainingIgnoreCaseAndStatusOrDescriptionContainingIgnoreCaseAndStatus(
+                "milk", TaskStatus.COMPLETED, "milk", TaskStatus.COMPLETED, PageRequest.of(0, 5));
+        var pending = taskRepository.countByNameContainingIgnoreCaseAndStatusOrDescriptionContainingIgnoreCaseAndStatus(
+                "milk", TaskStatus.PENDING, "milk", TaskStatus.PENDING);
+        Window<Task> window = taskRepository.findByNameOrDescriptionContainingIgnoreCaseAndStatus(
+                "MILK", TaskStatus.COMPLETED, ScrollPosition.keyset(), Sort.by("name"), Limit.of(5));
+
+        assertEquals(List.of("Groceries"), page.map(Task::getName).getContent());
+        assertEquals(List.of("Groceries"), completed.map(Task::getName).getContent());
+        assertEquals(0, pending);
+        assertEquals(List.of("Groceries"), window.map(Task::getName).getContent());
+    }
+
     @Test
     void testFindByNameContainingIgnoreCase_NotFound() {
         var pageable = PageRequest.of(0, 5);
-        var tasks = taskRepository.findByNameContainingIgnoreCase("NonExistentTask", pageable);
+        var tasks = taskRepository.findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase("NonExistentTask", "NonExistentTask", pageable);
 
         assertNotNull(tasks);
         assertTrue(tasks.isEmpty());
@@ -67,7 +100,7 @@ public class TaskRepositoryTest {
     @Test
     void testSave_CreateNewTask() {
         Category existingCategory = testEntityManager.find(Category.class, task.getCategory().getId());
-        Task newTask = new Task(null, "Task 2", "A brand new task", "Todo", existingCategory);
+        Task newTask = new Task(null, "Task 2", "A brand new task", TaskStatus.PENDING, existingCategory);
 
         Task savedTask = taskRepository.save(newTask);
 
@@ -85,14 +118,99 @@ public class TaskRepositoryTest {
         assertTrue(taskToUpdateOpt.isPresent());
 
         Task taskToUpdate = taskToUpdateOpt.get();
-        taskToUpdate.setStatus("Completed");
+        taskToUpdate.setStatus(TaskStatus.COMPLETED);
         taskRepository.save(taskToUpdate);
 
         Task updatedTask = testEntityManager.find(Task.class, task.getId());
-        assertEquals("Completed", updatedTask.getStatus());
+        assertEquals(TaskStatus.COMPLETED, updatedTask.getStatus());
         assertEquals("Task 1", updatedTask.getName());
     }
 
+    @Test
+    void testSave_UpdateIncrementsVersion() {
+        assertEquals(0L, task.getVersion());
+        assertNotNull(task.getUpdatedAt());
+
+        task.setName("Task 1 renamed");
+        testEntityManager.flush();
+
+        assertEquals(1L, testEntityManager.find(Task.class, task.getId()).getVersion());
+    }
+
+    @Test
+    void testPatch_OnlySuppliedFieldsAtTheReadVersion() {
+        Category home = testEntityManager.persist(new Category(null, "Home", "Home tasks", "green", Instant.now()));
+
+        assertEquals(1, taskRepository.patch(task.getId(), 0L, null, null, TaskStatus.COMPLETED, home.getId(), Instant.now()));
+        assertEquals(0, taskRepository.patch(task.getId(), 0L, "Lost update", null, null, null, Instant.now()));
+
+        Task patched = testEntityManager.find(Task.class, task.getId());
+        assertEquals("Task 1", patched.getName());
+        assertEquals("Description of Task 1", patched.getDescription());
+        assertEquals(TaskStatus.COMPLETED, patched.getStatus());
+        assertEquals(home.getId(), patched.getCategory().getId());
+        assertEquals(1L, patched.getVersion());
+    }
+
+    @Test
+    void testDeleteTaskById_ReturnsAffectedRows() {
+        assertEquals(1, taskRepository.deleteTaskById(task.getId()));
+        assertEquals(0, taskRepository.deleteTaskById(task.getId()));
+        testEntityManager.clear();
+        assertNull(testEntityManager.find(Task.class, task.getId()));
+    }
+
+    @Test
+    void testReassignAndDeleteByCategory_AreBulkStatements() {
+        Category home = testEntityManager.persist(new Category(null, "Home", "Home tasks", "green", Instant.now()));
+        Long workId = task.getCategory().getId();
+        testEntityManager.persistAndFlush(new Task(null, "Task 2", "", TaskStatus.COMPLETED, task.getCategory()));
+
+        assertEquals(2, taskRepository.reassignCategory(workId, home.getId(), Instant.now()));
+        assertEquals(List.of(), taskRepository.findIdsByCategoryId(workId));
+        assertEquals(2, taskRepository.findIdsByCategoryId(home.getId()).size());
+        assertEquals(2, taskRepository.deleteAllByCategoryId(home.getId()));
+        assertEquals(0, taskRepository.count());
+    }
+
+    @Test
+    void testStatus_StoredAsItsCode() {
+        Byte code = (Byte) testEntityManager.getEntityManager()
+                .createNativeQuery("select status from task where id = :id")
+                .setParameter("id", task.getId())
+                .getSingleResult();
+
+        assertEquals(TaskStatus.PENDING.getCode(), code);
+    }
+
+    @Test
+    void testFindByStatus() {
+        Category category = testEntityManager.find(Category.class, task.getCategory().getId());
+        testEntityManager.persist(new Task(null, "Task 2", null, TaskStatus.COMPLETED, category));
+        testEntityManager.flush();
+
+        var completed = taskRepository.findByStatus(TaskStatus.COMPLETED, PageRequest.of(0, 5));
+
+        assertEquals(List.of("Task 2"), completed.map(Task::getName).getContent());
+        assertEquals(1L, taskRepository.countByNameContainingIgnoreCaseAndStatusOrDescriptionContainingIgnoreCaseAndStatus("task", TaskStatus.PENDING, "task", TaskStatus.PENDING));
+    }
+
+    @Test
+    void testCountByCategoryAndStatus() {
+        Category category = testEntityManager.find(Category.class, task.getCategory().getId());
+        testEntityManager.persist(new Task(null, "Task 2", null, TaskStatus.PENDING, category));
+        testEntityManager.persist(new Task(null, "Task 3", null, TaskStatus.IN_PROGRESS, category));
+        testEntityManager.flush();
+
+        List<TaskStatusCount> counts = taskRepository.countByCategoryAndStatus();
+
+        assertEquals(2, counts.size());
+        for (TaskStatusCount count : counts) {
+            assertEquals(category.getId(), count.getCategoryId());
+            assertEquals(count.getStatus() == TaskStatus.PENDING ? 2L : 1L, count.getTotal());
+        }
+    }
+
     @Test
     void testDeleteById() {
 
@@ -107,6 +225,172 @@ public class TaskRepositoryTest {
         assertFalse(deletedTaskOpt.isPresent());
     }
 
+    @Test
+    void testFindAll_LoadsCategoriesWithinPageQuery() {
+        persistTasksInDistinctCategories(5);
+        Statistics statistics = clearedStatistics();
+
+        Page<Task> tasks = taskRepository.findAll(PageRequest.of(0, 4, Sort.by("name")));
+        tasks.forEach(t -> assertNotNull(t.getCategory().getName()));
+
+        assertEquals(4, tasks.getNumberOfElements());
+        assertTrue(tasks.stream().allMatch(t -> Hibernate.isInitialized(t.getCategory())));
+        // one page query plus one count query, independent of the number of categories on the page
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testFindByNameContainingIgnoreCase_LoadsCategoriesWithinPageQuery() {
+        persistTasksInDistinctCategories(5);
+        Statistics statistics = clearedStatistics();
+
+        Page<Task> tasks = taskRepository.findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase("task", "task", PageRequest.of(0, 4, Sort.by("name")));
+        tasks.forEach(t -> assertNotNull(t.getCategory().getName()));
+
+        assertEquals(4, tasks.getNumberOfElements());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testFindSliceBy_SkipsCountQuery() {
+        persistTasksInDistinctCategories(5);
+        Statistics statistics = clearedStatistics();
+
+        var tasks = taskRepository.findSliceBy(PageRequest.of(0, 4, Sort.by("name")));
+        tasks.forEach(t -> assertNotNull(t.getCategory().getName()));
+
+        assertTrue(tasks.hasNext());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testFindAllBy_KeysetVisitsEveryTaskOnceWithDuplicateSortKeys() {
+        Category category = task.getCategory();
+        for (int i = 0; i < 6; i++) {
+            testEntityManager.persist(new Task(null, "Same name", "Duplicate " + i, TaskStatus.PENDING, category));
+        }
+        testEntityManager.flush();
+
+        KeysetCursorCodec codec = new KeysetCursorCodec();
+        Sort sort = Sort.by(Sort.Direction.DESC, "name");
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            Window<Task> window = taskRepository.findAllBy(codec.positionAfter(cursor, sort, Task.class), sort, Limit.of(3));
+            window.forEach(t -> seen.add(t.getId()));
+            cursor = codec.nextCursor(window, sort);
+        } while (cursor != null);
+
+        assertEquals(7, seen.size());
+        assertEquals(7, new HashSet<>(seen).size());
+    }
+
+    @Test
+    void testFindAllBy_KeysetVisitsTasksWithNullSortKeysInBothDirections() {
+        Category category = task.getCategory();
+        testEntityManager.persist(new Task(null, "No description 1", null, TaskStatus.PENDING, category));
+        testEntityManager.persist(new Task(null, "Other", "Another description", TaskStatus.PENDING, category));
+        testEntityManager.persist(new Task(null, "No description 2", null, TaskStatus.COMPLETED, category));
+        testEntityManager.flush();
+
+        for (Sort.Direction direction : Sort.Direction.values()) {
+            Sort sort = Sort.by(direction, "description");
+            List<Long> seen = scrollAll(sort, 1);
+
+            assertEquals(4, seen.size(), direction + " scroll");
+            assertEquals(4, new HashSet<>(seen).size(), direction + " scroll");
+        }
+        // NULL sorts low: first ascending, last descending
+        List<Long> ascending = scrollAll(Sort.by("description"), 2);
+        assertNull(testEntityManager.find(Task.class, ascending.get(0)).getDescription());
+        assertNull(testEntityManager.find(Task.class, ascending.get(1)).getDescription());
+    }
+
+    @Test
+    void testFindByNameContainingIgnoreCase_KeysetFiltersAndStops() {
+        Window<Task> window = taskRepository.findByNameOrDescriptionContainingIgnoreCase("task", ScrollPosition.keyset(), Sort.by("name"), Limit.of(5));
+
+        assertEquals(1, window.size());
+        assertFalse(window.hasNext());
+    }
+
+    private List<Long> scrollAll(Sort sort, int size) {
+        KeysetCursorCodec codec = new KeysetCursorCodec();
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            Window<Task> window = taskRepository.findAllBy(codec.positionAfter(cursor, sort, Task.class), sort, Limit.of(size));
+            window.forEach(t -> seen.add(t.getId()));
+            cursor = codec.nextCursor(window, sort);
+        } while (cursor != null);
+        return seen;
+    }
+
+    @Test
+    void testFindSearchDocuments_BatchesInIdOrder() {
+        Category category = task.getCategory();
+        Task second = testEntityManager.persist(new Task(null, "Task 2", null, TaskStatus.PENDING, category));
+        testEntityManager.flush();
+
+        List<TaskSearchDocument> firstBatch = taskRepository.findSearchDocuments(0L, Limit.of(1));
+        List<TaskSearchDocument> secondBatch = taskRepository.findSearchDocuments(firstBatch.get(0).getId(), Limit.of(1));
+
+        assertEquals(task.getId(), firstBatch.get(0).getId());
+        assertEquals("Description of Task 1", firstBatch.get(0).getDescription());
+        assertEquals(second.getId(), secondBatch.get(0).getId());
+    }
+
+    @Test
+    void testSaveAllAndFlush_BatchesInserts() {
+        Category category = testEntityManager.find(Category.class, task.getCategory().getId());
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            tasks.add(new Task(null, "Batch " + i, null, TaskStatus.PENDING, category));
+        }
+        Statistics statistics = clearedStatistics();
+
+        taskRepository.saveAllAndFlush(tasks);
+
+        assertEquals(120, statistics.getEntityInsertCount());
+        // pooled ids need one sequence call per 50 rows and inserts go out in JDBC batches of 50
+        assertTrue(statistics.getPrepareStatementCount() <= 6, "statements: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testFindStatusKeys() {
+        List<TaskStatusKey> existing = taskRepository.findStatusKeys(List.of(task.getId(), -1L));
+
+        assertEquals(1, existing.size());
+        assertEquals(task.getId(), existing.get(0).getId());
+        assertEquals(task.getCategory().getId(), existing.get(0).getCategoryId());
+        assertEquals(TaskStatus.PENDING, existing.get(0).getStatus());
+    }
+
+    @Test
+    void testCountByCategoryAndStatus_OnlyGivenCategories() {
+        persistTasksInDistinctCategories(2);
+
+        List<TaskStatusCount> counts = taskRepository.countByCategoryAndStatus(List.of(task.getCategory().getId()));
+
+        assertEquals(1, counts.size());
+        assertEquals(1L, counts.get(0).getTotal());
+    }
+
+    @Test
+    void testStreamAllWithCategory_SingleQueryInIdOrder() {
+        persistTasksInDistinctCategories(3);
+        Statistics statistics = clearedStatistics();
+
+        List<Task> streamed;
+        try (var tasks = taskRepository.streamAllWithCategory()) {
+            streamed = tasks.peek(t -> assertTrue(Hibernate.isInitialized(t.getCategory()))).toList();
+        }
+
+        assertEquals(4, streamed.size());
+        assertEquals(task.getId(), streamed.get(0).getId());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
     @Test
     void testFindById() {
         Optional<Task> foundTask = taskRepository.findById(task.getId());
@@ -114,5 +398,20 @@ public class TaskRepositoryTest {
         assertTrue(foundTask.isPresent());
         assertEquals("Task 1", foundTask.get().getName());
     }
-}
 
+    private void persistTasksInDistinctCategories(int count) {
+        for (int i = 0; i < count; i++) {
+            Category category = testEntityManager.persist(new Category(null, "Category " + i, "Description " + i, "blue", Instant.now()));
+            testEntityManager.persist(new Task(null, "Task " + (i + 2), "Description of Task " + (i + 2), TaskStatus.PENDING, category));
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+    }
+
+    private Statistics clearedStatistics() {
+        Statistics statistics = testEntityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
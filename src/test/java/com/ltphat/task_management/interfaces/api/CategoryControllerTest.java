@@ -3,8 +3,12 @@ package com.ltphat.task_management.interfaces.api;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.ltphat.task_management.application.dtos.category.CategoryCreateDto;
+import com.ltphat.task_management.application.dtos.category.CategoryDeletePolicy;
 import com.ltphat.task_management.application.dtos.category.CategoryResponseDto;
+import com.ltphat.task_management.application.dtos.category.CategoryStatsDto;
 import com.ltphat.task_management.application.dtos.category.CategoryUpdateDto;
+import com.ltphat.task_management.application.dtos.shared.CacheRegionStatsDto;
+import com.ltphat.task_management.application.dtos.shared.CacheStatsDto;
 import com.ltphat.task_management.application.dtos.shared.PagedResponseDto;
 import com.ltphat.task_management.application.services.CategoryService;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,8 +22,11 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.time.Instant;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -62,6 +69,20 @@ public class CategoryControllerTest {
                 .andExpect(jsonPath("$.content[0].name").value("Work"));
     }
 
+    @Test
+    void getCategoriesController_shouldIncludeTaskStatsOnlyWhenAsked() throws Exception {
+        CategoryResponseDto withStats = new CategoryResponseDto(2L, "Home", "Home tasks", "green", Instant.now(), 0L,
+                new CategoryStatsDto(2L, Map.of("Pending", 2L)));
+        when(categoryService.getCategories(argThat(query -> Boolean.TRUE.equals(query.getWithStats()))))
+                .thenReturn(new PagedResponseDto<>(List.of(categoryResponseDto, withStats), 0, 1, 2L));
+
+        mockMvc.perform(get("/categories").param("withStats", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].taskStats").doesNotExist())
+                .andExpect(jsonPath("$.content[1].taskStats.total").value(2))
+                .andExpect(jsonPath("$.content[1].taskStats.byStatus.Pending").value(2));
+    }
+
     @Test
     void getCategoryByIDController_shouldReturnCategoryDto() throws Exception {
         when(categoryService.getCategoryByID(1L)).thenReturn(categoryResponseDto);
@@ -71,6 +92,50 @@ public class CategoryControllerTest {
                 .andExpect(jsonPath("$.id").value(1));
     }
 
+    @Test
+    void getCategoryByIDController_shouldAnswerMatchingETagWithNotModified() throws Exception {
+        when(categoryService.getCategoryByID(1L)).thenReturn(categoryResponseDto);
+        when(categoryService.getCategoryETag(categoryResponseDto)).thenReturn("\"category-1-0\"");
+
+        mockMvc.perform(get("/categories/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"category-1-0\""));
+        mockMvc.perform(get("/categories/1").header("If-None-Match", "\"category-1-0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getCategoriesController_shouldSkipTheQueryWhenNotModified() throws Exception {
+        when(categoryService.getCategoriesETag(any())).thenReturn("\"categories-42\"");
+
+        mockMvc.perform(get("/categories").header("If-None-Match", "\"categories-42\""))
+                .andExpect(status().isNotModified());
+
+        verify(categoryService, never()).getCategories(any());
+    }
+
+    @Test
+    void getCacheRegionStatsController_shouldListRegions() throws Exception {
+        when(categoryService.getCacheRegionStats()).thenReturn(List.of(new CacheRegionStatsDto("category", 8, 2, 2, 0.8, 2)));
+
+        mockMvc.perform(get("/categories/cache/regions"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].region").value("category"))
+                .andExpect(jsonPath("$[0].hitRate").value(0.8));
+    }
+
+    @Test
+    void getCacheStatsController_shouldReturnStats() throws Exception {
+        when(categoryService.getCacheStats()).thenReturn(new CacheStatsDto(true, 3, 10, 2, 10 / 12.0, 0, 1));
+
+        mockMvc.perform(get("/categories/cache/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.enabled").value(true))
+                .andExpect(jsonPath("$.hitCount").value(10))
+                .andExpect(jsonPath("$.invalidationCount").value(1));
+    }
+
     @Test
     void createCategoryController_shouldReturnCreatedCategoryDto() throws Exception {
         CategoryCreateDto createDto = new CategoryCreateDto("Work", "Work tasks");
@@ -101,9 +166,19 @@ public class CategoryControllerTest {
     @Test
     void deleteCategoryController_shouldReturnOk() throws Exception {
         Long categoryId = 1L;
-        doNothing().when(categoryService).deleteCategory(categoryId);
+        doNothing().when(categoryService).deleteCategory(categoryId, CategoryDeletePolicy.REJECT, null);
 
         mockMvc.perform(delete("/categories/{id}", categoryId))
                 .andExpect(status().isOk());
+
+        verify(categoryService).deleteCategory(categoryId, CategoryDeletePolicy.REJECT, null);
+    }
+
+    @Test
+    void deleteCategoryController_shouldPassTheTaskPolicy() throws Exception {
+        mockMvc.perform(delete("/categories/{id}", 1L).param("onTasks", "reassign").param("reassignTo", "2"))
+                .andExpect(status().isOk());
+
+        verify(categoryService).deleteCategory(1L, CategoryDeletePolicy.REASSIGN, 2L);
     }
 }
\ No newline at end of file
@@ -0,0 +1,220 @@
+package com.ltphat.task_management.interfaces.api;
+
+import com.jayway.jsonpath.JsonPath;
+import com.ltphat.task_management.application.changes.ChangeSequencer;
+import com.ltphat.task_management.application.dtos.category.CategoryCreateDto;
+import com.ltphat.task_management.application.dtos.category.CategoryResponseDto;
+import com.ltphat.task_management.application.dtos.task.TaskPatchDto;
+import com.ltphat.task_management.application.dtos.task.TaskRequestDto;
+import com.ltphat.task_management.application.dtos.task.TaskResponseDto;
+import com.ltphat.task_management.application.services.CategoryService;
+import com.ltphat.task_management.application.services.TaskService;
+import com.ltphat.task_management.config.SqlStatementFilter;
+import com.ltphat.task_management.domain.model.TaskStatus;
+import com.ltphat.task_management.domain.repository.ChangeEventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * GET /changes over the real services and database: what the writes append to change_event, and how it is read back.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ChangeControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ChangeEventRepository changeEventRepository;
+
+    @Autowired
+    private ChangeSequencer changeSequencer;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<Long> taskIds = new ArrayList<>();
+    private final List<Long> categoryIds = new ArrayList<>();
+    private Long categoryId;
+    private long since;
+
+    @BeforeEach
+    void setUp() {
+        changeSequencer.sequence();
+        since = changeEventRepository.findLatestSeq();
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskIds.forEach(id -> {
+            try {
+                taskService.deleteTask(id);
+            } catch (RuntimeException ignored) {
+                // deleted by the test
+            }
+        });
+        categoryIds.forEach(categoryService::deleteCategory);
+    }
+
+    @Test
+    void getChanges_shouldListWritesInOrderWithTheirCurrentState() throws Exception {
+        TaskResponseDto task = createTask("Feed task");
+        taskService.updateTask(task.getId(), new TaskRequestDto("Feed task renamed", "", TaskStatus.COMPLETED, categoryId));
+
+        changes(since, 10)
+                .andExpect(header().string(SqlStatementFilter.QUERY_COUNT_HEADER, "3"))
+                .andExpect(jsonPath("$.changes.length()").value(3))
+                .andExpect(jsonPath("$.changes[0].entity").value("CATEGORY"))
+                .andExpect(jsonPath("$.changes[0].operation").value("CREATED"))
+                .andExpect(jsonPath("$.changes[0].category.name").value("Feed"))
+                .andExpect(jsonPath("$.changes[1].operation").value("CREATED"))
+                .andExpect(jsonPath("$.changes[1].id").value(task.getId()))
+                .andExpect(jsonPath("$.changes[2].operation").value("UPDATED"))
+                .andExpect(jsonPath("$.changes[2].task.name").value("Feed task renamed"))
+                .andExpect(jsonPath("$.next").value(since + 3));
+
+        taskService.deleteTask(task.getId());
+
+        changes(since + 3, 10)
+                .andExpect(jsonPath("$.changes.length()").value(1))
+                .andExpect(jsonPath("$.changes[0].operation").value("DELETED"))
+                .andExpect(jsonPath("$.changes[0].task").doesNotExist());
+    }
+
+    @Test
+    void getChanges_shouldPageThroughABatchWithNext() throws Exception {
+        createCategory();
+        List<TaskRequestDto> batch = List.of(
+                new TaskRequestDto("Batch 1", "", null, categoryId),
+                new TaskRequestDto("Batch 2", "", null, categoryId),
+                new TaskRequestDto("Batch 3", "", null, categoryId));
+        taskService.createTasks(batch).getResults().forEach(result -> taskIds.add(result.getId()));
+
+        changes(since + 1, 2)
+                .andExpect(jsonPath("$.changes.length()").value(2))
+                .andExpect(jsonPath("$.changes[0].task.name").value("Batch 1"))
+                .andExpect(jsonPath("$.next").value(since + 3));
+        changes(since + 3, 2)
+                .andExpect(jsonPath("$.changes.length()").value(1))
+                .andExpect(jsonPath("$.changes[0].task.name").value("Batch 3"));
+    }
+
+    @Test
+    void failedWrite_shouldNotAppendAChange() throws Exception {
+        TaskResponseDto task = createTask("Feed task");
+        changeSequencer.sequence();
+        long before = changeEventRepository.findLatestSeq();
+
+        TaskPatchDto stale = new TaskPatchDto(null, null, TaskStatus.COMPLETED, null, task.getVersion() + 1);
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> taskService.patchTask(task.getId(), stale));
+
+        assertEquals(0, changeSequencer.sequence());
+        assertEquals(before, changeEventRepository.findLatestSeq());
+    }
+
+    @Test
+    void getChanges_shouldServeAChangeThatCommitsAfterALaterOne() throws Exception {
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        // takes the lower id, then stays open while a later write commits
+        CompletableFuture<Long> slow = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
+            Long id = categoryService.createCategory(new CategoryCreateDto("Feed slow", "")).getId();
+            written.countDown();
+            try {
+                commit.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            return id;
+        }));
+        try {
+            assertTrue(written.await(10, TimeUnit.SECONDS));
+            createCategory();
+            changeSequencer.sequence();
+
+            MvcResult first = changes(since, 10)
+                    .andExpect(jsonPath("$.changes.length()").value(1))
+                    .andExpect(jsonPath("$.changes[0].id").value(categoryId))
+                    .andReturn();
+            long next = ((Number) JsonPath.read(first.getResponse().getContentAsString(), "$.next")).longValue();
+
+            commit.countDown();
+            categoryIds.add(slow.get(10, TimeUnit.SECONDS));
+            changeSequencer.sequence();
+
+            changes(next, 10)
+                    .andExpect(jsonPath("$.changes.length()").value(1))
+                    .andExpect(jsonPath("$.changes[0].category.name").value("Feed slow"));
+        } finally {
+            commit.countDown();
+        }
+    }
+
+    @Test
+    void getChanges_withWait_shouldAnswerWhenAChangeArrives() throws Exception {
+        MvcResult pending = mockMvc.perform(get("/changes").param("since", Long.toString(since)).param("wait", "10"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        createCategory();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes[0].entity").value("CATEGORY"))
+                .andExpect(jsonPath("$.changes[0].id").value(categoryId));
+    }
+
+    private ResultActions changes(long since, int limit) throws Exception {
+        changeSequencer.sequence();
+        MvcResult result = mockMvc.perform(get("/changes").param("since", Long.toString(since)).param("limit", Integer.toString(limit)))
+                .andExpect(request().asyncStarted())
+                .andExpect(status().isOk())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+    }
+
+    private void createCategory() {
+        CategoryResponseDto category = categoryService.createCategory(new CategoryCreateDto("Feed", ""));
+        categoryId = category.getId();
+        categoryIds.add(categoryId);
+    }
+
+    private TaskResponseDto createTask(String name) {
+        createCategory();
+        TaskResponseDto task = taskService.createTask(new TaskRequestDto(name, "", null, categoryId));
+        taskIds.add(task.getId());
+        return task;
+    }
+}
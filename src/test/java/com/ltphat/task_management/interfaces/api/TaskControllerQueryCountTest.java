@@ -0,0 +1,246 @@
+package com.ltphat.task_management.interfaces.api;
+
+import com.ltphat.task_management.application.changes.ChangeSequencer;
+import com.ltphat.task_management.config.SqlStatementFilter;
+import com.ltphat.task_management.domain.model.Category;
+import com.ltphat.task_management.domain.model.Task;
+import com.ltphat.task_management.domain.model.TaskStatus;
+import com.ltphat.task_management.domain.repository.CategoryRepository;
+import com.ltphat.task_management.domain.repository.TaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Full-stack counterpart of TaskControllerTest: real services and database, asserting the SQL statements per request
+ * through the X-Query-Count header. The test profile also sets app.query-budget.fail-on-exceed, so any request
+ * over its budget in query-budget.yaml fails.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskControllerQueryCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ChangeSequencer changeSequencer;
+
+    private final List<Category> categories = new ArrayList<>();
+    private final List<Task> tasks = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        // a distinct category per task, so a lazy category load per row would show up as extra statements
+        for (int i = 0; i < 5; i++) {
+            Category category = categoryRepository.save(new Category(null, "Query count " + i, "", "blue", null));
+            categories.add(category);
+            tasks.add(taskRepository.save(new Task(null, "Query count task " + i, "", TaskStatus.PENDING, category)));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAllByIdInBatch(tasks.stream().map(Task::getId).toList());
+        categoryRepository.deleteAllByIdInBatch(categories.stream().map(Category::getId).toList());
+    }
+
+    @Test
+    void getAllTasks_VersionPageAndCountOnly() throws Exception {
+        mockMvc.perform(get("/tasks").param("page", "0").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SqlStatementFilter.QUERY_COUNT_HEADER, "3"))
+                .andExpect(header().string(SqlStatementFilter.DB_TIME_HEADER, matchesPattern("\\d+\\.\\d{3}")));
+    }
+
+    @Test
+    void getAllTasks_WithoutCount() throws Exception {
+        mockMvc.perform(get("/tasks").param("size", "2").param("count", "none"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SqlStatementFilter.QUERY_COUNT_HEADER, "2"));
+    }
+
+    @Test
+    void getAllTasks_Keyset() throws Exception {
+        mockMvc.perform(get("/tasks").param("size", "2").param("paging", "keyset"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SqlStatementFilter.QUERY_COUNT_HEADER, "2"));
+    }
+
+    @Test
+    void getAllTasks_NotModifiedRunsOnlyTheVersionQuery() throws Exception {
+        changeSequencer.sequence();
+        String etag = mockMvc.perform(get("/tasks").param("size", "2"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/tasks").param("size", "2").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(SqlStatementFilter.QUERY_COUNT_HEADER, "1"));
+    }
+
+    @Test
+    void getAllTasks_ETagChangesAfterUpdate() throws Exception {
+        changeSequencer.sequence();
+        String etag = mockMvc.perform(get("/tasks").param("size", "2"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String body = String.format("{\"name\":\"Renamed\",\"categoryId\":%d}", categories.get(0).getId());
+        mockMvc.perform(put("/tasks/{id}", tasks.get(0).getId()).contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/tasks").param("size", "2").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+        changeSequencer.sequence();
+        mockMvc.perform(get("/tasks").param("size", "2").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+    }
+
+    @Test
+    void getCategories_FirstPageServedFromQueryCache() throws Exception {
+        mockMvc.perform(get("/categories"))
+                .andExpect(status().isOk());
+
+        // only the version query of the ETag
+        mockMvc.perform(get("/categories"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SqlStatementFilter.QUERY_COUNT_HEADER, "1"));
+        mockMvc.perform(get("/categories/cache/regions"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.region == 'category-pages')].hitCount").value(hasItem(greaterThanOrEqualTo(1))));
+    }
+
+    @Test
+    void getCategories_QueryCacheDroppedOnCategoryWrite() throws Exception {
+        mockMvc.perform(get("/categories")).andExpect(status().isOk());
+        mockMvc.perform(put("/categories/{id}", categories.get(0).getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Query count renamed\"}"))
+                .andExpect(status().isOk());
+
+        // read again: the version and the page query, plus the count when the first page is full
+        mockMvc.perform(get("/categories"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SqlStatementFilter.QUERY_COUNT_HEADER, not("1")));
+    }
+
+    @Test
+    void getCategories_WithStatsAddsNoStatement() throws Exception {
+        mockMvc.perform(get("/categories").param("pageSize", "5").param("count", "none").param("withStats", "true"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SqlStatementFilter.QUERY_COUNT_HEADER, "2"));
+    }
+
+    @Test
+    void getTaskStats_ServedFromMemory() throws Exception {
+        mockMvc.perform(get("/tasks/stats"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SqlStatementFilter.QUERY_COUNT_HEADER, "0"));
+    }
+
+    @Test
+    void updateTask_WithinBudget() throws Exception {
+        Task task = tasks.get(0);
+        String body = String.format("{\"name\":\"Renamed\",\"status\":\"Completed\",\"categoryId\":%d}", categories.get(1).getId());
+
+        String count = mockMvc.perform(put("/tasks/{id}", task.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(SqlStatementFilter.QUERY_COUNT_HEADER);
+
+        assertTrue(Integer.parseInt(count) <= 5, "PUT /tasks/{id} ran " + count + " statements");
+    }
+
+    @Test
+    void patchTask_StatusOnlyIsReadUpdateAndChangeEvent() throws Exception {
+        Task task = tasks.get(1);
+
+        mockMvc.perform(patch("/tasks/{id}", task.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"Completed\",\"version\":0}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SqlStatementFilter.QUERY_COUNT_HEADER, "3"));
+
+        mockMvc.perform(patch("/tasks/{id}", task.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"Pending\",\"version\":0}"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void deleteTask_WithinBudget() throws Exception {
+        Task task = tasks.remove(4);
+
+        mockMvc.perform(delete("/tasks/{id}", task.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SqlStatementFilter.QUERY_COUNT_HEADER, "3"));
+    }
+
+    @Test
+    void deleteTask_MissingIsNotFound() throws Exception {
+        Task task = tasks.remove(3);
+        taskRepository.deleteById(task.getId());
+
+        mockMvc.perform(delete("/tasks/{id}", task.getId()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void deleteCategory_WithTasksIsRejected() throws Exception {
+        mockMvc.perform(delete("/categories/{id}", categories.get(0).getId()))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value(startsWith("Category " + categories.get(0).getId() + " still has 1 tasks")));
+    }
+
+    @Test
+    void deleteCategory_CascadeIsFiveStatements() throws Exception {
+        mockMvc.perform(delete("/categories/{id}", categories.get(2).getId()).param("onTasks", "cascade"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SqlStatementFilter.QUERY_COUNT_HEADER, "5"));
+
+        assertTrue(taskRepository.findById(tasks.get(2).getId()).isEmpty());
+    }
+
+    @Test
+    void deleteCategory_ReassignMovesTasks() throws Exception {
+        Category target = categories.get(4);
+
+        mockMvc.perform(delete("/categories/{id}", categories.get(3).getId())
+                        .param("onTasks", "reassign")
+                        .param("reassignTo", target.getId().toString()))
+                .andExpect(status().isOk());
+
+        assertEquals(2, taskRepository.findIdsByCategoryId(target.getId()).size());
+    }
+}
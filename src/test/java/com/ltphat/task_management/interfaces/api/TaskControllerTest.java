@@ -2,22 +2,51 @@ package com.ltphat.task_management.interfaces.api;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ltphat.task_management.application.dtos.category.CategoryResponseDto;
+import com.ltphat.task_management.application.dtos.shared.BatchItemResultDto;
+import com.ltphat.task_management.application.dtos.shared.BatchResponseDto;
 import com.ltphat.task_management.application.dtos.shared.PagedResponseDto;
+import com.ltphat.task_management.application.dtos.task.TaskCategoryStatsDto;
+import com.ltphat.task_management.application.dtos.task.TaskDto;
+import com.ltphat.task_management.application.dtos.task.TaskQueryDto;
 import com.ltphat.task_management.application.dtos.task.TaskRequestDto;
 import com.ltphat.task_management.application.dtos.task.TaskResponseDto;
+import com.ltphat.task_management.application.dtos.task.TaskStatsDto;
+import com.ltphat.task_management.application.services.TaskExportService;
+import com.ltphat.task_management.application.services.TaskImportService;
+import com.ltphat.task_management.application.dtos.task.TaskImportResultDto;
+import com.ltphat.task_management.application.dtos.task.TaskPatchDto;
 import com.ltphat.task_management.application.services.TaskService;
+import com.ltphat.task_management.application.services.TaskStreamService;
+import com.ltphat.task_management.application.stream.TaskUpdateBroadcaster;
+import com.ltphat.task_management.application.transfer.TaskFileFormat;
+import com.ltphat.task_management.domain.model.Task;
+import com.ltphat.task_management.domain.model.TaskStatus;
+import com.ltphat.task_management.exception.ResourceNotFoundException;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.mockito.ArgumentMatcher;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import reactor.core.publisher.Flux;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -29,6 +58,18 @@ public class TaskControllerTest {
     @MockitoBean
     private TaskService taskService;
 
+    @MockitoBean
+    private TaskExportService taskExportService;
+
+    @MockitoBean
+    private TaskImportService taskImportService;
+
+    @MockitoBean
+    private TaskStreamService taskStreamService;
+
+    @MockitoBean
+    private TaskUpdateBroadcaster taskUpdateBroadcaster;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -42,8 +83,8 @@ public class TaskControllerTest {
     void setUp() {
         categoryResponseDto = new CategoryResponseDto(1L, "Work", "Work tasks", "blue", Instant.now());
 
-        taskRequestDto = new TaskRequestDto("Task 1", "Description of Task 1", "Pending", categoryResponseDto.getId());
-        taskResponseDto = new TaskResponseDto(1L, "Task 1", "Description of Task 1", "Pending", categoryResponseDto);
+        taskRequestDto = new TaskRequestDto("Task 1", "Description of Task 1", TaskStatus.PENDING, categoryResponseDto.getId());
+        taskResponseDto = new TaskResponseDto(1L, "Task 1", "Description of Task 1", TaskStatus.PENDING, categoryResponseDto);
     }
 
     @Test
@@ -69,13 +110,7 @@ public class TaskControllerTest {
                 1   // totalItems
         );
 
-        when(taskService.getAllTasks(
-                isNull(),
-                eq("name"),
-                eq("asc"),
-                eq(0),
-                eq(5))
-        ).thenReturn(pagedResponseDto);
+        when(taskService.getAllTasks(argThat(defaultQuery(0, 5)))).thenReturn(pagedResponseDto);
 
 
         mockMvc.perform(get("/tasks")
@@ -90,7 +125,174 @@ public class TaskControllerTest {
                 .andExpect(jsonPath("$.totalPages").value(1))
                 .andExpect(jsonPath("$.totalItems").value(1));
 
-        verify(taskService).getAllTasks(isNull(), eq("name"), eq("asc"), eq(0), eq(5));
+        verify(taskService).getAllTasks(argThat(defaultQuery(0, 5)));
+    }
+
+    @Test
+    void testGetAllTasks_NotModified() throws Exception {
+        when(taskService.getTasksETag()).thenReturn("\"tasks-42\"");
+
+        mockMvc.perform(get("/tasks")
+                        .header("If-None-Match", "\"tasks-42\"")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"tasks-42\""));
+
+        verify(taskService, never()).getAllTasks(any(TaskQueryDto.class));
+    }
+
+    @Test
+    void testGetAllTasks_WithoutETagWhileAWriteIsUnsettled() throws Exception {
+        when(taskService.getTasksETag()).thenReturn(null);
+        when(taskService.getAllTasks(any(TaskQueryDto.class))).thenReturn(new PagedResponseDto<>(List.of(taskResponseDto), 0, 1, 1));
+
+        mockMvc.perform(get("/tasks")
+                        .header("If-None-Match", "\"tasks-42\"")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"));
+    }
+
+    @Test
+    void testPatchTask() throws Exception {
+        TaskResponseDto patched = new TaskResponseDto(1L, "Task 1", "Description of Task 1", TaskStatus.COMPLETED, categoryResponseDto, 4L);
+        when(taskService.patchTask(eq(1L), argThat(patch -> patch.getStatus() == TaskStatus.COMPLETED && patch.getName() == null
+                && patch.getVersion() == 3L))).thenReturn(patched);
+
+        mockMvc.perform(patch("/tasks/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"Completed\",\"version\":3}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("Completed"))
+                .andExpect(jsonPath("$.version").value(4));
+    }
+
+    @Test
+    void testPatchTask_StaleVersionIsConflict() throws Exception {
+        when(taskService.patchTask(eq(1L), any(TaskPatchDto.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Task.class, 1L));
+
+        mockMvc.perform(patch("/tasks/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Renamed\",\"version\":2}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(409));
+    }
+
+    @Test
+    void testPatchTask_WithoutVersionIsBadRequest() throws Exception {
+        mockMvc.perform(patch("/tasks/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\" \"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.message").value(containsString("version: version is required!")))
+                .andExpect(jsonPath("$.message").value(containsString("name: name must not be blank")));
+
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    void testPatchTask_MissingTaskIsNotFound() throws Exception {
+        when(taskService.patchTask(eq(99L), any(TaskPatchDto.class)))
+                .thenThrow(new ResourceNotFoundException("Task not found with id: 99"));
+
+        mockMvc.perform(patch("/tasks/99")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Renamed\",\"version\":2}"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Task not found with id: 99"));
+    }
+
+    @Test
+    void testStreamTasks_Ndjson() throws Exception {
+        TaskResponseDto second = new TaskResponseDto(2L, "Task 2", "Description of Task 2", TaskStatus.COMPLETED, categoryResponseDto);
+        when(taskStreamService.streamTasks("Task", TaskStatus.IN_PROGRESS, "name", "desc")).thenReturn(Flux.just(taskResponseDto, second));
+
+        var result = mockMvc.perform(get("/tasks")
+                        .param("search", "Task")
+                        .param("status", "in_progress")
+                        .param("sortOrder", "desc")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", MediaType.APPLICATION_NDJSON_VALUE));
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("Task 2", objectMapper.readTree(lines[1]).get("name").asText());
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    void testStreamTaskUpdates_Sse() throws Exception {
+        when(taskUpdateBroadcaster.subscribe(1L))
+                .thenReturn(Flux.just(ServerSentEvent.builder(taskResponseDto).event("updated").build()));
+
+        var result = mockMvc.perform(get("/tasks/stream")
+                        .param("categoryId", "1")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", startsWith(MediaType.TEXT_EVENT_STREAM_VALUE)));
+
+        String body = result.getResponse().getContentAsString();
+        assertTrue(body.startsWith("event:updated\ndata:{\"id\":1,"), body);
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    void testGetTaskStats() throws Exception {
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        byStatus.put("Pending", 2L);
+        byStatus.put("In Progress", 0L);
+        byStatus.put("Completed", 1L);
+        when(taskService.getTaskStats()).thenReturn(new TaskStatsDto(3L, byStatus, List.of(new TaskCategoryStatsDto(1L, 3L, byStatus))));
+
+        mockMvc.perform(get("/tasks/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.byStatus['In Progress']").value(0))
+                .andExpect(jsonPath("$.byCategory[0].categoryId").value(1))
+                .andExpect(jsonPath("$.byCategory[0].byStatus.Pending").value(2));
+    }
+
+    @Test
+    void testGetAllTasks_AnyAcceptStaysPaged() throws Exception {
+        when(taskService.getAllTasks(any(TaskQueryDto.class)))
+                .thenReturn(new PagedResponseDto<>(List.of(taskResponseDto), 0, 1, 1));
+
+        mockMvc.perform(get("/tasks").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].name").value("Task 1"));
+
+        verifyNoInteractions(taskStreamService);
+    }
+
+    @Test
+    void testGetAllTasks_Keyset() throws Exception {
+        PagedResponseDto<TaskResponseDto> pagedResponseDto = new PagedResponseDto<>(List.of(taskResponseDto), "next-token");
+
+        when(taskService.getAllTasks(argThat((TaskQueryDto query) ->
+                "keyset".equals(query.getPaging()) && "prev-token".equals(query.getAfter()) && query.getSize() == 5)))
+                .thenReturn(pagedResponseDto);
+
+        mockMvc.perform(get("/tasks")
+                        .param("paging", "keyset")
+                        .param("after", "prev-token")
+                        .param("size", "5")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].name").value("Task 1"))
+                .andExpect(jsonPath("$.nextCursor").value("next-token"))
+                .andExpect(jsonPath("$.totalPages").doesNotExist())
+                .andExpect(jsonPath("$.totalItems").doesNotExist());
     }
 
     @Test
@@ -104,13 +306,7 @@ public class TaskControllerTest {
                 1   // totalItems
         );
 
-        when(taskService.getAllTasks(
-                isNull(),
-                eq("name"),
-                eq("asc"),
-                eq(0),
-                eq(5))
-        ).thenReturn(pagedResponseDto);
+        when(taskService.getAllTasks(argThat(defaultQuery(0, 5)))).thenReturn(pagedResponseDto);
 
 
         mockMvc.perform(get("/tasks")
@@ -125,7 +321,7 @@ public class TaskControllerTest {
                 .andExpect(jsonPath("$.totalPages").value(1))
                 .andExpect(jsonPath("$.totalItems").value(1));
 
-        verify(taskService).getAllTasks(isNull(), eq("name"), eq("asc"), eq(0), eq(5));
+        verify(taskService).getAllTasks(argThat(defaultQuery(0, 5)));
 
         mockMvc.perform(delete("/tasks/{id}", taskId))
                 .andExpect(status().isOk());
@@ -148,8 +344,8 @@ public class TaskControllerTest {
     @Test
     void testUpdateTask_Success() throws Exception {
         Long taskId = 1L;
-        TaskRequestDto updateRequest = new TaskRequestDto("Updated Task", "Updated Description", "Completed", categoryResponseDto.getId());
-        TaskResponseDto updatedResponse = new TaskResponseDto(taskId, "Updated Task", "Updated Description", "Completed", categoryResponseDto);
+        TaskRequestDto updateRequest = new TaskRequestDto("Updated Task", "Updated Description", TaskStatus.COMPLETED, categoryResponseDto.getId());
+        TaskResponseDto updatedResponse = new TaskResponseDto(taskId, "Updated Task", "Updated Description", TaskStatus.COMPLETED, categoryResponseDto);
 
         when(taskService.updateTask(eq(taskId), any(TaskRequestDto.class))).thenReturn(updatedResponse);
 
@@ -167,7 +363,7 @@ public class TaskControllerTest {
     @Test
     void testUpdateTask_NotFound() throws Exception {
         Long nonExistentTaskId = 99L;
-        TaskRequestDto updateRequest = new TaskRequestDto("Task", "Description", "Pending", 1L);
+        TaskRequestDto updateRequest = new TaskRequestDto("Task", "Description", TaskStatus.PENDING, 1L);
 
         when(taskService.updateTask(eq(nonExistentTaskId), any(TaskRequestDto.class)))
                 .thenThrow(new RuntimeException("Task not found with id: " + nonExistentTaskId));
@@ -180,5 +376,105 @@ public class TaskControllerTest {
         verify(taskService, times(1)).updateTask(eq(nonExistentTaskId), any(TaskRequestDto.class));
     }
 
+    @Test
+    void testCreateTasksBatch() throws Exception {
+        BatchResponseDto response = new BatchResponseDto(List.of(
+                BatchItemResultDto.success(0, 1L, "created"),
+                BatchItemResultDto.failed(1, null, "Category not found with id: 99")));
+        when(taskService.createTasks(anyList())).thenReturn(response);
+
+        mockMvc.perform(post("/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(taskRequestDto, taskRequestDto))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[0].id").value(1))
+                .andExpect(jsonPath("$.results[1].error").value("Category not found with id: 99"));
+
+        verify(taskService, times(1)).createTasks(argThat(list -> list.size() == 2));
+    }
+
+    @Test
+    void testUpdateTasksBatch() throws Exception {
+        when(taskService.updateTasks(anyList())).thenReturn(new BatchResponseDto(List.of(BatchItemResultDto.success(0, 1L, "updated"))));
+
+        mockMvc.perform(put("/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(new TaskDto(1L, "Task 1", null, TaskStatus.COMPLETED, 1L)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].status").value("updated"));
+
+        verify(taskService, never()).updateTask(anyLong(), any());
+    }
+
+    @Test
+    void testDeleteTasksBatch() throws Exception {
+        when(taskService.deleteTasks(List.of(1L, 2L))).thenReturn(new BatchResponseDto(List.of(
+                BatchItemResultDto.success(0, 1L, "deleted"),
+                BatchItemResultDto.success(1, 2L, "deleted"))));
+
+        mockMvc.perform(delete("/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1,2]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(2));
 
+        verify(taskService, never()).deleteTask(anyLong());
+    }
+
+    @Test
+    void testExportTasks_StreamsCsv() throws Exception {
+        when(taskExportService.exportTasks(eq(TaskFileFormat.CSV), any(OutputStream.class))).thenAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(1);
+            outputStream.write("id,name\n1,Task 1\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+
+        var result = mockMvc.perform(get("/tasks/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=tasks.csv"))
+                .andExpect(content().string("id,name\n1,Task 1\n"));
+    }
+
+    @Test
+    void testExportTasks_RejectsUnknownFormat() throws Exception {
+        mockMvc.perform(get("/tasks/export").param("format", "xml"))
+                .andExpect(status().isInternalServerError());
+
+        verifyNoInteractions(taskExportService);
+    }
+
+    @Test
+    void testImportTasks_PassesFormatAndCheckpoint() throws Exception {
+        TaskImportResultDto result = new TaskImportResultDto();
+        result.setImported(1);
+        result.setCheckpoint(11);
+        result.setCompleted(true);
+        when(taskImportService.importTasks(eq(TaskFileFormat.CSV), any(InputStream.class), eq(10L))).thenReturn(result);
+
+        mockMvc.perform(post("/tasks/import")
+                        .param("format", "csv")
+                        .param("resumeFrom", "10")
+                        .contentType("text/csv")
+                        .content("name,categoryId\nTask 1,1\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.checkpoint").value(11))
+                .andExpect(jsonPath("$.completed").value(true));
+    }
+
+    private static ArgumentMatcher<TaskQueryDto> defaultQuery(int page, int size) {
+        return query -> query.getSearch() == null
+                && "name".equals(query.getSortBy())
+                && "asc".equals(query.getSortOrder())
+                && query.getPage() == page
+                && query.getSize() == size
+                && "offset".equals(query.getPaging());
+    }
 }
@@ -0,0 +1,86 @@
+package com.ltphat.task_management.interfaces.api;
+
+import com.ltphat.task_management.application.changes.ChangeRecorder;
+import com.ltphat.task_management.domain.model.Category;
+import com.ltphat.task_management.domain.repository.CategoryRepository;
+import com.ltphat.task_management.domain.repository.TaskRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * POST /tasks/import over the real services and database, with open-in-view on as in production:
+ * every chunk runs in the persistence context of the request, which must not keep the chunks committed before it.
+ */
+@SpringBootTest(properties = "app.tasks.import.commit-size=2")
+@AutoConfigureMockMvc
+class TaskImportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @MockitoSpyBean
+    private ChangeRecorder changeRecorder;
+
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        category = categoryRepository.save(new Category(null, "Import", "", "blue", null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAllByIdInBatch(taskRepository.findIdsByCategoryId(category.getId()));
+        categoryRepository.deleteAllByIdInBatch(List.of(category.getId()));
+    }
+
+    @Test
+    void importTasks_shouldClearThePersistenceContextBetweenChunks() throws Exception {
+        // entities managed when each chunk has just been saved, still inside its transaction
+        List<Integer> managed = new ArrayList<>();
+        doAnswer(invocation -> {
+            managed.add(entityManager.unwrap(SessionImplementor.class).getPersistenceContext().getNumberOfManagedEntities());
+            return invocation.callRealMethod();
+        }).when(changeRecorder).tasksCreated(anyCollection());
+        StringBuilder body = new StringBuilder();
+        for (int i = 1; i <= 5; i++) {
+            body.append("{\"name\":\"Imported ").append(i).append("\",\"categoryId\":").append(category.getId()).append("}\n");
+        }
+
+        mockMvc.perform(post("/tasks/import").contentType(MediaType.APPLICATION_NDJSON).content(body.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(5));
+
+        // the tasks of the current chunk only, plus the category in the chunk that loaded it; [3, 5, 7] when nothing is cleared
+        assertEquals(List.of(3, 2, 1), managed);
+    }
+}